@@ -90,6 +90,12 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(409).body(ApiError.of(409, "Conflict", ex.getMessage(), req.getRequestURI(), null));
     }
 
+    //503
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiError> handleUnavailable(ServiceUnavailableException ex, HttpServletRequest req) {
+        return ResponseEntity.status(503).body(ApiError.of(503, "Service Unavailable", ex.getMessage(), req.getRequestURI(), null));
+    }
+
     // 500 - fallback para que nunca vuelva “500 genérico sin info”
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneric(Exception ex, HttpServletRequest req) {
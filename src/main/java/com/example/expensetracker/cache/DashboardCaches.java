@@ -0,0 +1,121 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.dto.account.AccountBalanceResponse;
+import com.example.expensetracker.dto.account.AccountSummaryResponse;
+import com.example.expensetracker.dto.cache.CacheStatsResponse;
+import com.example.expensetracker.dto.summary.SummaryResponse;
+import com.example.expensetracker.event.AccountChangedEvent;
+import com.example.expensetracker.event.CategoryChangedEvent;
+import com.example.expensetracker.event.CurrencyChangedEvent;
+import com.example.expensetracker.event.ExchangeRatesImportedEvent;
+import com.example.expensetracker.event.MonthlyRollupsRebuiltEvent;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Caches de lectura de los endpoints de dashboard (summary, listado de cuentas, saldo).
+ * Se invalidan después del commit de cada escritura, solo para el owner/cuentas afectados.
+ */
+@Component
+public class DashboardCaches {
+
+    public record SummaryKey(Long ownerId, LocalDate from, LocalDate to, Integer top, String currency) { }
+
+    public record AccountListKey(Long ownerId, Boolean activeOnly) { }
+
+    private final ExpiringCache<SummaryKey, SummaryResponse> summaries;
+    private final ExpiringCache<AccountListKey, List<AccountSummaryResponse>> accountLists;
+    private final ExpiringCache<Long, AccountBalanceResponse> balances;
+
+    public DashboardCaches(@Value("${cache.dashboard.max-entries:10000}") int maxEntries,
+                           @Value("${cache.dashboard.ttl:PT5M}") Duration ttl) {
+        this.summaries = new ExpiringCache<>("summary", maxEntries, ttl, SummaryKey::ownerId);
+        this.accountLists = new ExpiringCache<>("accountList", maxEntries, ttl, AccountListKey::ownerId);
+        // scope = accountId: el saldo se pide por cuenta, sin conocer el owner de antemano
+        this.balances = new ExpiringCache<>("accountBalance", maxEntries, ttl, accountId -> accountId);
+    }
+
+    public SummaryResponse summary(SummaryKey key, Supplier<SummaryResponse> loader) {
+        return summaries.get(key, loader);
+    }
+
+    public List<AccountSummaryResponse> accountList(AccountListKey key, Supplier<List<AccountSummaryResponse>> loader) {
+        return accountLists.get(key, loader);
+    }
+
+    public AccountBalanceResponse balance(Long accountId, Supplier<AccountBalanceResponse> loader) {
+        return balances.get(accountId, loader);
+    }
+
+    public List<CacheStatsResponse> stats() {
+        return List.of(summaries.stats(), accountLists.stats(), balances.stats());
+    }
+
+    // ---------------------------------------------------------
+    //  INVALIDACIÓN (después del commit, antes de que OwnerDataVersions suba la versión)
+    // ---------------------------------------------------------
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (event.affectsSummary()) {
+            summaries.invalidateScope(event.ownerId());
+        }
+        if (event.affectsBalances()) {
+            accountLists.invalidateScope(event.ownerId());
+            event.accountIds().forEach(balances::invalidateScope);
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTransactionsImported(TransactionsImportedEvent event) {
+        summaries.invalidateScope(event.ownerId());
+        accountLists.invalidateScope(event.ownerId());
+        event.accountIds().forEach(balances::invalidateScope);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        accountLists.invalidateScope(event.ownerId());
+        balances.invalidateScope(event.accountId());
+    }
+
+    // el top de categorías del summary lleva el nombre de cada categoría
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        summaries.invalidateScope(event.ownerId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRollupsRebuilt(MonthlyRollupsRebuiltEvent event) {
+        event.ownerIds().forEach(summaries::invalidateScope);
+    }
+
+    // tasas nuevas: los summaries convertidos de cualquier owner pueden cambiar.
+    // Justo después de que CurrencyRates / ExchangeRateHistory recarguen sus fotos.
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        summaries.clear();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatesImported(ExchangeRatesImportedEvent event) {
+        summaries.clear();
+    }
+}
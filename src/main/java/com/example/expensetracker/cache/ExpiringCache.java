@@ -0,0 +1,150 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.dto.cache.CacheStatsResponse;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache en memoria acotado por tamaño (LRU) y por TTL, con invalidación por "scope"
+ * (ownerId, accountId, ...). Cada key declara su scope con scopeOf.
+ *
+ * Carrera lectura/escritura: un lector que cargó datos viejos no puede guardarlos si
+ * mientras tanto se invalidó su scope (versión por stripe; un falso positivo solo
+ * cuesta un miss).
+ */
+public class ExpiringCache<K, V> {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private record Entry<V>(V value, long expiresAtNanos) { }
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Function<K, Long> scopeOf;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final Map<Long, Set<K>> keysByScope = new HashMap<>();
+    private final long[] scopeVersions = new long[VERSION_STRIPES];
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public ExpiringCache(String name, int maxEntries, Duration ttl, Function<K, Long> scopeOf) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be positive");
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.scopeOf = scopeOf;
+        // access-order => el eldest es el menos usado recientemente
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+
+        long version;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtNanos() - System.nanoTime() > 0) {
+                    hits++;
+                    return entry.value();
+                }
+                remove(key);
+                expirations++;
+            }
+            misses++;
+            version = scopeVersions[stripe(scopeOf.apply(key))];
+        }
+
+        // la carga corre fuera del lock
+        V value = loader.get();
+
+        synchronized (this) {
+            if (value != null && scopeVersions[stripe(scopeOf.apply(key))] == version) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidateScope(Long scope) {
+        scopeVersions[stripe(scope)]++;
+        Set<K> keys = keysByScope.remove(scope);
+        if (keys != null) {
+            for (K key : keys) {
+                if (entries.remove(key) != null) {
+                    invalidations++;
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < scopeVersions.length; i++) {
+            scopeVersions[i]++;
+        }
+        invalidations += entries.size();
+        entries.clear();
+        keysByScope.clear();
+    }
+
+    public synchronized CacheStatsResponse stats() {
+        long requests = hits + misses;
+        return new CacheStatsResponse(
+                name,
+                entries.size(),
+                maxEntries,
+                hits,
+                misses,
+                evictions,
+                expirations,
+                invalidations,
+                requests == 0 ? 0.0 : (double) hits / requests
+        );
+    }
+
+    private void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        keysByScope.computeIfAbsent(scopeOf.apply(key), s -> new HashSet<>()).add(key);
+
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            K eldest = it.next().getKey();
+            it.remove();
+            unindex(eldest);
+            evictions++;
+        }
+    }
+
+    private void remove(K key) {
+        entries.remove(key);
+        unindex(key);
+    }
+
+    private void unindex(K key) {
+        Long scope = scopeOf.apply(key);
+        Set<K> keys = keysByScope.get(scope);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByScope.remove(scope);
+            }
+        }
+    }
+
+    private static int stripe(Long scope) {
+        return (Long.hashCode(scope) & 0x7fffffff) % VERSION_STRIPES;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.event.AccountChangedEvent;
+import com.example.expensetracker.event.CategoryChangedEvent;
+import com.example.expensetracker.event.CurrencyChangedEvent;
+import com.example.expensetracker.event.ExchangeRatesImportedEvent;
+import com.example.expensetracker.event.MonthlyRollupsRebuiltEvent;
+import com.example.expensetracker.event.TagChangedEvent;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión de los datos de cada owner: sube con cada escritura de transacciones, cuentas,
+ * categorías o tags, y cuando se reconstruyen sus rollups. Los GET de lectura la usan como ETag y contestan 304 sin tocar la BD.
+ *
+ * - Se sube AFTER_COMMIT y DESPUÉS de invalidar DashboardCaches: un lector que ve la versión
+ *   nueva ya no puede recibir datos viejos. El lector toma la versión ANTES de leer, así que
+ *   en la carrera inversa solo entrega datos nuevos con un ETag viejo (un 200 de más).
+ * - En memoria: al reiniciar vuelve a 0, por eso el ETag lleva la época del arranque.
+ * - Los tipos de cambio son globales: su versión va en todos los ETags (los summaries
+ *   convertidos dependen de ella).
+ */
+@Component
+public class OwnerDataVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong ratesVersion = new AtomicLong();
+
+    public long current(Long ownerId) {
+        return versions.getOrDefault(ownerId, 0L);
+    }
+
+    public String etag(Long ownerId) {
+        return "\"" + epoch + "-" + ownerId + "-" + current(ownerId) + "-" + ratesVersion.get() + "\"";
+    }
+
+    private void bump(Long ownerId) {
+        if (ownerId != null) {
+            versions.merge(ownerId, 1L, Long::sum);
+        }
+    }
+
+    // ---------------------------------------------------------
+    //  ESCRITURAS (después del commit)
+    // ---------------------------------------------------------
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        bump(event.ownerId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTransactionsImported(TransactionsImportedEvent event) {
+        bump(event.ownerId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        bump(event.ownerId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        bump(event.ownerId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTagChanged(TagChangedEvent event) {
+        bump(event.ownerId());
+    }
+
+    // los summaries salen de los rollups: reconstruidos, el ETag viejo ya no vale
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRollupsRebuilt(MonthlyRollupsRebuiltEvent event) {
+        event.ownerIds().forEach(this::bump);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        ratesVersion.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatesImported(ExchangeRatesImportedEvent event) {
+        ratesVersion.incrementAndGet();
+    }
+}
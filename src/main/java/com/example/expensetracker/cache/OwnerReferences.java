@@ -0,0 +1,135 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.dto.cache.CacheStatsResponse;
+import com.example.expensetracker.event.AccountChangedEvent;
+import com.example.expensetracker.event.CategoryChangedEvent;
+import com.example.expensetracker.event.TagChangedEvent;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.TagRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Foto inmutable, por owner, de los ids de sus cuentas, categorías y tags (con el flag active).
+ * TransactionService valida owner/active de cada alta contra la foto y arma la transacción con
+ * getReference: un gasto no lee ninguna de esas filas, solo las escribe.
+ *
+ * - Se arma lazy (existsById del owner + una proyección por tipo) la primera vez que se pide.
+ * - Se invalida AFTER_COMMIT con los eventos de AccountService / CategoryService / TagService;
+ *   ExpiringCache descarta una foto que se cargó mientras se invalidaba (versión por owner).
+ * - Un id que no está en la foto no se da por inexistente: puede ser de otro owner o haberse
+ *   creado sin pasar por los servicios. TransactionService lo resuelve contra la BD.
+ */
+@Component
+public class OwnerReferences {
+
+    // id -> active de cuentas y categorías; los tags solo por id (no se validan por active)
+    public record Snapshot(Long ownerId,
+                           Map<Long, Boolean> accounts,
+                           Map<Long, Boolean> categories,
+                           Set<Long> tags) {
+
+        // null = no es una cuenta de este owner (o no estaba cuando se armó la foto)
+        public Boolean accountActive(Long accountId) {
+            return accountId != null ? accounts.get(accountId) : null;
+        }
+
+        public Boolean categoryActive(Long categoryId) {
+            return categoryId != null ? categories.get(categoryId) : null;
+        }
+
+        public boolean hasTag(Long tagId) {
+            return tagId != null && tags.contains(tagId);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final ExpiringCache<Long, Snapshot> snapshots;
+
+    public OwnerReferences(UserRepository userRepository,
+                           AccountRepository accountRepository,
+                           CategoryRepository categoryRepository,
+                           TagRepository tagRepository,
+                           @Value("${cache.references.max-entries:10000}") int maxEntries,
+                           @Value("${cache.references.ttl:PT30M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.snapshots = new ExpiringCache<>("ownerReferences", maxEntries, ttl, ownerId -> ownerId);
+    }
+
+    // null = el owner no existe (no se cachea)
+    public Snapshot forOwner(Long ownerId) {
+        return snapshots.get(ownerId, () -> load(ownerId));
+    }
+
+    // la foto quedó vieja (p. ej. una cuenta creada sin AccountService): el próximo alta la rearma
+    public void invalidate(Long ownerId) {
+        snapshots.invalidateScope(ownerId);
+    }
+
+    public CacheStatsResponse stats() {
+        return snapshots.stats();
+    }
+
+    private Snapshot load(Long ownerId) {
+        if (!userRepository.existsById(ownerId)) {
+            return null;
+        }
+        return new Snapshot(
+                ownerId,
+                activeById(accountRepository.findReferencesByOwnerId(ownerId),
+                        AccountRepository.ReferenceRow::getId, AccountRepository.ReferenceRow::getActive),
+                activeById(categoryRepository.findReferencesByOwnerId(ownerId),
+                        CategoryRepository.ReferenceRow::getId, CategoryRepository.ReferenceRow::getActive),
+                Set.copyOf(tagRepository.findIdsByOwnerId(ownerId))
+        );
+    }
+
+    // active null cuenta como activo (mismo criterio que validateAccountActive)
+    private <R> Map<Long, Boolean> activeById(List<R> rows, Function<R, Long> idOf, Function<R, Boolean> activeOf) {
+        Map<Long, Boolean> result = new HashMap<>();
+        for (R row : rows) {
+            result.put(idOf.apply(row), !Boolean.FALSE.equals(activeOf.apply(row)));
+        }
+        return Map.copyOf(result);
+    }
+
+    // ---------------------------------------------------------
+    //  INVALIDACIÓN (después del commit)
+    // ---------------------------------------------------------
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        invalidate(event.ownerId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate(event.ownerId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTagChanged(TagChangedEvent event) {
+        invalidate(event.ownerId());
+    }
+}
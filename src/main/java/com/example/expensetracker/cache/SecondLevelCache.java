@@ -0,0 +1,83 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.dto.cache.SecondLevelCacheStatsResponse;
+import com.example.expensetracker.event.CategoryChangedEvent;
+import com.example.expensetracker.event.TagChangedEvent;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Caché de segundo nivel de Hibernate (Currency, User, Category, Tag y las listas findByOwner
+ * de categorías y tags): invalidación explícita y estadísticas.
+ *
+ * - Account queda afuera: el saldo corriente se mueve con un update masivo en cada escritura
+ *   de transacciones, que vaciaría la región entera (y las listas de cuentas) todo el tiempo.
+ * - Categorías y tags se sacan después del commit de cada escritura de su servicio: una
+ *   relectura por PK, y ningún camino de escritura depende de cómo se flushea la entidad.
+ * - Las listas (query cache) se invalidan solas por timestamp de tabla.
+ */
+@Component
+public class SecondLevelCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<SecondLevelCacheStatsResponse> stats() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<SecondLevelCacheStatsResponse> regions = new ArrayList<>();
+        String[] names = stats.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+        for (String region : names) {
+            CacheRegionStatistics r = stats.getCacheRegionStatistics(region);
+            if (r == null) {
+                continue;
+            }
+            regions.add(new SecondLevelCacheStatsResponse(
+                    region, Math.max(-1, r.getElementCountInMemory()), r.getHitCount(), r.getMissCount(), r.getPutCount(),
+                    ratio(r.getHitCount(), r.getMissCount())
+            ));
+        }
+        regions.add(new SecondLevelCacheStatsResponse(
+                "query", -1, stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount(), stats.getQueryCachePutCount(),
+                ratio(stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount())
+        ));
+        return regions;
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    // ---------------------------------------------------------
+    //  INVALIDACIÓN (después del commit)
+    // ---------------------------------------------------------
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        entityManagerFactory.getCache().evict(Category.class, event.categoryId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTagChanged(TagChangedEvent event) {
+        entityManagerFactory.getCache().evict(Tag.class, event.tagId());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.api.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tope de requests /api que pueden estar usando la BD a la vez.
+ *
+ * Con hilos de plataforma el límite real es el pool de Tomcat (200 hilos); con virtual threads
+ * no hay tope y miles de requests terminan haciendo cola en Hikari hasta su connectionTimeout.
+ * Acá esperan a lo sumo acquireTimeout y si no hay permiso vuelven 503 enseguida.
+ */
+public class DbConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = DbConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public DbConcurrencyLimitInterceptor(int maxConcurrent, Duration acquireTimeout) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be > 0");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new ServiceUnavailableException("Too many concurrent requests, retry later");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // solo si preHandle llegó a tomar el permiso
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.expensetracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Modo virtual threads (spring.threads.virtual.enabled=true).
+ *
+ * Spring Boot ya pasa a virtual threads Tomcat, el executor de @Async y el scheduler;
+ * acá solo se agrega el tope de concurrencia contra la BD (ver DbConcurrencyLimitInterceptor).
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements WebMvcConfigurer {
+
+    private final DbConcurrencyLimitInterceptor dbConcurrencyLimit;
+
+    public VirtualThreadsConfig(
+            // por defecto = tamaño del pool de conexiones
+            @Value("${web.db-concurrency.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${web.db-concurrency.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        this.dbConcurrencyLimit = new DbConcurrencyLimitInterceptor(maxConcurrent, acquireTimeout);
+    }
+
+    @Bean
+    public DbConcurrencyLimitInterceptor dbConcurrencyLimitInterceptor() {
+        return dbConcurrencyLimit;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dbConcurrencyLimit).addPathPatterns("/api/**");
+    }
+}
@@ -3,14 +3,23 @@ package com.example.expensetracker.controller;
 import com.example.expensetracker.dto.account.AccountCreateRequest;
 import com.example.expensetracker.dto.account.AccountUpdateRequest;
 import com.example.expensetracker.dto.account.AccountResponse;
+import com.example.expensetracker.dto.account.AccountBalanceAsOfResponse;
 import com.example.expensetracker.dto.account.AccountBalanceResponse;
+import com.example.expensetracker.dto.account.AccountBalanceSeriesResponse;
 import com.example.expensetracker.dto.account.AccountSummaryResponse;
 import com.example.expensetracker.dto.account.AccountDetailResponse;
+import com.example.expensetracker.dto.account.BalanceVerificationResponse;
+import com.example.expensetracker.dto.account.NetWorthResponse;
 
+import com.example.expensetracker.cache.DashboardCaches;
+import com.example.expensetracker.cache.OwnerDataVersions;
+import com.example.expensetracker.service.AccountBalanceHistoryService;
+import com.example.expensetracker.service.AccountBalanceVerifier;
 import com.example.expensetracker.service.AccountService;
 
 import org.springframework.web.bind.annotation.*;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.time.LocalDate;
@@ -20,9 +29,21 @@ import java.time.LocalDate;
 public class AccountController {
 
     private final AccountService accountService;
+    private final AccountBalanceVerifier balanceVerifier;
+    private final DashboardCaches dashboardCaches;
+    private final AccountBalanceHistoryService balanceHistoryService;
+    private final OwnerDataVersions dataVersions;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService,
+                             AccountBalanceVerifier balanceVerifier,
+                             DashboardCaches dashboardCaches,
+                             AccountBalanceHistoryService balanceHistoryService,
+                             OwnerDataVersions dataVersions) {
         this.accountService = accountService;
+        this.balanceVerifier = balanceVerifier;
+        this.dashboardCaches = dashboardCaches;
+        this.balanceHistoryService = balanceHistoryService;
+        this.dataVersions = dataVersions;
     }
 
     // POST /api/accounts
@@ -31,13 +52,29 @@ public class AccountController {
         return accountService.create(request);
     }
 
-    // GET /api/accounts?ownerId=1
+    // GET /api/accounts?ownerId=1   (ETag / If-None-Match como el summary)
     @GetMapping
     public List<AccountSummaryResponse> listByOwner(
             @RequestParam Long ownerId,
-            @RequestParam(required = false) Boolean activeOnly
+            @RequestParam(required = false) Boolean activeOnly,
+            ServletWebRequest request
     ) {
-        return accountService.listByOwnerWithBalance(ownerId, activeOnly);
+        if (ConditionalGet.notModified(request, dataVersions.etag(ownerId))) {
+            return null;
+        }
+        return dashboardCaches.accountList(
+                new DashboardCaches.AccountListKey(ownerId, activeOnly),
+                () -> accountService.listByOwnerWithBalance(ownerId, activeOnly)
+        );
+    }
+
+    // GET /api/accounts/net-worth?ownerId=1&currency=USD   (sin currency: ARS)
+    @GetMapping("/net-worth")
+    public NetWorthResponse netWorth(
+            @RequestParam Long ownerId,
+            @RequestParam(required = false) String currency
+    ) {
+        return accountService.getNetWorth(ownerId, currency);
     }
 
     @GetMapping("/{id}")
@@ -52,7 +89,33 @@ public class AccountController {
 
     @GetMapping("/{id}/balance")
     public AccountBalanceResponse balance(@PathVariable Long id) {
-        return accountService.getBalance(id);
+        return dashboardCaches.balance(id, () -> accountService.getBalance(id));
+    }
+
+    // GET /api/accounts/{id}/balance-as-of?date=2025-06-30 (saldo al cierre de ese día)
+    @GetMapping("/{id}/balance-as-of")
+    public AccountBalanceAsOfResponse balanceAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return balanceHistoryService.getBalanceAsOf(id, date);
+    }
+
+    // GET /api/accounts/{id}/balance-series?from=2025-01-01&to=2025-12-31 (un punto por día)
+    @GetMapping("/{id}/balance-series")
+    public AccountBalanceSeriesResponse balanceSeries(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return balanceHistoryService.getBalanceSeries(id, from, to);
+    }
+
+    // POST /api/accounts/balances/verify?repair=true
+    // compara el ledger de saldos con un recalculo completo (y opcionalmente lo reconstruye)
+    @PostMapping("/balances/verify")
+    public BalanceVerificationResponse verifyBalances(@RequestParam(defaultValue = "false") boolean repair) {
+        return balanceVerifier.verify(repair);
     }
 
     // PATCH Update
@@ -0,0 +1,88 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.budget.BudgetCreateRequest;
+import com.example.expensetracker.dto.budget.BudgetEvaluationResponse;
+import com.example.expensetracker.dto.budget.BudgetEvaluationResultResponse;
+import com.example.expensetracker.dto.budget.BudgetResponse;
+import com.example.expensetracker.dto.budget.BudgetUpdateRequest;
+import com.example.expensetracker.service.BudgetEvaluationJob;
+import com.example.expensetracker.service.BudgetService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+    private final BudgetEvaluationJob evaluationJob;
+
+    public BudgetController(BudgetService budgetService, BudgetEvaluationJob evaluationJob) {
+        this.budgetService = budgetService;
+        this.evaluationJob = evaluationJob;
+    }
+
+    // POST /api/budgets   { "ownerId": 1, "categoryId": 3, "period": "2025-11", "limitAmount": 50000 }
+    @PostMapping
+    public BudgetResponse create(@RequestBody BudgetCreateRequest request) {
+        return budgetService.create(request);
+    }
+
+    // GET /api/budgets?ownerId=1&period=2025-11   (period opcional)
+    @GetMapping
+    public List<BudgetResponse> listByOwner(
+            @RequestParam Long ownerId,
+            @RequestParam(required = false) String period
+    ) {
+        return budgetService.listByOwner(ownerId, period);
+    }
+
+    // GET /api/budgets/{id}   (límite, gastado y restante)
+    @GetMapping("/{id}")
+    public BudgetResponse get(@PathVariable Long id) {
+        return budgetService.get(id);
+    }
+
+    // PATCH /api/budgets/{id}
+    @PatchMapping("/{id}")
+    public BudgetResponse update(@PathVariable Long id, @RequestBody BudgetUpdateRequest request) {
+        return budgetService.update(id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    public void delete(@PathVariable Long id) {
+        budgetService.delete(id);
+    }
+
+    // ------------------------
+    // Cierre de mes: evaluación de todos los presupuestos de un período (corre en background)
+    // POST /api/budgets/evaluations?period=2025-11
+    // GET  /api/budgets/evaluations/{id}                            (progreso)
+    // POST /api/budgets/evaluations/{id}/resume                     (retoma los chunks pendientes)
+    // GET  /api/budgets/evaluations/{id}/results?ownerId=1&overOnly=true
+    // ------------------------
+    @PostMapping("/evaluations")
+    public BudgetEvaluationResponse startEvaluation(@RequestParam String period) {
+        return evaluationJob.start(period);
+    }
+
+    @GetMapping("/evaluations/{id}")
+    public BudgetEvaluationResponse evaluationStatus(@PathVariable Long id) {
+        return evaluationJob.status(id);
+    }
+
+    @PostMapping("/evaluations/{id}/resume")
+    public BudgetEvaluationResponse resumeEvaluation(@PathVariable Long id) {
+        return evaluationJob.resume(id);
+    }
+
+    @GetMapping("/evaluations/{id}/results")
+    public List<BudgetEvaluationResultResponse> evaluationResults(
+            @PathVariable Long id,
+            @RequestParam Long ownerId,
+            @RequestParam(defaultValue = "false") boolean overOnly
+    ) {
+        return evaluationJob.results(id, ownerId, overOnly);
+    }
+}
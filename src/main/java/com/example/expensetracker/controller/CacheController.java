@@ -0,0 +1,44 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.cache.DashboardCaches;
+import com.example.expensetracker.cache.OwnerReferences;
+import com.example.expensetracker.cache.SecondLevelCache;
+import com.example.expensetracker.dto.cache.CacheStatsResponse;
+import com.example.expensetracker.dto.cache.SecondLevelCacheStatsResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final DashboardCaches dashboardCaches;
+    private final SecondLevelCache secondLevelCache;
+    private final OwnerReferences ownerReferences;
+
+    public CacheController(DashboardCaches dashboardCaches,
+                           SecondLevelCache secondLevelCache,
+                           OwnerReferences ownerReferences) {
+        this.dashboardCaches = dashboardCaches;
+        this.secondLevelCache = secondLevelCache;
+        this.ownerReferences = ownerReferences;
+    }
+
+    // GET /api/cache/stats (hits / misses / evictions para dimensionar los caches)
+    @GetMapping("/stats")
+    public List<CacheStatsResponse> stats() {
+        List<CacheStatsResponse> stats = new ArrayList<>(dashboardCaches.stats());
+        stats.add(ownerReferences.stats());
+        return stats;
+    }
+
+    // GET /api/cache/second-level (hit ratio por región de la caché de Hibernate + query cache)
+    @GetMapping("/second-level")
+    public List<SecondLevelCacheStatsResponse> secondLevelStats() {
+        return secondLevelCache.stats();
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.expensetracker.controller;
 
+import com.example.expensetracker.cache.OwnerDataVersions;
 import com.example.expensetracker.dto.category.CategoryCreateRequest;
 import com.example.expensetracker.dto.category.CategoryUpdateRequest;
 import com.example.expensetracker.dto.category.CategoryResponse;
 import com.example.expensetracker.service.CategoryService;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -13,9 +15,11 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final OwnerDataVersions dataVersions;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, OwnerDataVersions dataVersions) {
         this.categoryService = categoryService;
+        this.dataVersions = dataVersions;
     }
 
     // POST /api/categories
@@ -24,12 +28,16 @@ public class CategoryController {
         return categoryService.create(request);
     }
 
-    // GET /api/categories?ownerId=1
+    // GET /api/categories?ownerId=1   (ETag / If-None-Match como el summary)
     @GetMapping
     public List<CategoryResponse> listByOwner(
             @RequestParam Long ownerId,
-            @RequestParam(required = false) Boolean activeOnly
+            @RequestParam(required = false) Boolean activeOnly,
+            ServletWebRequest request
     ) {
+        if (ConditionalGet.notModified(request, dataVersions.etag(ownerId))) {
+            return null;
+        }
         return categoryService.listByOwner(ownerId, activeOnly);
     }
 
@@ -0,0 +1,23 @@
+package com.example.expensetracker.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * GET condicional con el ETag de OwnerDataVersions: si el If-None-Match coincide, la respuesta
+ * queda en 304 y el controller devuelve null sin ejecutar el servicio.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static boolean notModified(ServletWebRequest request, String etag) {
+        // el cliente puede guardar la respuesta pero tiene que revalidarla siempre
+        // (si no, Spring Security pone no-store)
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        return request.checkNotModified(etag);
+    }
+}
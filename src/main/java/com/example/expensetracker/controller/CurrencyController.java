@@ -0,0 +1,42 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.currency.CurrencyRateUpdateRequest;
+import com.example.expensetracker.dto.currency.ExchangeRateImportResponse;
+import com.example.expensetracker.dto.currency.CurrencyResponse;
+import com.example.expensetracker.service.CurrencyService;
+import com.example.expensetracker.service.ExchangeRateImportService;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/currencies")
+public class CurrencyController {
+
+    private final CurrencyService currencyService;
+    private final ExchangeRateImportService rateImportService;
+
+    public CurrencyController(CurrencyService currencyService, ExchangeRateImportService rateImportService) {
+        this.currencyService = currencyService;
+        this.rateImportService = rateImportService;
+    }
+
+    @GetMapping
+    public List<CurrencyResponse> list() {
+        return currencyService.list();
+    }
+
+    // PATCH /api/currencies/USD/rate   { "exchangeRateToBase": 1250.50 }
+    @PatchMapping("/{code}/rate")
+    public CurrencyResponse updateRate(@PathVariable String code, @RequestBody CurrencyRateUpdateRequest request) {
+        return currencyService.updateExchangeRate(code, request);
+    }
+
+    // POST /api/currencies/rates/import   (body = CSV "currency,date,rate", leído en streaming)
+    @PostMapping("/rates/import")
+    public ExchangeRateImportResponse importRates(InputStream body) throws IOException {
+        return rateImportService.importCsv(body);
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.expensetracker.controller;
 
+import com.example.expensetracker.cache.DashboardCaches;
+import com.example.expensetracker.cache.OwnerDataVersions;
+import com.example.expensetracker.dto.summary.RollupVerificationResponse;
 import com.example.expensetracker.dto.summary.SummaryResponse;
+import com.example.expensetracker.service.MonthlyRollupVerifier;
 import com.example.expensetracker.service.SummaryService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.LocalDate;
 
@@ -12,19 +17,44 @@ import java.time.LocalDate;
 public class SummaryController {
 
     private final SummaryService summaryService;
+    private final MonthlyRollupVerifier rollupVerifier;
+    private final DashboardCaches dashboardCaches;
+    private final OwnerDataVersions dataVersions;
 
-    public SummaryController(SummaryService summaryService) {
+    public SummaryController(SummaryService summaryService,
+                             MonthlyRollupVerifier rollupVerifier,
+                             DashboardCaches dashboardCaches,
+                             OwnerDataVersions dataVersions) {
         this.summaryService = summaryService;
+        this.rollupVerifier = rollupVerifier;
+        this.dashboardCaches = dashboardCaches;
+        this.dataVersions = dataVersions;
     }
 
-    // GET /api/summary?ownerId=1&from=2025-12-01&to=2025-12-31&top=5
+    // GET /api/summary?ownerId=1&from=2025-12-01&to=2025-12-31&top=5&currency=USD   (currency opcional)
+    // con ETag: If-None-Match => 304 si el owner no escribió nada desde entonces
     @GetMapping
     public SummaryResponse getSummary(
             @RequestParam Long ownerId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
-            @RequestParam(required = false) Integer top
+            @RequestParam(required = false) Integer top,
+            @RequestParam(required = false) String currency,
+            ServletWebRequest request
     ) {
-        return summaryService.getSummary(ownerId, from, to, top);
+        if (ConditionalGet.notModified(request, dataVersions.etag(ownerId))) {
+            return null;
+        }
+        return dashboardCaches.summary(
+                new DashboardCaches.SummaryKey(ownerId, from, to, top, currency),
+                () -> summaryService.getSummary(ownerId, from, to, top, currency)
+        );
+    }
+
+    // POST /api/summary/rollups/verify?rebuild=true
+    // compara los rollups mensuales con las transacciones (y opcionalmente los reconstruye)
+    @PostMapping("/rollups/verify")
+    public RollupVerificationResponse verifyRollups(@RequestParam(defaultValue = "false") boolean rebuild) {
+        return rollupVerifier.verify(rebuild);
     }
 }
@@ -1,10 +1,12 @@
 package com.example.expensetracker.controller;
 
+import com.example.expensetracker.cache.OwnerDataVersions;
 import com.example.expensetracker.dto.tag.TagCreateRequest;
 import com.example.expensetracker.dto.tag.TagUpdateRequest;
 import com.example.expensetracker.dto.tag.TagResponse;
 import com.example.expensetracker.service.TagService;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -13,9 +15,11 @@ import java.util.List;
 public class TagController {
 
     private final TagService tagService;
+    private final OwnerDataVersions dataVersions;
 
-    public TagController(TagService tagService) {
+    public TagController(TagService tagService, OwnerDataVersions dataVersions) {
         this.tagService = tagService;
+        this.dataVersions = dataVersions;
     }
 
     // POST /api/tags
@@ -24,12 +28,16 @@ public class TagController {
         return tagService.create(request);
     }
 
-    // GET /api/tags?ownerId=1
+    // GET /api/tags?ownerId=1   (ETag / If-None-Match como el summary)
     @GetMapping
     public List<TagResponse> listByOwner(
             @RequestParam Long ownerId,
-            @RequestParam(required = false) Boolean activeOnly
+            @RequestParam(required = false) Boolean activeOnly,
+            ServletWebRequest request
     ) {
+        if (ConditionalGet.notModified(request, dataVersions.etag(ownerId))) {
+            return null;
+        }
         return tagService.listByOwner(ownerId, activeOnly);
     }
 
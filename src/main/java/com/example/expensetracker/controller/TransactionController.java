@@ -3,12 +3,27 @@ package com.example.expensetracker.controller;
 import com.example.expensetracker.dto.ExpenseRequest;
 import com.example.expensetracker.dto.IncomeRequest;
 import com.example.expensetracker.dto.TransferRequest;
+import com.example.expensetracker.dto.tag.TagTotalResponse;
+import com.example.expensetracker.service.IdempotentTransactionService;
+import com.example.expensetracker.service.TransactionExportService;
+import com.example.expensetracker.service.TransactionImportService;
+import com.example.expensetracker.service.TransactionQueryService;
 import com.example.expensetracker.service.TransactionService;
+import com.example.expensetracker.dto.transaction.TransactionBatchRequest;
+import com.example.expensetracker.dto.transaction.TransactionBatchResponse;
+import com.example.expensetracker.dto.transaction.TransactionImportResponse;
+import com.example.expensetracker.dto.transaction.TransactionPageResponse;
+import com.example.expensetracker.dto.transaction.TransactionQueryRequest;
+import com.example.expensetracker.dto.transaction.TransactionQueryResponse;
 import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.dto.transaction.TransactionSearchHit;
 import com.example.expensetracker.dto.transaction.TransactionUpdateRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -17,56 +32,126 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService importService;
+    private final IdempotentTransactionService idempotentService;
+    private final TransactionExportService exportService;
+    private final TransactionQueryService queryService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionImportService importService,
+                                 IdempotentTransactionService idempotentService,
+                                 TransactionExportService exportService,
+                                 TransactionQueryService queryService) {
         this.transactionService = transactionService;
+        this.importService = importService;
+        this.idempotentService = idempotentService;
+        this.exportService = exportService;
+        this.queryService = queryService;
     }
 
+    // Header opcional en las altas: reintentar con la misma clave devuelve la transacción
+    // original en vez de crear otra
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     // ------------------------
     // Crear GASTO
     // ------------------------
     @PostMapping("/expense")
-    public TransactionResponse createExpense(@RequestBody ExpenseRequest request) {
-        return transactionService.createExpense(
+    public TransactionResponse createExpense(@RequestBody ExpenseRequest request,
+                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                             String idempotencyKey) {
+        return idempotentService.create(request.getOwnerId(), idempotencyKey, () -> transactionService.createExpense(
                 request.getOwnerId(),
                 request.getSourceAccountId(),
                 request.getCategoryId(),
                 request.getAmount(),
                 request.getOperationDate(),
                 request.getDescription(),
-                request.getTagIds()
-        );
+                request.getTagIds(),
+                idempotencyKey
+        ));
     }
 
     // ------------------------
     // Crear INGRESO
     // ------------------------
     @PostMapping("/income")
-    public TransactionResponse createIncome(@RequestBody IncomeRequest request) {
-        return transactionService.createIncome(
+    public TransactionResponse createIncome(@RequestBody IncomeRequest request,
+                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                             String idempotencyKey) {
+        return idempotentService.create(request.getOwnerId(), idempotencyKey, () -> transactionService.createIncome(
                 request.getOwnerId(),
                 request.getDestinationAccountId(),
                 request.getCategoryId(),
                 request.getAmount(),
                 request.getOperationDate(),
                 request.getDescription(),
-                request.getTagIds()
-        );
+                request.getTagIds(),
+                idempotencyKey
+        ));
     }
 
     // ------------------------
     // Crear TRANSFERENCIA
     // ------------------------
     @PostMapping("/transfer")
-    public TransactionResponse createTransfer(@RequestBody TransferRequest request) {
-        return transactionService.createTransfer(
+    public TransactionResponse createTransfer(@RequestBody TransferRequest request,
+                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                             String idempotencyKey) {
+        return idempotentService.create(request.getOwnerId(), idempotencyKey, () -> transactionService.createTransfer(
                 request.getOwnerId(),
                 request.getSourceAccountId(),
                 request.getDestinationAccountId(),
                 request.getAmount(),
                 request.getOperationDate(),
-                request.getDescription()
-        );
+                request.getDescription(),
+                idempotencyKey
+        ));
+    }
+
+    // ------------------------
+    // Alta en lote (gastos, ingresos y transferencias mezclados)
+    // POST /api/transactions/batch   { "items": [ { "type": "EXPENSE", ... }, ... ] }
+    // ------------------------
+    @PostMapping("/batch")
+    public TransactionBatchResponse createBatch(@RequestBody TransactionBatchRequest request) {
+        return transactionService.createBatch(request.getItems());
+    }
+
+    // ------------------------
+    // IMPORT masivo (CSV / JSON)
+    // POST /api/transactions/import?ownerId=1&format=csv   (body = contenido del archivo)
+    // ------------------------
+    @PostMapping("/import")
+    public TransactionImportResponse importTransactions(
+            @RequestParam Long ownerId,
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body
+    ) throws IOException {
+        // el body se lee en streaming, sin bufferear el archivo completo
+        return importService.importTransactions(ownerId, format, body);
+    }
+
+    // ------------------------
+    // EXPORT del historial (NDJSON / CSV) en streaming
+    // GET /api/transactions/export?ownerId=1&format=ndjson   (from/to opcionales)
+    // ------------------------
+    @GetMapping("/export")
+    public void exportTransactions(
+            @RequestParam Long ownerId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response
+    ) throws IOException {
+        // se escribe directo en la respuesta a medida que se lee de la BD
+        exportService.export(ownerId, format, from, to, (contentType, extension) -> {
+            response.setContentType(contentType);
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader("Content-Disposition",
+                    "attachment; filename=\"transactions-" + ownerId + "." + extension + "\"");
+            return response.getOutputStream();
+        });
     }
 
     // ------------------------
@@ -84,25 +169,87 @@ public class TransactionController {
 
 
     // ------------------------
-    // Obtener TODAS las transacciones de un usuario
-    // GET /api/transactions?ownerId=1
+    // Obtener las transacciones de un usuario (paginado por cursor)
+    // GET /api/transactions?ownerId=1&limit=50
+    // GET /api/transactions?ownerId=1&limit=50&cursor=<nextCursor de la página anterior>
     // ------------------------
     @GetMapping
-    public List<TransactionResponse> getTransactionsForUser(@RequestParam Long ownerId) {
-        return transactionService.getTransactionsForUser(ownerId);
+    public TransactionPageResponse getTransactionsForUser(@RequestParam Long ownerId,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          @RequestParam(required = false) String cursor) {
+        return transactionService.getTransactionsForUser(ownerId, limit, cursor);
     }
 
     // ------------------------
-    // Obtener transacciones por período
-    // GET /api/transactions/period?ownerId=1&from=2025-12-01&to=2025-12-31
+    // Obtener transacciones por período (paginado por cursor)
+    // GET /api/transactions/period?ownerId=1&from=2025-12-01&to=2025-12-31&limit=50&cursor=...
     // ------------------------
     @GetMapping("/period")
-    public List<TransactionResponse> getTransactionsForUserInPeriod(
+    public TransactionPageResponse getTransactionsForUserInPeriod(
             @RequestParam Long ownerId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        return transactionService.getTransactionsForUserInPeriod(ownerId, from, to, limit, cursor);
+    }
+
+    // ------------------------
+    // Consulta combinando criterios (todos opcionales salvo ownerId), paginada por cursor,
+    // con cantidad y suma de montos de todo el resultado
+    // POST /api/transactions/query
+    //   { "ownerId": 1, "types": ["EXPENSE"], "accountIds": [3], "tagIds": [4, 7],
+    //     "minAmount": 100, "from": "2025-01-01", "to": "2025-12-31", "text": "uber", "limit": 50 }
+    // ------------------------
+    @PostMapping("/query")
+    public TransactionQueryResponse query(@RequestBody TransactionQueryRequest request) {
+        return queryService.query(request);
+    }
+
+    // ------------------------
+    // Buscar por descripción (prefijo, sin mayúsculas ni acentos, ordenado por relevancia)
+    // GET /api/transactions/search?ownerId=1&q=uber&from=2025-01-01&to=2025-12-31&accountId=3&limit=20
+    // ------------------------
+    @GetMapping("/search")
+    public List<TransactionSearchHit> search(
+            @RequestParam Long ownerId,
+            @RequestParam String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return transactionService.search(ownerId, q, from, to, accountId, limit);
+    }
+
+    // ------------------------
+    // Filtrar por tags: AND / OR / NOT sobre tag ids, con período opcional
+    // GET /api/transactions/tagged?ownerId=1&expr=4 AND 7&from=2025-01-01&to=2025-12-31&limit=50
+    // ------------------------
+    @GetMapping("/tagged")
+    public List<TransactionResponse> listByTags(
+            @RequestParam Long ownerId,
+            @RequestParam String expr,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return transactionService.listByTags(ownerId, expr, from, to, limit);
+    }
+
+    // ------------------------
+    // Totales por tag (expr opcional para acotar las transacciones)
+    // GET /api/transactions/tagged/totals?ownerId=1&from=2025-01-01&to=2025-12-31
+    // ------------------------
+    @GetMapping("/tagged/totals")
+    public List<TagTotalResponse> totalsByTag(
+            @RequestParam Long ownerId,
+            @RequestParam(required = false) String expr,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
-        return transactionService.getTransactionsForUserInPeriod(ownerId, from, to);
+        return transactionService.totalsByTag(ownerId, expr, from, to);
     }
 
     // ------------------------
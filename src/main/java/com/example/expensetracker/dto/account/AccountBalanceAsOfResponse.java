@@ -0,0 +1,17 @@
+package com.example.expensetracker.dto.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class AccountBalanceAsOfResponse {
+    private Long accountId;
+    private Long ownerId;
+    private String currencyCode;
+    private LocalDate date;          // saldo al cierre de este día
+    private BigDecimal balance;
+}
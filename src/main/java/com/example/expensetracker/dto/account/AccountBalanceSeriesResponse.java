@@ -0,0 +1,20 @@
+package com.example.expensetracker.dto.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AccountBalanceSeriesResponse {
+    private Long accountId;
+    private Long ownerId;
+    private String currencyCode;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal openingBalance;          // saldo al cierre del día anterior a "from"
+    private List<BalancePointResponse> points;  // un punto por día de [from, to]
+}
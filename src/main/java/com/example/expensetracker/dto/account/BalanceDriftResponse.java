@@ -0,0 +1,17 @@
+package com.example.expensetracker.dto.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class BalanceDriftResponse {
+
+    private Long accountId;
+    private Long ownerId;
+    private BigDecimal storedBalance;      // null = la cuenta no tenía saldo en el ledger
+    private BigDecimal recomputedBalance;
+    private BigDecimal difference;         // stored - recomputed
+}
@@ -0,0 +1,14 @@
+package com.example.expensetracker.dto.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class BalancePointResponse {
+    private LocalDate date;
+    private BigDecimal balance;   // saldo al cierre del día
+}
@@ -0,0 +1,16 @@
+package com.example.expensetracker.dto.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BalanceVerificationResponse {
+
+    private int checkedAccounts;
+    private int driftedAccounts;
+    private boolean repaired;
+    private List<BalanceDriftResponse> drifts;
+}
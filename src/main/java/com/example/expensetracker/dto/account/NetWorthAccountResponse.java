@@ -0,0 +1,16 @@
+package com.example.expensetracker.dto.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class NetWorthAccountResponse {
+    private Long accountId;
+    private String name;
+    private String currencyCode;        // moneda propia de la cuenta
+    private BigDecimal balance;         // en esa moneda
+    private BigDecimal convertedBalance; // en la moneda pedida
+}
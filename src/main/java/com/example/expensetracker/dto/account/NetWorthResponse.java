@@ -0,0 +1,16 @@
+package com.example.expensetracker.dto.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class NetWorthResponse {
+    private Long ownerId;
+    private String currencyCode;
+    private BigDecimal total;                       // suma de los saldos convertidos
+    private List<NetWorthAccountResponse> accounts;
+}
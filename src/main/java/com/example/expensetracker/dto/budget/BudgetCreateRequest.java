@@ -0,0 +1,16 @@
+package com.example.expensetracker.dto.budget;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class BudgetCreateRequest {
+
+    private Long ownerId;
+    private Long categoryId;
+    private String period;          // "yyyy-MM", ej "2025-11"
+    private BigDecimal limitAmount;
+}
@@ -0,0 +1,26 @@
+package com.example.expensetracker.dto.budget;
+
+import com.example.expensetracker.enums.EvaluationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BudgetEvaluationResponse {
+
+    private Long id;
+    private String period;
+    private EvaluationStatus status;
+
+    // progreso: chunks de owners terminados / total
+    private int chunkCount;
+    private int chunksDone;
+
+    private long budgetsEvaluated;
+    private long overBudget;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
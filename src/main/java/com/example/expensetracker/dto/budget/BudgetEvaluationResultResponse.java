@@ -0,0 +1,19 @@
+package com.example.expensetracker.dto.budget;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class BudgetEvaluationResultResponse {
+
+    private Long budgetId;
+    private Long categoryId;
+
+    private BigDecimal limitAmount;
+    private BigDecimal spent;
+    private BigDecimal difference;   // limitAmount - spent (negativo = excedido)
+    private boolean overBudget;
+}
@@ -0,0 +1,20 @@
+package com.example.expensetracker.dto.budget;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class BudgetResponse {
+
+    private Long id;
+    private Long categoryId;
+    private String period;
+
+    private BigDecimal limitAmount;
+    private BigDecimal spent;       // gastos CONFIRMED de la categoría en el mes
+    private BigDecimal remaining;   // limitAmount - spent (negativo si se pasó)
+    private int usedPercent;
+}
@@ -0,0 +1,13 @@
+package com.example.expensetracker.dto.budget;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class BudgetUpdateRequest {
+
+    private BigDecimal limitAmount;   // opcional
+}
@@ -0,0 +1,21 @@
+package com.example.expensetracker.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private String name;
+    private int size;
+    private int maxEntries;
+
+    private long hits;
+    private long misses;
+    private long evictions;      // sacadas por tamaño (LRU)
+    private long expirations;    // sacadas por TTL
+    private long invalidations;  // sacadas por escrituras
+
+    private double hitRatio;
+}
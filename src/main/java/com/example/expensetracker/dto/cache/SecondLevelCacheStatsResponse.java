@@ -0,0 +1,18 @@
+package com.example.expensetracker.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SecondLevelCacheStatsResponse {
+
+    private String region;       // entidad (nombre de clase) o "query"
+    private long elements;       // entradas en memoria (-1 si el provider no lo informa)
+
+    private long hits;
+    private long misses;
+    private long puts;
+
+    private double hitRatio;
+}
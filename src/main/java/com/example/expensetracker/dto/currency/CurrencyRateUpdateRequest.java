@@ -0,0 +1,12 @@
+package com.example.expensetracker.dto.currency;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class CurrencyRateUpdateRequest {
+    private BigDecimal exchangeRateToBase;
+}
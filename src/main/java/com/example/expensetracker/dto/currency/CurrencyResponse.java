@@ -0,0 +1,16 @@
+package com.example.expensetracker.dto.currency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class CurrencyResponse {
+    private String code;
+    private String name;
+    private String symbol;
+    private int decimalDigits;
+    private BigDecimal exchangeRateToBase;
+}
@@ -0,0 +1,18 @@
+package com.example.expensetracker.dto.currency;
+
+import com.example.expensetracker.dto.transaction.ImportRowError;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExchangeRateImportResponse {
+    private long totalRows;
+    private long importedRows;     // insertadas o actualizadas
+    private long failedRows;
+    private long overwrittenRows;  // (moneda, fecha) repetida en el archivo: pisada por una fila posterior
+    private long elapsedMillis;
+    private List<ImportRowError> errors;
+}
@@ -0,0 +1,22 @@
+package com.example.expensetracker.dto.summary;
+
+import com.example.expensetracker.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class RollupMismatchResponse {
+
+    private Long ownerId;
+    private String period;
+    private Long categoryId;
+    private TransactionType type;
+
+    private BigDecimal storedTotal;   // 0 si el bucket no existe en el rollup
+    private BigDecimal rawTotal;      // 0 si no hay transacciones para ese bucket
+    private Long storedCount;
+    private Long rawCount;
+}
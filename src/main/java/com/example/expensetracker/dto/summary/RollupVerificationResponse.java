@@ -0,0 +1,16 @@
+package com.example.expensetracker.dto.summary;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class RollupVerificationResponse {
+
+    private int checkedBuckets;
+    private int mismatchedBuckets;
+    private boolean rebuilt;
+    private List<RollupMismatchResponse> mismatches;
+}
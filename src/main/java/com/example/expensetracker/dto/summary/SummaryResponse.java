@@ -20,4 +20,7 @@ public class SummaryResponse {
     private BigDecimal net;
 
     private List<CategoryTotalResponse> topCategories;
+
+    // null = montos en la moneda de cada cuenta, sin convertir
+    private String currencyCode;
 }
@@ -0,0 +1,16 @@
+package com.example.expensetracker.dto.tag;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class TagTotalResponse {
+
+    private Long tagId;
+    private int count;                 // transacciones CONFIRMED con el tag
+    private BigDecimal expenseTotal;
+    private BigDecimal incomeTotal;
+}
@@ -0,0 +1,14 @@
+package com.example.expensetracker.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+
+    private int index;                       // posición en la request (desde 0)
+    private boolean created;
+    private TransactionResponse transaction; // null si falló
+    private String error;                    // null si se creó
+}
@@ -0,0 +1,32 @@
+package com.example.expensetracker.dto.transaction;
+
+import com.example.expensetracker.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Un ítem del batch: mismos campos que ExpenseRequest / IncomeRequest / TransferRequest + type.
+// Como en esos endpoints: EXPENSE usa sourceAccountId, INCOME destinationAccountId,
+// TRANSFER ambas (sin categoría ni tags).
+@Data
+@NoArgsConstructor
+public class BatchTransactionItem {
+
+    private TransactionType type;
+
+    private Long ownerId;
+    private Long sourceAccountId;
+    private Long destinationAccountId;
+    private Long categoryId;
+    private BigDecimal amount;
+    private String description;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate operationDate;
+
+    private List<Long> tagIds;
+}
@@ -0,0 +1,11 @@
+package com.example.expensetracker.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportRowError {
+    private long row;        // CSV: número de línea (header = 1); JSON: índice en el array (desde 1)
+    private String message;
+}
@@ -0,0 +1,13 @@
+package com.example.expensetracker.dto.transaction;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class TransactionBatchRequest {
+
+    private List<BatchTransactionItem> items;
+}
@@ -0,0 +1,15 @@
+package com.example.expensetracker.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TransactionBatchResponse {
+
+    private int created;
+    private int failed;
+    private List<BatchItemResult> results;   // mismo orden que los ítems de la request
+}
@@ -0,0 +1,22 @@
+package com.example.expensetracker.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TransactionImportResponse {
+
+    private Long ownerId;
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    // se devuelven como mucho los primeros N errores (failedRows tiene el total)
+    private List<ImportRowError> errors;
+}
@@ -0,0 +1,28 @@
+package com.example.expensetracker.dto.transaction;
+
+import com.example.expensetracker.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Una fila del import (CSV o JSON). El owner viene en la request, no en la fila.
+@Data
+@NoArgsConstructor
+public class TransactionImportRow {
+
+    private TransactionType type;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate operationDate;
+
+    private BigDecimal amount;
+    private Long sourceAccountId;
+    private Long destinationAccountId;
+    private Long categoryId;
+    private String description;
+    private List<Long> tagIds;
+}
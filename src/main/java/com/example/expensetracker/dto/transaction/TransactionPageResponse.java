@@ -0,0 +1,14 @@
+package com.example.expensetracker.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TransactionPageResponse {
+
+    private List<TransactionResponse> items;   // operationDate desc, id desc
+    private String nextCursor;                 // null = no hay más páginas
+}
@@ -0,0 +1,44 @@
+package com.example.expensetracker.dto.transaction;
+
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Todos los criterios son opcionales salvo ownerId; null / [] => sin filtro.
+// Dentro de una lista es OR, entre criterios es AND.
+@Data
+@NoArgsConstructor
+public class TransactionQueryRequest {
+
+    private Long ownerId;
+
+    private List<TransactionType> types;
+    private List<TransactionState> states;
+
+    // source o destination en alguna de estas cuentas
+    private List<Long> accountIds;
+    private List<Long> categoryIds;
+    // con al menos uno de estos tags
+    private List<Long> tagIds;
+
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate from;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate to;
+
+    // prefijos de palabras de la descripción (sin mayúsculas ni acentos)
+    private String text;
+
+    private Integer limit;
+    private String cursor;
+}
@@ -0,0 +1,19 @@
+package com.example.expensetracker.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TransactionQueryResponse {
+
+    private List<TransactionResponse> items;   // operationDate desc, id desc
+    private String nextCursor;                 // null = no hay más páginas
+
+    // de TODO el resultado (no solo de la página), calculados con la primera página
+    private long totalCount;
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,12 @@
+package com.example.expensetracker.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TransactionSearchHit {
+
+    private TransactionResponse transaction;
+    private double score;                    // relevancia (mayor = mejor), solo para ordenar
+}
@@ -0,0 +1,7 @@
+package com.example.expensetracker.enums;
+
+public enum EvaluationStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
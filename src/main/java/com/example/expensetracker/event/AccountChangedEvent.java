@@ -0,0 +1,7 @@
+package com.example.expensetracker.event;
+
+/**
+ * Publicado por AccountService cuando se crea o modifica una cuenta.
+ */
+public record AccountChangedEvent(Long ownerId, Long accountId) {
+}
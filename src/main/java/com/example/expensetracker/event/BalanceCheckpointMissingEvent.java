@@ -0,0 +1,10 @@
+package com.example.expensetracker.event;
+
+import java.time.LocalDate;
+
+/**
+ * Publicado por AccountBalanceHistoryService cuando una consulta de saldo no encontró el
+ * checkpoint del mes (checkpointDate = día 1). Se materializa después del commit de la lectura.
+ */
+public record BalanceCheckpointMissingEvent(Long accountId, LocalDate checkpointDate) {
+}
@@ -0,0 +1,7 @@
+package com.example.expensetracker.event;
+
+/**
+ * Publicado por BudgetService cuando se crea, modifica o borra un presupuesto.
+ */
+public record BudgetChangedEvent(Long ownerId, Long budgetId) {
+}
@@ -0,0 +1,18 @@
+package com.example.expensetracker.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Publicado por BudgetTracker cuando lo gastado en un presupuesto pasa hacia arriba uno de los
+ * umbrales configurados (budgets.alert-thresholds, en % del límite). Ya está commiteado.
+ */
+public record BudgetThresholdCrossedEvent(
+        Long budgetId,
+        Long ownerId,
+        Long categoryId,
+        String period,
+        int thresholdPercent,
+        BigDecimal spent,
+        BigDecimal limitAmount
+) {
+}
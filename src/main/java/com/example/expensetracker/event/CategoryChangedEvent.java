@@ -0,0 +1,7 @@
+package com.example.expensetracker.event;
+
+/**
+ * Publicado por CategoryService cuando se crea o modifica una categoría.
+ */
+public record CategoryChangedEvent(Long ownerId, Long categoryId) {
+}
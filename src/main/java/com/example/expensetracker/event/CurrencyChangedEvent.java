@@ -0,0 +1,7 @@
+package com.example.expensetracker.event;
+
+/**
+ * Publicado por CurrencyService cuando se persiste un cambio de una moneda (ej. su tipo de cambio).
+ */
+public record CurrencyChangedEvent(String code) {
+}
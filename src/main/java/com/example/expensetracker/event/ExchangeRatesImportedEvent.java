@@ -0,0 +1,10 @@
+package com.example.expensetracker.event;
+
+import java.util.Set;
+
+/**
+ * Publicado por ExchangeRateImportService una vez al final del import, fuera de transacción
+ * (los chunks ya commitearon), con las monedas tocadas. Los listeners usan fallbackExecution.
+ */
+public record ExchangeRatesImportedEvent(Set<String> currencyCodes) {
+}
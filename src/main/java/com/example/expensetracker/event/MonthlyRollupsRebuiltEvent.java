@@ -0,0 +1,10 @@
+package com.example.expensetracker.event;
+
+import java.util.Set;
+
+/**
+ * Publicado por MonthlyRollupVerifier al reconstruir monthly_totals: ownerIds son los owners
+ * con algún bucket distinto del recalculo (los demás quedan con los mismos valores).
+ */
+public record MonthlyRollupsRebuiltEvent(Set<Long> ownerIds) {
+}
@@ -0,0 +1,18 @@
+package com.example.expensetracker.event;
+
+import com.example.expensetracker.enums.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Publicado por MonthlyRollupLedger con cada movimiento de un bucket (owner, mes, categoría, tipo).
+ * delta es lo que se sumó al total (negativo al sacar una transacción).
+ */
+public record MonthlyTotalChangedEvent(
+        Long ownerId,
+        String period,
+        Long categoryId,
+        TransactionType type,
+        BigDecimal delta
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.expensetracker.event;
+
+/**
+ * Publicado por TagService cuando se crea o modifica un tag.
+ */
+public record TagChangedEvent(Long ownerId, Long tagId) {
+}
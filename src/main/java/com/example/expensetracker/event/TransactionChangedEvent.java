@@ -0,0 +1,37 @@
+package com.example.expensetracker.event;
+
+import com.example.expensetracker.enums.TransactionType;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Publicado por TransactionService en cada escritura. Los listeners que mantienen
+ * estado derivado fuera de la BD (caches, índices) lo consumen AFTER_COMMIT.
+ */
+public record TransactionChangedEvent(
+        Long ownerId,
+        Long transactionId,
+        TransactionType type,
+        Kind kind,
+        Set<Long> accountIds,
+        LocalDate operationDate
+) {
+
+    public enum Kind {
+        CREATED,
+        CONFIRMED,
+        CANCELED,
+        UPDATED
+    }
+
+    // monto, cuentas y estado no cambian en un UPDATED => los saldos tampoco
+    public boolean affectsBalances() {
+        return kind != Kind.UPDATED;
+    }
+
+    // las transferencias no entran en el summary
+    public boolean affectsSummary() {
+        return type != TransactionType.TRANSFER;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.expensetracker.event;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Publicado por cada chunk commiteado de un import / alta masiva (en lugar de un
+ * TransactionChangedEvent por fila). Todas las transacciones son nuevas y CONFIRMED.
+ */
+public record TransactionsImportedEvent(
+        Long ownerId,
+        List<Long> transactionIds,
+        Set<Long> accountIds,
+        LocalDate earliestOperationDate
+) {
+}
@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Sin caché L2: cada escritura de transacciones corre applyBalanceDelta (update masivo), que
+// vacía la región entera de Account y el timestamp de la tabla; casi no habría hits.
 @Entity
 @Table(name = "accounts")
 @Data
@@ -36,6 +38,12 @@ public class Account {
 
     private BigDecimal initialBalance;
 
+    // saldo corriente mantenido de forma incremental por TransactionService.
+    // updatable = false: solo se toca con updates atómicos (AccountRepository.applyBalanceDelta)
+    // para que un flush de la entidad nunca pise un saldo más nuevo.
+    @Column(updatable = false)
+    private BigDecimal currentBalance;
+
     private Boolean active;
 
     private LocalDateTime createdAt;
@@ -48,6 +56,9 @@ public class Account {
         if (active == null) {
             active = true;
         }
+        if (currentBalance == null) {
+            currentBalance = initialBalance != null ? initialBalance : BigDecimal.ZERO;
+        }
     }
 
     public void rename(String newName) {
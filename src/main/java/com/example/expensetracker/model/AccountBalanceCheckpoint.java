@@ -0,0 +1,36 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// Saldo de una cuenta al INICIO de checkpointDate (siempre día 1 de un mes):
+// initialBalance + todas las transacciones CONFIRMED con operationDate < checkpointDate.
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Entity
+@Table(
+        name = "account_balance_checkpoints",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "checkpoint_date"})
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountBalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id")
+    private Account account;
+
+    @Column(name = "checkpoint_date")
+    private LocalDate checkpointDate;
+
+    private BigDecimal balance;
+}
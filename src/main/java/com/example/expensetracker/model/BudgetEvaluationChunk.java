@@ -0,0 +1,37 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// Rango de owners [firstOwnerId, lastOwnerId] de una corrida. Se fija al crear la corrida, así
+// reanudar procesa exactamente los chunks que faltan aunque mientras tanto haya owners nuevos.
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Entity
+@Table(
+        name = "budget_evaluation_chunks",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"run_id", "chunk_index"})
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetEvaluationChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "run_id")
+    private BudgetEvaluationRun run;
+
+    @Column(name = "chunk_index")
+    private int chunkIndex;
+
+    private Long firstOwnerId;
+    private Long lastOwnerId;
+
+    private boolean done;
+}
@@ -0,0 +1,44 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// Foto de un presupuesto al cierre: ids sueltos (sin FK) para que borrar un presupuesto o una
+// categoría después no choque con los reportes ya generados.
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Entity
+@Table(
+        name = "budget_evaluation_results",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"run_id", "budget_id"}),
+        indexes = @Index(name = "idx_budget_eval_results_run_owner", columnList = "run_id, owner_id")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetEvaluationResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "run_id")
+    private BudgetEvaluationRun run;
+
+    @Column(name = "budget_id")
+    private Long budgetId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    private Long categoryId;
+
+    private BigDecimal limitAmount;
+    private BigDecimal spent;
+
+    private boolean overBudget;
+}
@@ -0,0 +1,40 @@
+package com.example.expensetracker.model;
+
+import com.example.expensetracker.enums.EvaluationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// Corrida del cierre de mes de presupuestos (ver BudgetEvaluationJob). Los contadores avanzan
+// en la misma transacción que marca cada chunk como hecho.
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Entity
+@Table(name = "budget_evaluation_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetEvaluationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Ej: "2025-11"
+    @Column(length = 7)
+    private String period;
+
+    @Enumerated(EnumType.STRING)
+    private EvaluationStatus status;
+
+    private int chunkCount;
+    private int chunksDone;
+
+    private long budgetsEvaluated;
+    private long overBudget;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -8,7 +8,12 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
-@Table(name = "category_budgets")
+@Table(
+        name = "category_budgets",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"owner_id", "category_id", "period_key"}),
+        // cierre de mes: owners con presupuesto en un período
+        indexes = @Index(name = "idx_category_budgets_period_owner", columnList = "period_key, owner_id")
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,8 +33,13 @@ public class CategoryBudget {
     @JoinColumn(name = "category_id")
     private Category category;
 
-    // Ej: "2025-11" para noviembre 2025
+    // Ej: "2025-11" para noviembre 2025 (para mostrar)
+    @Column(length = 7)
     private String period;
 
+    // mismo período como BudgetPeriod (year * 12 + month - 1): filtros y join con MonthlyTotal
+    @Column(name = "period_key")
+    private Integer periodKey;
+
     private BigDecimal limitAmount;
 }
@@ -0,0 +1,40 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// Tipo de cambio a la moneda base vigente desde rateDate (hasta la próxima fila de esa moneda).
+// Se carga en bloque (ExchangeRateImportService) y se consulta en memoria (ExchangeRateHistory).
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Entity
+@Table(
+        name = "exchange_rates",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"currency_code", "rate_date"})
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExchangeRate {
+
+    // ids por secuencia => los INSERT del import van en batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exchange_rates_seq")
+    @SequenceGenerator(name = "exchange_rates_seq", sequenceName = "exchange_rates_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "currency_code")
+    private Currency currency;
+
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    // mismo sentido que Currency.exchangeRateToBase
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate;
+}
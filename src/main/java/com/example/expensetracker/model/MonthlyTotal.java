@@ -0,0 +1,50 @@
+package com.example.expensetracker.model;
+
+import com.example.expensetracker.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// Rollup mensual: total CONFIRMED por (owner, mes, categoría, tipo).
+// Lo mantiene TransactionService en cada alta/cancel/confirm/edición.
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Entity
+@Table(
+        name = "monthly_totals",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"owner_id", "period_key", "category_id", "type"})
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "owner_id")
+    private User owner;
+
+    // Ej: "2025-11" (mismo formato que CategoryBudget.period)
+    @Column(length = 7)
+    private String period;
+
+    // BudgetPeriod del mismo período: la unique y los rangos del summary van por acá
+    @Column(name = "period_key")
+    private Integer periodKey;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+    private BigDecimal total;
+
+    private Long transactionCount;
+}
@@ -1,14 +1,23 @@
 package com.example.expensetracker.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "tags")
-@Data
+// sin equals/hashCode por campos (@Data): Transaction.tags se arma con proxies de getReference
+// y Hibernate solo los hashea sin inicializarlos si la entidad usa identidad (única por id en
+// la sesión). Un Set<Tag> nunca mezcla instancias de sesiones distintas.
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
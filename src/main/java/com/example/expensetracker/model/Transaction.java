@@ -2,28 +2,46 @@ package com.example.expensetracker.model;
 
 import com.example.expensetracker.enums.TransactionState;
 import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.text.SearchTerms;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
-@Table(name = "transactions")
+@Table(
+        name = "transactions",
+        // clave de idempotencia del cliente: única por owner (varios NULL permitidos)
+        uniqueConstraints = @UniqueConstraint(columnNames = {"owner_id", "external_reference"}),
+        indexes = {
+                // listado paginado por cursor: desc como el order by (H2 no recorre un índice al revés)
+                @Index(name = "idx_transactions_owner_date_id", columnList = "owner_id, operation_date desc, id desc"),
+                // historial por cuenta: una rama por columna, todo desc como el order by de cada rama
+                // (ver TransactionRepository.ACCOUNT_PAGE_IDS_SQL); también los usan los saldos por rango
+                @Index(name = "idx_transactions_source_date_id", columnList = "source_account_id desc, operation_date desc, id desc"),
+                @Index(name = "idx_transactions_destination_date_id", columnList = "destination_account_id desc, operation_date desc, id desc")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Transaction {
 
+    // SEQUENCE (no IDENTITY): el id se asigna sin hacer el INSERT, así Hibernate
+    // puede agrupar los INSERT en batches JDBC (import masivo)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     // dueño
@@ -43,6 +61,15 @@ public class Transaction {
     private LocalDateTime recordedAt;
 
     private String description;
+
+    // description con las palabras como las tokeniza SearchTerms (sin acentos, en
+    // minúscula, separadas por un espacio y con uno adelante: " cafe con leche"). El filtro de
+    // texto en la BD es `like '% palabra%'` sobre esta columna: matchea lo mismo que el índice.
+    @Column(name = "search_text", length = 512)
+    private String searchText;
+
+    // Idempotency-Key con la que el cliente creó la transacción (null = sin clave)
+    @Column(name = "external_reference")
     private String externalReference;
 
     // cuenta origen
@@ -59,7 +86,9 @@ public class Transaction {
     @JoinColumn(name = "category_id")
     private Category category;
 
+    // al recorrer varias transacciones cargadas, los tags se piden con un IN, no uno por transacción
     @ManyToMany
+    @BatchSize(size = 200)
     @JoinTable(
             name = "transaction_tags",
             joinColumns = @JoinColumn(name = "transaction_id"),
@@ -79,6 +108,17 @@ public class Transaction {
         if (state == null) {
             state = TransactionState.PENDING;
         }
+        searchText = searchTextOf(description);
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        searchText = searchTextOf(description);
+    }
+
+    static String searchTextOf(String description) {
+        List<String> terms = SearchTerms.tokenize(description);
+        return terms.isEmpty() ? null : " " + String.join(" ", terms);
     }
 
     public void confirm() {
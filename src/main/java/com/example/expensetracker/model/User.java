@@ -1,6 +1,8 @@
 package com.example.expensetracker.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import java.time.LocalDateTime;
 
@@ -8,6 +10,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users") // nombre de tabla en la BD
 @Data                 // getters, setters, toString, equals, hashCode (Lombok)
 @NoArgsConstructor
@@ -0,0 +1,98 @@
+package com.example.expensetracker.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monto en punto fijo: unidades mínimas en un long, con la cantidad de decimales de la
+ * moneda (Currency.decimalDigits). Para agregar en memoria sin alocar un BigDecimal por suma.
+ *
+ * - BigDecimal sigue siendo el tipo de las entidades y de la API: se convierte solo en los
+ *   bordes (of / toBigDecimal).
+ * - plus / minus / negate detectan overflow (ArithmeticException); para acumular muchos
+ *   montos sin cortar por overflow está MoneySum.
+ * - Dos montos solo se combinan con la misma escala.
+ */
+public record Money(long minorUnits, int digits) implements Comparable<Money> {
+
+    // escala de las columnas de montos (numeric(38,2), default de Hibernate para BigDecimal).
+    // Los montos de transacciones, saldos y rollups se guardan con esta escala sea cual sea la
+    // moneda: al sumar para escribir esas columnas se usa esta y no Currency.decimalDigits
+    // (con JPY, 0 decimales, 10.50 se redondearía a 11 y la columna guarda 10.50; un bucket del
+    // rollup además mezcla cuentas de distintas monedas)
+    public static final int STORAGE_DIGITS = 2;
+
+    // con más decimales ni una unidad entera entra en un long
+    public static final int MAX_DIGITS = 18;
+
+    public Money {
+        checkDigits(digits);
+    }
+
+    public static Money zero(int digits) {
+        return new Money(0, digits);
+    }
+
+    public static Money ofMinor(long minorUnits, int digits) {
+        return new Money(minorUnits, digits);
+    }
+
+    // mismo redondeo que la columna al guardar (HALF_UP); fuera de rango de long => ArithmeticException
+    public static Money of(BigDecimal amount, int digits) {
+        return new Money(toMinorUnits(amount, digits), digits);
+    }
+
+    // conversión sin crear el Money, para guardar montos en arrays de long
+    public static long toMinorUnits(BigDecimal amount, int digits) {
+        checkDigits(digits);
+        BigDecimal scaled = amount.setScale(digits, RoundingMode.HALF_UP);
+        return scaled.unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits, int digits) {
+        return BigDecimal.valueOf(minorUnits, digits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(minorUnits, digits);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, sameScale(other).minorUnits), digits);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, sameScale(other).minorUnits), digits);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), digits);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, sameScale(other).minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private Money sameScale(Money other) {
+        if (other.digits != digits) {
+            throw new IllegalArgumentException("Cannot combine amounts with " + digits + " and " + other.digits + " decimal digits");
+        }
+        return other;
+    }
+
+    static void checkDigits(int digits) {
+        if (digits < 0 || digits > MAX_DIGITS) {
+            throw new IllegalArgumentException("decimalDigits must be between 0 and " + MAX_DIGITS);
+        }
+    }
+}
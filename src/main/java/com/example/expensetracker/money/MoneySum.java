@@ -0,0 +1,83 @@
+package com.example.expensetracker.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Acumulador mutable de montos de una misma escala: suma en un long y, solo si la suma se
+ * sale del rango, vuelca lo acumulado a un BigDecimal y sigue. El caso normal no aloca.
+ *
+ * No es thread-safe (se usa dentro de un loop de agregación).
+ */
+public final class MoneySum {
+
+    private final int digits;
+    private long minorUnits;
+    private BigDecimal overflow;   // null mientras todo entre en el long
+    private long count;
+
+    public MoneySum(int digits) {
+        Money.checkDigits(digits);
+        this.digits = digits;
+    }
+
+    public MoneySum addMinor(long value) {
+        long sum = minorUnits + value;
+        // overflow sii ambos sumandos tienen el mismo signo y el resultado otro
+        if (((minorUnits ^ sum) & (value ^ sum)) < 0) {
+            overflow = total();
+            minorUnits = value;
+        } else {
+            minorUnits = sum;
+        }
+        count++;
+        return this;
+    }
+
+    public MoneySum add(BigDecimal amount) {
+        long value;
+        try {
+            value = Money.toMinorUnits(amount, digits);
+        } catch (ArithmeticException e) {
+            // el monto solo ya no entra en un long
+            overflow = total().add(amount.setScale(digits, RoundingMode.HALF_UP));
+            minorUnits = 0;
+            count++;
+            return this;
+        }
+        return addMinor(value);
+    }
+
+    public MoneySum add(Money amount) {
+        if (amount.digits() != digits) {
+            throw new IllegalArgumentException("Cannot combine amounts with " + digits + " and " + amount.digits() + " decimal digits");
+        }
+        return addMinor(amount.minorUnits());
+    }
+
+    public MoneySum subtract(BigDecimal amount) {
+        return add(amount.negate());
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean fitsInLong() {
+        return overflow == null;
+    }
+
+    // resultado exacto en BigDecimal (escala = digits)
+    public BigDecimal total() {
+        BigDecimal fast = Money.toBigDecimal(minorUnits, digits);
+        return overflow == null ? fast : overflow.add(fast);
+    }
+
+    // overflow => ArithmeticException (el total no entra en Money)
+    public Money toMoney() {
+        if (overflow != null) {
+            return Money.of(total(), digits);
+        }
+        return Money.ofMinor(minorUnits, digits);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.AccountBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface AccountBalanceCheckpointRepository extends JpaRepository<AccountBalanceCheckpoint, Long> {
+
+    // checkpoint más cercano (hacia atrás) a una fecha
+    Optional<AccountBalanceCheckpoint> findFirstByAccount_IdAndCheckpointDateLessThanEqualOrderByCheckpointDateDesc(
+            Long accountId,
+            LocalDate date
+    );
+
+    // fecha del checkpoint más nuevo de la cuenta (null = ninguno)
+    @Query("""
+           select max(c.checkpointDate)
+           from AccountBalanceCheckpoint c
+           where c.account.id = :accountId
+           """)
+    LocalDate findLatestCheckpointDate(@Param("accountId") Long accountId);
+
+    // una transacción con operationDate = d cambia todos los checkpoints posteriores a d
+    @Modifying
+    @Query("""
+           delete from AccountBalanceCheckpoint c
+           where c.account.id in :accountIds
+             and c.checkpointDate > :date
+           """)
+    int deleteAfter(
+            @Param("accountIds") Collection<Long> accountIds,
+            @Param("date") LocalDate date
+    );
+}
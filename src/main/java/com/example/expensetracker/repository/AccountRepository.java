@@ -1,10 +1,18 @@
 // AccountRepository.java
 package com.example.expensetracker.repository;
 
+import com.example.expensetracker.enums.TransactionState;
 import com.example.expensetracker.model.Account;
 import com.example.expensetracker.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -13,4 +21,50 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     boolean existsByOwnerAndName(User owner, String name);
 
+    // id + active de cada cuenta del owner (foto de OwnerReferences)
+    interface ReferenceRow {
+        Long getId();
+        Boolean getActive();
+    }
+
+    @Query("select a.id as id, a.active as active from Account a where a.owner.id = :ownerId")
+    List<ReferenceRow> findReferencesByOwnerId(@Param("ownerId") Long ownerId);
+
+    /* =====================================================
+       LEDGER DE SALDO (updates atómicos, sin read-modify-write)
+       ===================================================== */
+
+    // si currentBalance es null (saldo desconocido) queda null hasta el rebuild
+    @Modifying
+    @Query("""
+           update Account a
+           set a.currentBalance = a.currentBalance + :delta
+           where a.id = :accountId
+           """)
+    int applyBalanceDelta(
+            @Param("accountId") Long accountId,
+            @Param("delta") BigDecimal delta
+    );
+
+    // rebuild: recalcula el saldo desde las transacciones CONFIRMED en una sola sentencia
+    @Modifying
+    @Query("""
+           update Account a
+           set a.currentBalance = coalesce(a.initialBalance, 0)
+               + (select coalesce(sum(t.amount), 0) from Transaction t
+                  where t.destinationAccount.id = a.id and t.state = :state)
+               - (select coalesce(sum(t.amount), 0) from Transaction t
+                  where t.sourceAccount.id = a.id and t.state = :state)
+           where a.id = :accountId
+           """)
+    int rebuildBalance(
+            @Param("accountId") Long accountId,
+            @Param("state") TransactionState state
+    );
+
+    // serializa escrituras e invalidaciones de checkpoints de saldo sobre las mismas cuentas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id in :accountIds")
+    List<Account> lockByIds(@Param("accountIds") Collection<Long> accountIds);
+
 }
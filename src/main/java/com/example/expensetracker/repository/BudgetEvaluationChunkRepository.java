@@ -0,0 +1,19 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.BudgetEvaluationChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BudgetEvaluationChunkRepository extends JpaRepository<BudgetEvaluationChunk, Long> {
+
+    List<BudgetEvaluationChunk> findByRun_IdAndDoneFalseOrderByChunkIndex(Long runId);
+
+    // 0 filas => otro proceso ya lo terminó (la transacción del chunk se descarta)
+    @Modifying
+    @Query("update BudgetEvaluationChunk c set c.done = true where c.id = :chunkId and c.done = false")
+    int markDone(@Param("chunkId") Long chunkId);
+}
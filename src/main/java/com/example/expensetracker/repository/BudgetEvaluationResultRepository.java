@@ -0,0 +1,24 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.BudgetEvaluationResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BudgetEvaluationResultRepository extends JpaRepository<BudgetEvaluationResult, Long> {
+
+    @Query("""
+           select r from BudgetEvaluationResult r
+           where r.run.id = :runId
+             and r.ownerId = :ownerId
+             and (:overOnly = false or r.overBudget = true)
+           order by r.categoryId
+           """)
+    List<BudgetEvaluationResult> findByRunAndOwner(
+            @Param("runId") Long runId,
+            @Param("ownerId") Long ownerId,
+            @Param("overOnly") boolean overOnly
+    );
+}
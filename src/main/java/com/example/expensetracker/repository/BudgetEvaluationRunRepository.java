@@ -0,0 +1,21 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.BudgetEvaluationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface BudgetEvaluationRunRepository extends JpaRepository<BudgetEvaluationRun, Long> {
+
+    // progreso: en la misma transacción que marca el chunk como hecho (chunks en paralelo => update atómico)
+    @Modifying
+    @Query("""
+           update BudgetEvaluationRun r
+           set r.chunksDone = r.chunksDone + 1,
+               r.budgetsEvaluated = r.budgetsEvaluated + :budgets,
+               r.overBudget = r.overBudget + :over
+           where r.id = :runId
+           """)
+    int addChunkProgress(@Param("runId") Long runId, @Param("budgets") long budgets, @Param("over") long over);
+}
@@ -0,0 +1,85 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.model.CategoryBudget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+public interface CategoryBudgetRepository extends JpaRepository<CategoryBudget, Long> {
+
+    boolean existsByOwner_IdAndCategory_IdAndPeriodKey(Long ownerId, Long categoryId, Integer periodKey);
+
+    /* =====================================================
+       LECTURA: presupuesto + gastado (bucket EXPENSE del rollup mensual)
+       ===================================================== */
+
+    interface BudgetRow {
+        Long getId();
+        Long getOwnerId();
+        Long getCategoryId();
+        String getPeriod();
+        BigDecimal getLimitAmount();
+        BigDecimal getSpent();
+    }
+
+    // lo gastado es el bucket (owner, period_key, categoría, EXPENSE) de monthly_totals: lookup
+    // por su unique key (entera), sin sumar transacciones
+    String BUDGET_ROWS = """
+           select b.id as id, b.owner.id as ownerId, b.category.id as categoryId, b.period as period,
+                  b.limitAmount as limitAmount, coalesce(m.total, 0) as spent
+           from CategoryBudget b
+           left join MonthlyTotal m
+                  on m.owner.id = b.owner.id
+                 and m.periodKey = b.periodKey
+                 and m.category.id = b.category.id
+                 and m.type = :expenseType
+           """;
+
+    @Query(BUDGET_ROWS + " where b.id = :id")
+    Optional<BudgetRow> findRowById(@Param("id") Long id, @Param("expenseType") TransactionType expenseType);
+
+    @Query(BUDGET_ROWS + """
+           where b.owner.id = :ownerId
+             and (:periodKey is null or b.periodKey = :periodKey)
+           order by b.periodKey desc, b.category.id
+           """)
+    List<BudgetRow> findRowsByOwner(
+            @Param("ownerId") Long ownerId,
+            @Param("periodKey") Integer periodKey,
+            @Param("expenseType") TransactionType expenseType
+    );
+
+    @Query(BUDGET_ROWS)
+    List<BudgetRow> findAllRows(@Param("expenseType") TransactionType expenseType);
+
+    /* =====================================================
+       CIERRE DE MES (BudgetEvaluationJob)
+       ===================================================== */
+
+    @Query("select distinct b.owner.id from CategoryBudget b where b.periodKey = :periodKey order by b.owner.id")
+    List<Long> findOwnerIdsWithBudgets(@Param("periodKey") int periodKey);
+
+    interface EvaluationBudgetRow {
+        Long getId();
+        Long getOwnerId();
+        Long getCategoryId();
+        BigDecimal getLimitAmount();
+    }
+
+    @Query("""
+           select b.id as id, b.owner.id as ownerId, b.category.id as categoryId, b.limitAmount as limitAmount
+           from CategoryBudget b
+           where b.owner.id between :firstOwnerId and :lastOwnerId
+             and b.periodKey = :periodKey
+           """)
+    List<EvaluationBudgetRow> findForEvaluation(
+            @Param("firstOwnerId") Long firstOwnerId,
+            @Param("lastOwnerId") Long lastOwnerId,
+            @Param("periodKey") int periodKey
+    );
+}
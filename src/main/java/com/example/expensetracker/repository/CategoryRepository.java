@@ -3,17 +3,29 @@ package com.example.expensetracker.repository;
 
 import com.example.expensetracker.model.Category;
 import com.example.expensetracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByOwner(User owner);
 
     boolean existsByOwnerAndNameIgnoreCase(User owner, String name);
 
+    // id + active de cada categoría del owner (foto de OwnerReferences)
+    interface ReferenceRow {
+        Long getId();
+        Boolean getActive();
+    }
 
-
+    @Query("select c.id as id, c.active as active from Category c where c.owner.id = :ownerId")
+    List<ReferenceRow> findReferencesByOwnerId(@Param("ownerId") Long ownerId);
 
 }
@@ -0,0 +1,48 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.ExchangeRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
+
+    // Series para ExchangeRateHistory: ordenadas por moneda y fecha
+    interface RatePointRow {
+        String getCurrencyCode();
+        LocalDate getRateDate();
+        BigDecimal getRate();
+    }
+
+    @Query("""
+    select r.currency.code as currencyCode, r.rateDate as rateDate, r.rate as rate
+    from ExchangeRate r
+    order by r.currency.code, r.rateDate
+    """)
+    List<RatePointRow> findAllPoints();
+
+    @Query("""
+    select r.currency.code as currencyCode, r.rateDate as rateDate, r.rate as rate
+    from ExchangeRate r
+    where r.currency.code in :codes
+    order by r.currency.code, r.rateDate
+    """)
+    List<RatePointRow> findPointsByCurrencies(@Param("codes") Collection<String> codes);
+
+    // filas ya cargadas que un chunk del import pisa (upsert por moneda + fecha)
+    @Query("""
+    select r from ExchangeRate r
+    where r.currency.code in :codes
+      and r.rateDate between :from and :to
+    """)
+    List<ExchangeRate> findByCurrenciesInRange(
+            @Param("codes") Collection<String> codes,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
@@ -0,0 +1,91 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.model.MonthlyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface MonthlyTotalRepository extends JpaRepository<MonthlyTotal, Long> {
+
+    /* =====================================================
+       MANTENIMIENTO INCREMENTAL
+       ===================================================== */
+
+    // 0 filas actualizadas => el bucket todavía no existe y hay que insertarlo
+    @Modifying
+    @Query("""
+           update MonthlyTotal m
+           set m.total = m.total + :delta,
+               m.transactionCount = m.transactionCount + :count
+           where m.owner.id = :ownerId
+             and m.periodKey = :periodKey
+             and m.category.id = :categoryId
+             and m.type = :type
+           """)
+    int addToBucket(
+            @Param("ownerId") Long ownerId,
+            @Param("periodKey") int periodKey,
+            @Param("categoryId") Long categoryId,
+            @Param("type") TransactionType type,
+            @Param("delta") BigDecimal delta,
+            @Param("count") long count
+    );
+
+    /* =====================================================
+       LECTURA (SUMMARY)
+       ===================================================== */
+
+    interface PeriodTotalRow {
+        TransactionType getType();
+        Long getCategoryId();
+        String getCategoryName();
+        BigDecimal getTotal();
+    }
+
+    // rango de BudgetPeriod (enteros consecutivos por mes)
+    @Query("""
+           select m.type as type,
+                  c.id as categoryId,
+                  c.name as categoryName,
+                  coalesce(sum(m.total), 0) as total
+           from MonthlyTotal m
+           join m.category c
+           where m.owner.id = :ownerId
+             and m.periodKey between :fromPeriodKey and :toPeriodKey
+           group by m.type, c.id, c.name
+           """)
+    List<PeriodTotalRow> sumByOwnerInPeriods(
+            @Param("ownerId") Long ownerId,
+            @Param("fromPeriodKey") int fromPeriodKey,
+            @Param("toPeriodKey") int toPeriodKey
+    );
+
+    /* =====================================================
+       VERIFICACIÓN
+       ===================================================== */
+
+    interface BucketRow {
+        Long getOwnerId();
+        String getPeriod();
+        Long getCategoryId();
+        TransactionType getType();
+        BigDecimal getTotal();
+        Long getTransactionCount();
+    }
+
+    @Query("""
+           select m.owner.id as ownerId,
+                  m.period as period,
+                  m.category.id as categoryId,
+                  m.type as type,
+                  m.total as total,
+                  m.transactionCount as transactionCount
+           from MonthlyTotal m
+           """)
+    List<BucketRow> findAllBuckets();
+}
@@ -3,14 +3,24 @@ package com.example.expensetracker.repository;
 
 import com.example.expensetracker.model.Tag;
 import com.example.expensetracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Tag> findByOwner(User owner);
 
     boolean existsByOwnerAndNameIgnoreCase(User owner, String name);
 
+    // ids de los tags del owner (foto de OwnerReferences; los tags no se validan por active)
+    @Query("select t.id from Tag t where t.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
 }
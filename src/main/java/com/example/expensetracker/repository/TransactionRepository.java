@@ -3,16 +3,22 @@ package com.example.expensetracker.repository;
 import com.example.expensetracker.enums.TransactionState;
 import com.example.expensetracker.enums.TransactionType;
 import com.example.expensetracker.model.Transaction;
-import com.example.expensetracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Pageable;
 
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
@@ -20,108 +26,485 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
        CONSULTAS DE LISTADO / HISTORIAL
        ===================================================== */
 
-    List<Transaction> findByOwner(User owner);
+    // Fila de listado: columnas + ids de las FK, sin hidratar la entidad ni sus relaciones.
+    // Los tags se piden aparte para toda la página (findTagIdsByTransactionIds).
+    interface TransactionRow {
+        Long getId();
+        Long getOwnerId();
+        TransactionType getType();
+        TransactionState getState();
+        BigDecimal getAmount();
+        LocalDate getOperationDate();
+        LocalDateTime getRecordedAt();
+        String getDescription();
+        Long getSourceAccountId();
+        Long getDestinationAccountId();
+        Long getCategoryId();
+    }
+
+    interface TransactionTagRow {
+        Long getTransactionId();
+        Long getTagId();
+    }
+
+    // keyset: filas estrictamente después de (afterDate, afterId) en orden operationDate desc, id desc.
+    // El Pageable solo aporta el LIMIT (siempre página 0). Para que H2 lea el índice
+    // (owner, fecha desc, id desc) en orden y corte en LIMIT filas:
+    //   - upTo = min(to, afterDate): el tope del cursor va en el mismo between (con un segundo
+    //     "<= afterDate" H2 arranca del principio del rango del owner y filtra);
+    //   - el order by empieza por owner_id (fijo): H2 solo usa un índice para ordenar si el
+    //     order by coincide con sus columnas desde la primera.
+    @Query("""
+           select t.id as id, t.owner.id as ownerId, t.type as type, t.state as state, t.amount as amount,
+                  t.operationDate as operationDate, t.recordedAt as recordedAt, t.description as description,
+                  t.sourceAccount.id as sourceAccountId, t.destinationAccount.id as destinationAccountId,
+                  t.category.id as categoryId
+           from Transaction t
+           where t.owner.id = :ownerId
+             and t.operationDate between :from and :upTo
+             and (t.operationDate < :afterDate
+                  or (t.operationDate = :afterDate and t.id < :afterId))
+           order by t.owner.id, t.operationDate desc, t.id desc
+           """)
+    List<TransactionRow> findPageByOwner(
+            @Param("ownerId") Long ownerId,
+            @Param("from") LocalDate from,
+            @Param("upTo") LocalDate upTo,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // rebuild del índice de búsqueda: todas las transacciones vivas, leídas como stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+           select t.id as id, t.owner.id as ownerId, t.type as type, t.state as state, t.amount as amount,
+                  t.operationDate as operationDate, t.recordedAt as recordedAt, t.description as description,
+                  t.sourceAccount.id as sourceAccountId, t.destinationAccount.id as destinationAccountId,
+                  t.category.id as categoryId
+           from Transaction t
+           where t.state <> :excludedState
+           """)
+    Stream<TransactionRow> streamForSearchIndex(@Param("excludedState") TransactionState excludedState);
 
-    List<Transaction> findByOwnerAndOperationDateBetween(
-            User owner,
-            LocalDate from,
-            LocalDate to
+    // carga del índice de tags de un owner (TransactionTagIndex): filas y pares (transacción, tag)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+           select t.id as id, t.owner.id as ownerId, t.type as type, t.state as state, t.amount as amount,
+                  t.operationDate as operationDate, t.recordedAt as recordedAt, t.description as description,
+                  t.sourceAccount.id as sourceAccountId, t.destinationAccount.id as destinationAccountId,
+                  t.category.id as categoryId
+           from Transaction t
+           where t.owner.id = :ownerId
+             and t.state <> :excludedState
+           """)
+    Stream<TransactionRow> streamRowsByOwner(@Param("ownerId") Long ownerId,
+                                             @Param("excludedState") TransactionState excludedState);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+           select t.id as transactionId, tg.id as tagId
+           from Transaction t
+           join t.tags tg
+           where t.owner.id = :ownerId
+           """)
+    Stream<TransactionTagRow> streamTagIdsByOwner(@Param("ownerId") Long ownerId);
+
+    // tags de toda una página en una sola query (en vez de un lazy load por transacción)
+    @Query("""
+           select t.id as transactionId, tg.id as tagId
+           from Transaction t
+           join t.tags tg
+           where t.id in :transactionIds
+           """)
+    List<TransactionTagRow> findTagIdsByTransactionIds(@Param("transactionIds") Collection<Long> transactionIds);
+
+    // Export: una fila por (transacción, tag), en orden operationDate, id. Columnas sueltas en vez
+    // de entidades, así el persistence context no crece; se lee con un cursor forward-only.
+    interface ExportRow extends TransactionRow {
+        Long getTagId();                 // null = sin tags
+    }
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+           select t.id as id, t.owner.id as ownerId, t.type as type, t.state as state, t.amount as amount,
+                  t.operationDate as operationDate, t.recordedAt as recordedAt, t.description as description,
+                  t.sourceAccount.id as sourceAccountId, t.destinationAccount.id as destinationAccountId,
+                  t.category.id as categoryId, tg.id as tagId
+           from Transaction t
+           left join t.tags tg
+           where t.owner.id = :ownerId
+             and t.operationDate between :from and :to
+           order by t.operationDate, t.id, tg.id
+           """)
+    Stream<ExportRow> streamForExport(
+            @Param("ownerId") Long ownerId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
     );
 
+    // replay de un alta con Idempotency-Key (usa la unique (owner_id, external_reference))
+    Optional<Transaction> findByOwner_IdAndExternalReference(Long ownerId, String externalReference);
+
     /* =====================================================
        CONSULTAS DE AGREGACIÓN (CÁLCULO DE SALDO)
        SOLO TRANSACCIONES CONFIRMED
        ===================================================== */
 
-    // EXPENSE o TRANSFER que salen de una cuenta
+    // Recalculo completo del ledger: totales CONFIRMED por cuenta (salidas y entradas)
+    interface AccountTotalRow {
+        Long getAccountId();
+        BigDecimal getTotal();
+    }
+
     @Query("""
-           select coalesce(sum(t.amount), 0)
+           select t.sourceAccount.id as accountId, coalesce(sum(t.amount), 0) as total
            from Transaction t
-           where t.type = :type
-             and t.state = :state
-             and t.sourceAccount.id = :accountId
+           where t.state = :state
+             and t.sourceAccount is not null
+           group by t.sourceAccount.id
            """)
-    BigDecimal sumByTypeAndStateAndSourceAccount(
-            @Param("type") TransactionType type,
-            @Param("state") TransactionState state,
-            @Param("accountId") Long accountId
-    );
+    List<AccountTotalRow> sumOutflowByAccount(@Param("state") TransactionState state);
 
-    // INCOME o TRANSFER que entran a una cuenta
     @Query("""
-           select coalesce(sum(t.amount), 0)
+           select t.destinationAccount.id as accountId, coalesce(sum(t.amount), 0) as total
            from Transaction t
-           where t.type = :type
-             and t.state = :state
-             and t.destinationAccount.id = :accountId
+           where t.state = :state
+             and t.destinationAccount is not null
+           group by t.destinationAccount.id
            """)
-    BigDecimal sumByTypeAndStateAndDestinationAccount(
-            @Param("type") TransactionType type,
-            @Param("state") TransactionState state,
-            @Param("accountId") Long accountId
+    List<AccountTotalRow> sumInflowByAccount(@Param("state") TransactionState state);
+
+    // Entradas/salidas CONFIRMED de todas las cuentas de un owner en un solo round trip
+    interface AccountFlowRow {
+        Long getAccountId();
+        BigDecimal getInitialBalance();
+        BigDecimal getInflow();
+        BigDecimal getOutflow();
+    }
+
+    // Un join con OR entre source_account_id y destination_account_id es un tableScan por
+    // cuenta: un GROUP BY por columna (cada uno acotado al owner) y un left join de cada uno
+    // por cuenta. H2 empuja el join adentro y cada rama busca por su índice de cuenta.
+    String FLOWS_BY_OWNER_SQL = """
+            select a.id as accountId,
+                   coalesce(a.initial_balance, 0) as initialBalance,
+                   coalesce(i.total, 0) as inflow,
+                   coalesce(o.total, 0) as outflow
+            from accounts a
+            left join (select t.destination_account_id as account_id, sum(t.amount) as total
+                       from transactions t
+                       where t.owner_id = :ownerId
+                         and t.destination_account_id is not null
+                         and t.state = :state
+                       group by t.destination_account_id) i on i.account_id = a.id
+            left join (select t.source_account_id as account_id, sum(t.amount) as total
+                       from transactions t
+                       where t.owner_id = :ownerId
+                         and t.source_account_id is not null
+                         and t.state = :state
+                       group by t.source_account_id) o on o.account_id = a.id
+            where a.owner_id = :ownerId
+            """;
+
+    default List<AccountFlowRow> sumFlowsByOwnerGroupedByAccount(Long ownerId, TransactionState state) {
+        return sumFlowsByOwnerGroupedByAccount(ownerId, state.name());
+    }
+
+    @Query(value = FLOWS_BY_OWNER_SQL, nativeQuery = true)
+    List<AccountFlowRow> sumFlowsByOwnerGroupedByAccount(
+            @Param("ownerId") Long ownerId,
+            @Param("state") String state
     );
 
-    //Busca Transacciones en donde la cuenta aparezca como Source o Destination
+    // Movimiento neto CONFIRMED de una cuenta (entradas - salidas). Un OR entre
+    // source_account_id y destination_account_id es un tableScan de toda la tabla (H2 lo
+    // reescribe como :id IN(source, destination)): una subquery por columna, cada una sobre su
+    // índice (cuenta, fecha, id), y se restan. SQL en constantes para el test de plan; el
+    // estado va como texto (nombre del enum).
+    String NET_FLOW_BETWEEN_SQL = """
+            select coalesce((select sum(t.amount) from transactions t
+                             where t.destination_account_id = :accountId
+                               and t.state = :state
+                               and t.operation_date between :from and :to), 0)
+                 - coalesce((select sum(t.amount) from transactions t
+                             where t.source_account_id = :accountId
+                               and t.state = :state
+                               and t.operation_date between :from and :to), 0)
+            """;
 
-    List<Transaction> findByOwnerAndSourceAccount_IdOrOwnerAndDestinationAccount_Id(
-            User owner1, Long sourceAccountId,
-            User owner2, Long destinationAccountId,
-            Pageable pageable
+    String NET_FLOW_BEFORE_SQL = """
+            select coalesce((select sum(t.amount) from transactions t
+                             where t.destination_account_id = :accountId
+                               and t.state = :state
+                               and t.operation_date < :before), 0)
+                 - coalesce((select sum(t.amount) from transactions t
+                             where t.source_account_id = :accountId
+                               and t.state = :state
+                               and t.operation_date < :before), 0)
+            """;
+
+    default BigDecimal sumNetFlowForAccountBetween(Long accountId, TransactionState state,
+                                                   LocalDate from, LocalDate to) {
+        return sumNetFlowForAccountBetween(accountId, state.name(), from, to);
+    }
+
+    default BigDecimal sumNetFlowForAccountBefore(Long accountId, TransactionState state, LocalDate before) {
+        return sumNetFlowForAccountBefore(accountId, state.name(), before);
+    }
+
+    @Query(value = NET_FLOW_BETWEEN_SQL, nativeQuery = true)
+    BigDecimal sumNetFlowForAccountBetween(
+            @Param("accountId") Long accountId,
+            @Param("state") String state,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
     );
 
-    List<Transaction> findByOwnerAndOperationDateBetweenAndSourceAccount_IdOrOwnerAndOperationDateBetweenAndDestinationAccount_Id(
-            User owner1, LocalDate from1, LocalDate to1, Long sourceAccountId,
-            User owner2, LocalDate from2, LocalDate to2, Long destinationAccountId,
-            Pageable pageable
+    @Query(value = NET_FLOW_BEFORE_SQL, nativeQuery = true)
+    BigDecimal sumNetFlowForAccountBefore(
+            @Param("accountId") Long accountId,
+            @Param("state") String state,
+            @Param("before") LocalDate before
     );
 
+    // Movimiento neto por día (serie de saldos): una fila por día con movimientos, en orden,
+    // leída como stream (sin cargar entidades). Un OR entre source_account_id y
+    // destination_account_id es un tableScan de toda la tabla (H2 lo reescribe como
+    // :id IN(source, destination)): cada rama agrupa por día sobre su índice (cuenta, fecha, id)
+    // y el union all se vuelve a agrupar (un día con entradas y salidas trae dos filas).
+    // SQL en constante para el test de plan; el estado va como texto (nombre del enum).
+    interface DailyNetFlowRow {
+        LocalDate getOperationDate();
+        BigDecimal getNetFlow();
+    }
+
+    String DAILY_NET_FLOW_SQL = """
+            select flow.operation_date as operationDate, sum(flow.net_flow) as netFlow from (
+                (select t.operation_date, sum(t.amount) as net_flow from transactions t
+                 where t.destination_account_id = :accountId
+                   and t.state = :state
+                   and t.operation_date between :from and :to
+                 group by t.operation_date)
+                union all
+                (select t.operation_date, -sum(t.amount) as net_flow from transactions t
+                 where t.source_account_id = :accountId
+                   and t.state = :state
+                   and t.operation_date between :from and :to
+                 group by t.operation_date)
+            ) flow
+            group by flow.operation_date
+            order by flow.operation_date
+            """;
+
+    default Stream<DailyNetFlowRow> streamDailyNetFlowForAccount(Long accountId, TransactionState state,
+                                                                 LocalDate from, LocalDate to) {
+        return streamDailyNetFlowForAccount(accountId, state.name(), from, to);
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = DAILY_NET_FLOW_SQL, nativeQuery = true)
+    Stream<DailyNetFlowRow> streamDailyNetFlowForAccount(
+            @Param("accountId") Long accountId,
+            @Param("state") String state,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    //Busca Transacciones en donde la cuenta aparezca como Source o Destination
+
+    // Un OR entre source_account_id y destination_account_id no usa ningún índice (scan + sort).
+    // Cada rama lee su índice (cuenta desc, fecha desc, id desc) en orden y corta en
+    // ACCOUNT_PAGE_MAX_ROWS filas; después se mezclan en orden y se corta a :limit.
+    // El order by de cada rama repite la cuenta (fija) con la misma dirección que el índice: H2
+    // solo ordena con un índice si el order by coincide con sus columnas desde la primera, y si
+    // eligió el índice de la FK solo lo cambia por uno que difiera en la dirección.
+    // El tope de las ramas es literal: H2 2.2 reusa el primer :limit de un prepared statement
+    // dentro de tablas derivadas, así que solo el corte externo va parametrizado.
+    // Constante para que el test de plan haga EXPLAIN exactamente de esta query.
+    int ACCOUNT_PAGE_MAX_ROWS = 200;
+
+    String ACCOUNT_PAGE_IDS_SQL = """
+            select page.id from (
+                (select t.id, t.operation_date from transactions t
+                 where t.source_account_id = :accountId
+                   and t.operation_date between :from and :to
+                 order by t.source_account_id desc, t.operation_date desc, t.id desc
+                 fetch first\s""" + ACCOUNT_PAGE_MAX_ROWS + """
+             rows only)
+                union all
+                (select t.id, t.operation_date from transactions t
+                 where t.destination_account_id = :accountId
+                   and t.operation_date between :from and :to
+                 order by t.destination_account_id desc, t.operation_date desc, t.id desc
+                 fetch first\s""" + ACCOUNT_PAGE_MAX_ROWS + """
+             rows only)
+            ) page
+            order by page.operation_date desc, page.id desc
+            fetch first :limit rows only
+            """;
+
+    @Query(value = ACCOUNT_PAGE_IDS_SQL, nativeQuery = true)
+    List<Long> findPageIdsForAccount(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("limit") int limit
+    );
+
+    @Query("""
+           select t.id as id, t.owner.id as ownerId, t.type as type, t.state as state, t.amount as amount,
+                  t.operationDate as operationDate, t.recordedAt as recordedAt, t.description as description,
+                  t.sourceAccount.id as sourceAccountId, t.destinationAccount.id as destinationAccountId,
+                  t.category.id as categoryId
+           from Transaction t
+           where t.id in :ids
+           order by t.operationDate desc, t.id desc
+           """)
+    List<TransactionRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
     /* =====================================================
        Summary Calculation
        ===================================================== */
 
-    //Sumar por tipo (Income/expense)
+    // Totales por tipo y categoría de un rango (bordes parciales del summary con rollups)
+    interface TypeCategoryTotalRow {
+        TransactionType getType();
+        Long getCategoryId();
+        String getCategoryName();
+        BigDecimal getTotal();
+    }
+
     @Query("""
-    select coalesce(sum(t.amount), 0)
+    select
+      t.type as type,
+      c.id as categoryId,
+      c.name as categoryName,
+      coalesce(sum(t.amount), 0) as total
     from Transaction t
+    join t.category c
     where t.owner.id = :ownerId
       and t.state = :state
-      and t.type = :type
+      and t.type in :types
       and t.operationDate between :from and :to
+    group by t.type, c.id, c.name
     """)
-    BigDecimal sumAmountByOwnerAndTypeAndStateInPeriod(
+    List<TypeCategoryTotalRow> sumByOwnerGroupedByTypeAndCategoryInPeriod(
             @Param("ownerId") Long ownerId,
-            @Param("type") TransactionType type,
+            @Param("types") List<TransactionType> types,
             @Param("state") TransactionState state,
             @Param("from") LocalDate from,
             @Param("to") LocalDate to
     );
 
-    interface CategoryTotalRow {
+    // Summary en otra moneda: totales por (tipo, categoría, moneda de la cuenta, día) para
+    // convertir con la tasa de cada fecha. Una fila por día y moneda, no por transacción.
+    interface TypeCategoryCurrencyDayRow {
+        TransactionType getType();
         Long getCategoryId();
         String getCategoryName();
+        String getSourceCurrency();
+        String getDestinationCurrency();
+        LocalDate getOperationDate();
         BigDecimal getTotal();
     }
-    //Sumar Expenses por categoria
+
     @Query("""
     select
+      t.type as type,
       c.id as categoryId,
       c.name as categoryName,
+      sc.code as sourceCurrency,
+      dc.code as destinationCurrency,
+      t.operationDate as operationDate,
       coalesce(sum(t.amount), 0) as total
     from Transaction t
     join t.category c
+    left join t.sourceAccount sa
+    left join sa.currency sc
+    left join t.destinationAccount da
+    left join da.currency dc
     where t.owner.id = :ownerId
       and t.state = :state
-      and t.type = :type
+      and t.type in :types
       and t.operationDate between :from and :to
-    group by c.id, c.name
-    order by sum(t.amount) desc
+    group by t.type, c.id, c.name, sc.code, dc.code, t.operationDate
     """)
-    List<CategoryTotalRow> topCategoriesByOwnerInPeriod(
+    List<TypeCategoryCurrencyDayRow> sumByOwnerGroupedByTypeCategoryCurrencyAndDay(
             @Param("ownerId") Long ownerId,
+            @Param("types") List<TransactionType> types,
+            @Param("state") TransactionState state,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    // Recalculo completo de los rollups mensuales (verificación / rebuild)
+    interface MonthlyBucketRow {
+        Long getOwnerId();
+        Integer getOperationYear();
+        Integer getOperationMonth();
+        Long getCategoryId();
+        TransactionType getType();
+        BigDecimal getTotal();
+        Long getTransactionCount();
+    }
+
+    @Query("""
+    select
+      t.owner.id as ownerId,
+      year(t.operationDate) as operationYear,
+      month(t.operationDate) as operationMonth,
+      t.category.id as categoryId,
+      t.type as type,
+      coalesce(sum(t.amount), 0) as total,
+      count(t) as transactionCount
+    from Transaction t
+    where t.state = :state
+      and t.type in :types
+      and t.category is not null
+    group by t.owner.id, year(t.operationDate), month(t.operationDate), t.category.id, t.type
+    """)
+    List<MonthlyBucketRow> sumMonthlyBuckets(
+            @Param("types") List<TransactionType> types,
+            @Param("state") TransactionState state
+    );
+
+    // Cierre de mes de presupuestos: totales por (owner, categoría) de un rango de owners,
+    // una query por chunk (ver BudgetEvaluationJob)
+    interface OwnerCategoryTotalRow {
+        Long getOwnerId();
+        Long getCategoryId();
+        BigDecimal getTotal();
+    }
+
+    @Query("""
+    select
+      t.owner.id as ownerId,
+      t.category.id as categoryId,
+      coalesce(sum(t.amount), 0) as total
+    from Transaction t
+    where t.owner.id between :firstOwnerId and :lastOwnerId
+      and t.state = :state
+      and t.type = :type
+      and t.operationDate between :from and :to
+      and t.category is not null
+    group by t.owner.id, t.category.id
+    """)
+    List<OwnerCategoryTotalRow> sumByOwnerRangeAndCategoryInPeriod(
+            @Param("firstOwnerId") Long firstOwnerId,
+            @Param("lastOwnerId") Long lastOwnerId,
             @Param("type") TransactionType type,
             @Param("state") TransactionState state,
             @Param("from") LocalDate from,
-            @Param("to") LocalDate to,
-            Pageable pageable
+            @Param("to") LocalDate to
     );
 }
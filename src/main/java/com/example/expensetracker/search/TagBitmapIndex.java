@@ -0,0 +1,289 @@
+package com.example.expensetracker.search;
+
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.money.Money;
+import com.example.expensetracker.money.MoneySum;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Bitmaps comprimidos (Roaring) de las transacciones de UN owner.
+ *
+ * Cada transacción recibe un ordinal denso (0, 1, 2, ...). Hay un bitmap de ordinales por tag,
+ * por mes de operationDate, y los de "vivas" (no CANCELED) y CONFIRMED. Un filtro de tags +
+ * período es AND/OR/ANDNOT de bitmaps, sin joins contra transaction_tags.
+ *
+ * Los montos se guardan en centavos (long, Money.STORAGE_DIGITS) y los totales suman en long:
+ * sin un BigDecimal por transacción ni por suma.
+ *
+ * No es thread-safe: TransactionTagIndex sincroniza por owner.
+ */
+public class TagBitmapIndex {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    // marca de un monto que no entra en un long: el valor real va en 'oversized'
+    private static final long OVERSIZED = Long.MIN_VALUE;
+
+    public record TagTotal(Long tagId, int count, BigDecimal expenseTotal, BigDecimal incomeTotal) { }
+
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private long[] ids = new long[64];
+    private int[] epochDays = new int[64];
+    private long[] amounts = new long[64];
+    private final Map<Integer, BigDecimal> oversized = new HashMap<>();
+    private byte[] types = new byte[64];
+    private int size;
+
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final RoaringBitmap confirmed = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> byTag = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> byMonth = new HashMap<>();
+
+    // ---------------------------------------------------------
+    //  ESCRITURA
+    // ---------------------------------------------------------
+
+    public void upsert(Long transactionId, LocalDate operationDate, BigDecimal amount, TransactionType type,
+                       TransactionState state, Collection<Long> tagIds) {
+
+        int ord = ordinalOf(transactionId);
+        clear(ord);
+
+        if (state == TransactionState.CANCELED || operationDate == null) {
+            return;
+        }
+
+        epochDays[ord] = (int) operationDate.toEpochDay();
+        amounts[ord] = toMinorUnits(ord, amount != null ? amount : BigDecimal.ZERO);
+        types[ord] = (byte) (type != null ? type.ordinal() : -1);
+
+        live.add(ord);
+        if (state == TransactionState.CONFIRMED) {
+            confirmed.add(ord);
+        }
+        byMonth.computeIfAbsent(monthKey(operationDate), k -> new RoaringBitmap()).add(ord);
+        for (Long tagId : tagIds) {
+            byTag.computeIfAbsent(tagId, k -> new RoaringBitmap()).add(ord);
+        }
+    }
+
+    public void remove(Long transactionId) {
+        Integer ord = ordinalById.get(transactionId);
+        if (ord != null) {
+            clear(ord);
+        }
+    }
+
+    // compacta los containers (runs) después de una carga completa
+    public void optimize() {
+        live.runOptimize();
+        confirmed.runOptimize();
+        byTag.values().forEach(RoaringBitmap::runOptimize);
+        byMonth.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    private int ordinalOf(Long transactionId) {
+        Integer existing = ordinalById.get(transactionId);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        int ord = size++;
+        ids[ord] = transactionId;
+        ordinalById.put(transactionId, ord);
+        return ord;
+    }
+
+    // el ordinal queda reservado (un ordinal nunca se reutiliza); solo sale de los bitmaps
+    private void clear(int ord) {
+        if (!live.contains(ord)) {
+            return;
+        }
+        live.remove(ord);
+        confirmed.remove(ord);
+        RoaringBitmap month = byMonth.get(monthKey(LocalDate.ofEpochDay(epochDays[ord])));
+        if (month != null) {
+            month.remove(ord);
+        }
+        byTag.values().forEach(b -> b.remove(ord));
+        amounts[ord] = 0;
+        oversized.remove(ord);
+    }
+
+    private long toMinorUnits(int ord, BigDecimal amount) {
+        try {
+            return Money.toMinorUnits(amount, Money.STORAGE_DIGITS);
+        } catch (ArithmeticException e) {
+            oversized.put(ord, amount);
+            return OVERSIZED;
+        }
+    }
+
+    private void addAmount(MoneySum sum, int ord) {
+        long minor = amounts[ord];
+        if (minor == OVERSIZED) {
+            sum.add(oversized.get(ord));
+        } else {
+            sum.addMinor(minor);
+        }
+    }
+
+    // ---------------------------------------------------------
+    //  LECTURA
+    // ---------------------------------------------------------
+
+    /**
+     * Transacciones vivas que cumplen la expresión de tags (null = todas) y caen en [from, to]
+     * (null = sin límite).
+     */
+    public RoaringBitmap match(TagExpression expr, LocalDate from, LocalDate to) {
+        RoaringBitmap result = expr != null ? evaluate(expr) : live.clone();
+        if (from != null || to != null) {
+            result.and(inPeriod(from, to));
+        }
+        return result;
+    }
+
+    /** Los `limit` más recientes (operationDate desc, id desc) del bitmap, como transaction ids. */
+    public List<Long> newest(RoaringBitmap ordinals, int limit) {
+        Comparator<Integer> oldestFirst = Comparator.<Integer>comparingInt(o -> epochDays[o])
+                .thenComparingLong(o -> ids[o]);
+        PriorityQueue<Integer> top = new PriorityQueue<>(oldestFirst);
+
+        IntIterator it = ordinals.getIntIterator();
+        while (it.hasNext()) {
+            top.add(it.next());
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(ids[top.poll()]);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /** Transaction ids del bitmap (sin orden). */
+    public Set<Long> transactionIds(RoaringBitmap ordinals) {
+        Set<Long> result = new HashSet<>(ordinals.getCardinality() * 2);
+        ordinals.forEach((int ord) -> result.add(ids[ord]));
+        return result;
+    }
+
+    /**
+     * Totales CONFIRMED por tag dentro del bitmap (transferencias no suman, igual que el summary).
+     * tagIds null = todos los tags del owner.
+     */
+    public List<TagTotal> totalsByTag(RoaringBitmap ordinals, Collection<Long> tagIds) {
+        RoaringBitmap base = RoaringBitmap.and(ordinals, confirmed);
+
+        Map<Long, RoaringBitmap> tags = new LinkedHashMap<>();
+        if (tagIds == null) {
+            tags.putAll(byTag);
+        } else {
+            for (Long tagId : tagIds) {
+                tags.put(tagId, byTag.getOrDefault(tagId, new RoaringBitmap()));
+            }
+        }
+
+        List<TagTotal> totals = new ArrayList<>(tags.size());
+        tags.forEach((tagId, tagBitmap) -> {
+            RoaringBitmap hits = RoaringBitmap.and(base, tagBitmap);
+            MoneySum expense = new MoneySum(Money.STORAGE_DIGITS);
+            MoneySum income = new MoneySum(Money.STORAGE_DIGITS);
+            IntIterator it = hits.getIntIterator();
+            while (it.hasNext()) {
+                int ord = it.next();
+                TransactionType type = types[ord] >= 0 ? TYPES[types[ord]] : null;
+                if (type == TransactionType.EXPENSE) {
+                    addAmount(expense, ord);
+                } else if (type == TransactionType.INCOME) {
+                    addAmount(income, ord);
+                }
+            }
+            if (!hits.isEmpty() || tagIds != null) {
+                totals.add(new TagTotal(tagId, hits.getCardinality(), expense.total(), income.total()));
+            }
+        });
+        return totals;
+    }
+
+    public int liveCount() {
+        return live.getCardinality();
+    }
+
+    public long sizeInBytes() {
+        long bytes = live.getLongSizeInBytes() + confirmed.getLongSizeInBytes();
+        for (RoaringBitmap b : byTag.values()) bytes += b.getLongSizeInBytes();
+        for (RoaringBitmap b : byMonth.values()) bytes += b.getLongSizeInBytes();
+        // arrays por ordinal
+        return bytes + (long) ids.length * (8 + 4 + 1 + 8);
+    }
+
+    private RoaringBitmap evaluate(TagExpression expr) {
+        return switch (expr) {
+            case TagExpression.Tag t -> RoaringBitmap.and(live, byTag.getOrDefault(t.tagId(), new RoaringBitmap()));
+            case TagExpression.And a -> RoaringBitmap.and(evaluate(a.left()), evaluate(a.right()));
+            case TagExpression.Or o -> RoaringBitmap.or(evaluate(o.left()), evaluate(o.right()));
+            case TagExpression.Not n -> RoaringBitmap.andNot(live, evaluate(n.operand()));
+        };
+    }
+
+    // OR de los meses que tocan el período; en los meses de los bordes se filtra por día
+    private RoaringBitmap inPeriod(LocalDate from, LocalDate to) {
+        int fromDay = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+        int fromMonth = from != null ? monthKey(from) : Integer.MIN_VALUE;
+        int toMonth = to != null ? monthKey(to) : Integer.MAX_VALUE;
+
+        RoaringBitmap result = new RoaringBitmap();
+        for (Map.Entry<Integer, RoaringBitmap> e : byMonth.entrySet()) {
+            int month = e.getKey();
+            if (month < fromMonth || month > toMonth) {
+                continue;
+            }
+            if (month > fromMonth && month < toMonth) {
+                result.or(e.getValue());
+                continue;
+            }
+            IntIterator it = e.getValue().getIntIterator();
+            while (it.hasNext()) {
+                int ord = it.next();
+                if (epochDays[ord] >= fromDay && epochDays[ord] <= toDay) {
+                    result.add(ord);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int monthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.expensetracker.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Expresión sobre tag ids: "12 AND (7 OR 9) AND NOT 3".
+ * Precedencia: NOT > AND > OR; paréntesis para agrupar. Operadores sin distinguir mayúsculas.
+ */
+public sealed interface TagExpression {
+
+    record Tag(long tagId) implements TagExpression { }
+
+    record And(TagExpression left, TagExpression right) implements TagExpression { }
+
+    record Or(TagExpression left, TagExpression right) implements TagExpression { }
+
+    record Not(TagExpression operand) implements TagExpression { }
+
+    static TagExpression parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("tag expression is required");
+        }
+        Parser parser = new Parser(tokenize(text));
+        TagExpression expr = parser.or();
+        if (parser.pos < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected token in tag expression: " + parser.tokens.get(parser.pos));
+        }
+        return expr;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                int start = i;
+                while (i < text.length() && !Character.isWhitespace(text.charAt(i))
+                        && text.charAt(i) != '(' && text.charAt(i) != ')') {
+                    i++;
+                }
+                tokens.add(text.substring(start, i).toUpperCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+
+    // descenso recursivo: or := and (OR and)* ; and := not (AND not)* ; not := NOT not | atom
+    final class Parser {
+        private final List<String> tokens;
+        private int pos;
+
+        private Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        private TagExpression or() {
+            TagExpression left = and();
+            while (accept("OR")) {
+                left = new Or(left, and());
+            }
+            return left;
+        }
+
+        private TagExpression and() {
+            TagExpression left = not();
+            while (accept("AND")) {
+                left = new And(left, not());
+            }
+            return left;
+        }
+
+        private TagExpression not() {
+            if (accept("NOT")) {
+                return new Not(not());
+            }
+            return atom();
+        }
+
+        private TagExpression atom() {
+            if (pos >= tokens.size()) {
+                throw new IllegalArgumentException("Unexpected end of tag expression");
+            }
+            if (accept("(")) {
+                TagExpression inner = or();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("Missing ')' in tag expression");
+                }
+                return inner;
+            }
+            String token = tokens.get(pos++);
+            try {
+                return new Tag(Long.parseLong(token));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid tag id in tag expression: " + token);
+            }
+        }
+
+        private boolean accept(String token) {
+            if (pos < tokens.size() && tokens.get(pos).equals(token)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
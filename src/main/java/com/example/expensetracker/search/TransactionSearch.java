@@ -0,0 +1,125 @@
+package com.example.expensetracker.search;
+
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.TransactionRepository.TransactionRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Búsqueda de texto sobre las descripciones de las transacciones (ver TransactionSearchIndex).
+ *
+ * - Se reconstruye desde la BD al arrancar (search.rebuild-on-startup).
+ * - Después se mantiene con los eventos de TransactionService / import, AFTER_COMMIT: se relee
+ *   la fila y se hace upsert (o remove si quedó CANCELED), así el índice nunca ve datos sin commitear.
+ */
+@Component
+public class TransactionSearch {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSearch.class);
+
+    private final TransactionSearchIndex index = new TransactionSearchIndex();
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rebuildOnStartup;
+
+    public TransactionSearch(TransactionRepository transactionRepository,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${search.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    public List<TransactionSearchIndex.Hit> search(Long ownerId, String query, TransactionSearchIndex.Filter filter, int limit) {
+        return index.search(ownerId, query, filter, limit);
+    }
+
+    /**
+     * Ids que matchean la búsqueda (sin filtros), o null si son más de max: le sirve al planner
+     * de TransactionQueryService para decidir si conviene arrancar por estos ids.
+     */
+    public Set<Long> matchingIds(Long ownerId, String query, int max) {
+        List<TransactionSearchIndex.Hit> hits = index.search(ownerId, query, TransactionSearchIndex.Filter.NONE, max + 1);
+        if (hits.size() > max) {
+            return null;
+        }
+        Set<Long> ids = new HashSet<>();
+        hits.forEach(h -> ids.add(h.transactionId()));
+        return ids;
+    }
+
+    // ---------------------------------------------------------
+    //  REBUILD
+    // ---------------------------------------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    public long rebuild() {
+        long start = System.nanoTime();
+        index.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TransactionRow> rows = transactionRepository.streamForSearchIndex(TransactionState.CANCELED)) {
+                rows.forEach(this::apply);
+            }
+        });
+        long docs = index.documentCount();
+        log.info("Transaction search index rebuilt: {} transactions in {} ms",
+                docs, (System.nanoTime() - start) / 1_000_000);
+        return docs;
+    }
+
+    // ---------------------------------------------------------
+    //  MANTENIMIENTO INCREMENTAL (después del commit)
+    // ---------------------------------------------------------
+
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        List<TransactionRow> rows = transactionRepository.findRowsByIds(List.of(event.transactionId()));
+        if (rows.isEmpty()) {
+            index.remove(event.ownerId(), event.transactionId());
+        } else {
+            rows.forEach(this::apply);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTransactionsImported(TransactionsImportedEvent event) {
+        if (!event.transactionIds().isEmpty()) {
+            transactionRepository.findRowsByIds(event.transactionIds()).forEach(this::apply);
+        }
+    }
+
+    private void apply(TransactionRow row) {
+        if (row.getState() == TransactionState.CANCELED) {
+            index.remove(row.getOwnerId(), row.getId());
+            return;
+        }
+        index.upsert(new TransactionSearchIndex.Document(
+                row.getId(),
+                row.getOwnerId(),
+                row.getDescription(),
+                row.getOperationDate(),
+                row.getSourceAccountId(),
+                row.getDestinationAccountId()
+        ));
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.expensetracker.search;
+
+import com.example.expensetracker.text.SearchTerms;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre Transaction.description, uno por owner.
+ *
+ * - Términos: los de SearchTerms (minúsculas, sin acentos, partido en letras/dígitos).
+ * - Cada término de la búsqueda matchea por prefijo ("ub" encuentra "uber"); todos tienen que matchear.
+ * - Ranking tipo tf-idf: términos raros pesan más, un match exacto pesa más que uno por prefijo.
+ *   Empate => más reciente primero (operationDate desc, id desc).
+ *
+ * Escrituras con upsert/remove por id (idempotentes); lecturas concurrentes por owner.
+ */
+public class TransactionSearchIndex {
+
+    // peso de un término que solo matchea por prefijo respecto de uno exacto
+    private static final double PREFIX_WEIGHT = 0.6;
+
+    public record Document(
+            Long transactionId,
+            Long ownerId,
+            String description,
+            LocalDate operationDate,
+            Long sourceAccountId,
+            Long destinationAccountId
+    ) { }
+
+    // filtros opcionales (null = sin filtro)
+    public record Filter(LocalDate from, LocalDate to, Long accountId) {
+        public static final Filter NONE = new Filter(null, null, null);
+
+        boolean matches(Document d) {
+            if (from != null && (d.operationDate() == null || d.operationDate().isBefore(from))) return false;
+            if (to != null && (d.operationDate() == null || d.operationDate().isAfter(to))) return false;
+            return accountId == null
+                    || accountId.equals(d.sourceAccountId())
+                    || accountId.equals(d.destinationAccountId());
+        }
+    }
+
+    public record Hit(Long transactionId, double score) { }
+
+    private final Map<Long, OwnerIndex> owners = new ConcurrentHashMap<>();
+
+    public void upsert(Document doc) {
+        owners.computeIfAbsent(doc.ownerId(), id -> new OwnerIndex()).upsert(doc);
+    }
+
+    public void remove(Long ownerId, Long transactionId) {
+        OwnerIndex index = owners.get(ownerId);
+        if (index != null) {
+            index.remove(transactionId);
+        }
+    }
+
+    public List<Hit> search(Long ownerId, String query, Filter filter, int limit) {
+        List<String> terms = SearchTerms.tokenize(query);
+        OwnerIndex index = owners.get(ownerId);
+        if (terms.isEmpty() || index == null || limit <= 0) {
+            return List.of();
+        }
+        return index.search(terms, filter != null ? filter : Filter.NONE, limit);
+    }
+
+    public void clear() {
+        owners.clear();
+    }
+
+    public long documentCount() {
+        return owners.values().stream().mapToLong(OwnerIndex::size).sum();
+    }
+
+    // ---------------------------------------------------------
+    //  ÍNDICE DE UN OWNER
+    // ---------------------------------------------------------
+
+    private static final class OwnerIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // término -> (transactionId -> frecuencia en la descripción)
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<Long, List<String>> termsByDocument = new HashMap<>();
+
+        void upsert(Document doc) {
+            Map<String, Integer> tf = new LinkedHashMap<>();
+            for (String term : SearchTerms.tokenize(doc.description())) {
+                tf.merge(term, 1, Integer::sum);
+            }
+
+            lock.writeLock().lock();
+            try {
+                removeLocked(doc.transactionId());
+                documents.put(doc.transactionId(), doc);
+                termsByDocument.put(doc.transactionId(), List.copyOf(tf.keySet()));
+                tf.forEach((term, count) ->
+                        postings.computeIfAbsent(term, t -> new HashMap<>()).put(doc.transactionId(), count));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long transactionId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(transactionId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(Long transactionId) {
+            documents.remove(transactionId);
+            List<String> terms = termsByDocument.remove(transactionId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs != null) {
+                    docs.remove(transactionId);
+                    if (docs.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return documents.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Hit> search(List<String> queryTerms, Filter filter, int limit) {
+            lock.readLock().lock();
+            try {
+                int n = documents.size();
+                Map<Long, Double> scores = null;
+
+                for (String q : queryTerms) {
+                    // score de este término de la búsqueda por documento (el mejor término que matchee)
+                    Map<Long, Double> termScores = new HashMap<>();
+                    for (Map.Entry<String, Map<Long, Integer>> e : postings.subMap(q, true, q + Character.MAX_VALUE, false).entrySet()) {
+                        Map<Long, Integer> docs = e.getValue();
+                        double idf = Math.log(1.0 + (double) n / docs.size());
+                        double weight = e.getKey().equals(q) ? 1.0 : PREFIX_WEIGHT;
+                        for (Map.Entry<Long, Integer> d : docs.entrySet()) {
+                            // AND: solo siguen los documentos que matchearon todos los términos anteriores
+                            if (scores != null && !scores.containsKey(d.getKey())) {
+                                continue;
+                            }
+                            double s = weight * idf * (1.0 + Math.log(d.getValue()));
+                            termScores.merge(d.getKey(), s, Math::max);
+                        }
+                    }
+
+                    if (scores == null) {
+                        scores = termScores;
+                    } else {
+                        Map<Long, Double> previous = scores;
+                        termScores.replaceAll((id, s) -> s + previous.get(id));
+                        scores = termScores;
+                    }
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+
+                Comparator<Map.Entry<Long, Double>> byRank = Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(e -> documents.get(e.getKey()).operationDate(),
+                                Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+
+                return scores.entrySet().stream()
+                        .filter(e -> filter.matches(documents.get(e.getKey())))
+                        .sorted(byRank)
+                        .limit(limit)
+                        .map(e -> new Hit(e.getKey(), e.getValue()))
+                        .toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
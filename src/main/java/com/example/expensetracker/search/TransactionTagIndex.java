@@ -0,0 +1,164 @@
+package com.example.expensetracker.search;
+
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.TransactionRepository.TransactionRow;
+import com.example.expensetracker.repository.TransactionRepository.TransactionTagRow;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Índices de bitmaps por tag (TagBitmapIndex), uno por owner.
+ *
+ * - Se cargan a demanda desde la BD en la primera consulta del owner (la consulta tiene que
+ *   correr dentro de una transacción: la carga lee con streams).
+ * - Memoria acotada: a lo sumo tags.bitmap.max-owners owners cargados (LRU).
+ * - Mantenimiento AFTER_COMMIT con los eventos de TransactionService / import: se releen las
+ *   filas y sus tags (incluye cambios de tags en update). Un owner no cargado se ignora.
+ * - Carrera carga/escritura: si llega un evento del owner mientras se carga, el índice cargado
+ *   se usa para esa consulta pero no se guarda (versión por owner, como ExpiringCache).
+ */
+@Component
+public class TransactionTagIndex {
+
+    private final TransactionRepository transactionRepository;
+    private final int maxOwners;
+
+    private final LinkedHashMap<Long, TagBitmapIndex> owners;
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public TransactionTagIndex(TransactionRepository transactionRepository,
+                               @Value("${tags.bitmap.max-owners:1000}") int maxOwners) {
+        if (maxOwners <= 0) throw new IllegalArgumentException("maxOwners must be positive");
+        this.transactionRepository = transactionRepository;
+        this.maxOwners = maxOwners;
+        // access-order => el eldest es el owner consultado hace más tiempo
+        this.owners = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /** Corre fn sobre el índice del owner (cargándolo si hace falta), con el índice bloqueado. */
+    public <T> T read(Long ownerId, Function<TagBitmapIndex, T> fn) {
+        TagBitmapIndex index = loaded(ownerId);
+        if (index == null) {
+            index = load(ownerId);
+        }
+        synchronized (index) {
+            return fn.apply(index);
+        }
+    }
+
+    /**
+     * Ids con alguno de los tags en [from, to], o null si son más de max (ver matchingIds de
+     * TransactionSearch).
+     */
+    public Set<Long> idsWithAnyTag(Long ownerId, Collection<Long> tagIds, LocalDate from, LocalDate to, int max) {
+        TagExpression expr = null;
+        for (Long tagId : tagIds) {
+            TagExpression tag = new TagExpression.Tag(tagId);
+            expr = expr == null ? tag : new TagExpression.Or(expr, tag);
+        }
+        TagExpression any = expr;
+        return read(ownerId, index -> {
+            RoaringBitmap matched = index.match(any, from, to);
+            return matched.getCardinality() > max ? null : index.transactionIds(matched);
+        });
+    }
+
+    public synchronized int loadedOwners() {
+        return owners.size();
+    }
+
+    // ---------------------------------------------------------
+    //  CARGA
+    // ---------------------------------------------------------
+
+    private synchronized TagBitmapIndex loaded(Long ownerId) {
+        return owners.get(ownerId);
+    }
+
+    private TagBitmapIndex load(Long ownerId) {
+        long version = versions.getOrDefault(ownerId, 0L);
+
+        Map<Long, List<Long>> tagsByTx = new HashMap<>();
+        try (Stream<TransactionTagRow> tags = transactionRepository.streamTagIdsByOwner(ownerId)) {
+            tags.forEach(r -> tagsByTx.computeIfAbsent(r.getTransactionId(), k -> new ArrayList<>(2)).add(r.getTagId()));
+        }
+
+        TagBitmapIndex index = new TagBitmapIndex();
+        try (Stream<TransactionRow> rows = transactionRepository.streamRowsByOwner(ownerId, TransactionState.CANCELED)) {
+            rows.forEach(r -> apply(index, r, tagsByTx.getOrDefault(r.getId(), List.of())));
+        }
+        index.optimize();
+
+        synchronized (this) {
+            TagBitmapIndex concurrent = owners.get(ownerId);
+            if (concurrent != null) {
+                return concurrent;
+            }
+            if (versions.getOrDefault(ownerId, 0L) == version) {
+                owners.put(ownerId, index);
+                if (owners.size() > maxOwners) {
+                    Long eldest = owners.keySet().iterator().next();
+                    owners.remove(eldest);
+                }
+            }
+        }
+        return index;
+    }
+
+    // ---------------------------------------------------------
+    //  MANTENIMIENTO INCREMENTAL (después del commit)
+    // ---------------------------------------------------------
+
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        refresh(event.ownerId(), List.of(event.transactionId()));
+    }
+
+    @TransactionalEventListener
+    public void onTransactionsImported(TransactionsImportedEvent event) {
+        refresh(event.ownerId(), event.transactionIds());
+    }
+
+    private void refresh(Long ownerId, Collection<Long> transactionIds) {
+        versions.merge(ownerId, 1L, Long::sum);
+
+        TagBitmapIndex index = loaded(ownerId);
+        if (index == null || transactionIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> tagsByTx = new HashMap<>();
+        for (TransactionTagRow r : transactionRepository.findTagIdsByTransactionIds(transactionIds)) {
+            tagsByTx.computeIfAbsent(r.getTransactionId(), k -> new ArrayList<>(2)).add(r.getTagId());
+        }
+        List<TransactionRow> rows = transactionRepository.findRowsByIds(transactionIds);
+
+        synchronized (index) {
+            for (Long id : transactionIds) {
+                index.remove(id);
+            }
+            rows.forEach(r -> apply(index, r, tagsByTx.getOrDefault(r.getId(), List.of())));
+        }
+    }
+
+    private static void apply(TagBitmapIndex index, TransactionRow r, List<Long> tagIds) {
+        index.upsert(r.getId(), r.getOperationDate(), r.getAmount(), r.getType(), r.getState(), tagIds);
+    }
+}
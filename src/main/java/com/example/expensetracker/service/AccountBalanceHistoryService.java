@@ -0,0 +1,196 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.account.AccountBalanceAsOfResponse;
+import com.example.expensetracker.dto.account.AccountBalanceSeriesResponse;
+import com.example.expensetracker.dto.account.BalancePointResponse;
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.event.BalanceCheckpointMissingEvent;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.AccountBalanceCheckpoint;
+import com.example.expensetracker.repository.AccountBalanceCheckpointRepository;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Saldo histórico de una cuenta ("¿cuánto tenía el día D?").
+ *
+ * Arranca del checkpoint mensual más cercano y suma solo el delta hasta D.
+ *
+ * - La consulta no escribe ni bloquea: si el mes de D todavía no tiene checkpoint, publica
+ *   BalanceCheckpointMissingEvent y responde con el anterior + delta.
+ * - Después del commit de la lectura el checkpoint se materializa en una transacción propia,
+ *   bajo el lock de la cuenta (ver BalanceCheckpointLedger), para que las próximas consultas
+ *   de ese mes solo escaneen días del propio mes.
+ */
+@Service
+@Transactional
+public class AccountBalanceHistoryService {
+
+    private static final long MAX_SERIES_DAYS = 3660;
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+    private final TransactionRepository transactionRepository;
+    private final BalanceCheckpointLedger checkpointLedger;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AccountBalanceHistoryService(AccountRepository accountRepository,
+                                        AccountBalanceCheckpointRepository checkpointRepository,
+                                        TransactionRepository transactionRepository,
+                                        BalanceCheckpointLedger checkpointLedger,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.accountRepository = accountRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionRepository = transactionRepository;
+        this.checkpointLedger = checkpointLedger;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public AccountBalanceAsOfResponse getBalanceAsOf(Long accountId, LocalDate date) {
+
+        if (date == null) {
+            throw new IllegalArgumentException("date is required");
+        }
+
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+
+        return new AccountBalanceAsOfResponse(
+                account.getId(),
+                account.getOwner().getId(),
+                account.getCurrency() != null ? account.getCurrency().getCode() : null,
+                date,
+                balanceAtEndOf(account, date)
+        );
+    }
+
+    // Serie diaria de saldos: saldo de apertura una sola vez (checkpoint + delta) y después
+    // una pasada en orden sobre el neto por día del rango, sin cargar entidades.
+    @Transactional(readOnly = true)
+    public AccountBalanceSeriesResponse getBalanceSeries(Long accountId, LocalDate from, LocalDate to) {
+
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must be <= to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SERIES_DAYS) {
+            throw new IllegalArgumentException("range cannot exceed " + MAX_SERIES_DAYS + " days");
+        }
+
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+
+        BigDecimal opening = balanceAtEndOf(account, from.minusDays(1));
+
+        List<BalancePointResponse> points = new ArrayList<>((int) ChronoUnit.DAYS.between(from, to) + 1);
+        BigDecimal running = opening;
+
+        try (Stream<TransactionRepository.DailyNetFlowRow> rows = transactionRepository.streamDailyNetFlowForAccount(
+                accountId, TransactionState.CONFIRMED, from, to)) {
+
+            Iterator<TransactionRepository.DailyNetFlowRow> it = rows.iterator();
+            TransactionRepository.DailyNetFlowRow next = it.hasNext() ? it.next() : null;
+
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                if (next != null && next.getOperationDate().equals(day)) {
+                    running = running.add(next.getNetFlow());
+                    next = it.hasNext() ? it.next() : null;
+                }
+                points.add(new BalancePointResponse(day, running));
+            }
+        }
+
+        return new AccountBalanceSeriesResponse(
+                account.getId(),
+                account.getOwner().getId(),
+                account.getCurrency() != null ? account.getCurrency().getCode() : null,
+                from,
+                to,
+                opening,
+                points
+        );
+    }
+
+    // saldo al cierre del día "date" (incluye las transacciones de ese día)
+    public BigDecimal balanceAtEndOf(Account account, LocalDate date) {
+
+        // un checkpoint del día siguiente (fin de mes) ya es el saldo buscado
+        LocalDate nextDay = date.plusDays(1);
+        Optional<AccountBalanceCheckpoint> nearest = findNearest(account.getId(), nextDay);
+
+        LocalDate monthStart = YearMonth.from(date).atDay(1);
+        if (nearest.isEmpty() || nearest.get().getCheckpointDate().isBefore(monthStart)) {
+            eventPublisher.publishEvent(new BalanceCheckpointMissingEvent(account.getId(), monthStart));
+        }
+        return balanceAtStartOf(account, nearest.orElse(null), nextDay);
+    }
+
+    // después del commit de la consulta que no lo encontró; la lectura ya respondió sin él
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCheckpointMissing(BalanceCheckpointMissingEvent event) {
+        accountRepository.findById(event.accountId())
+                .ifPresent(account -> materialize(account, event.checkpointDate()));
+    }
+
+    // bajo lock de la cuenta, como las escrituras que invalidan checkpoints
+    private void materialize(Account account, LocalDate monthStart) {
+
+        accountRepository.lockByIds(List.of(account.getId()));
+        Optional<AccountBalanceCheckpoint> nearest = findNearest(account.getId(), monthStart);
+        if (nearest.isPresent() && nearest.get().getCheckpointDate().equals(monthStart)) {
+            return;
+        }
+
+        checkpointRepository.save(AccountBalanceCheckpoint.builder()
+                .account(account)
+                .checkpointDate(monthStart)
+                .balance(balanceAtStartOf(account, nearest.orElse(null), monthStart))
+                .build());
+        // antes del commit: una escritura que espera este lock ya encuentra el checkpoint
+        checkpointLedger.checkpointMaterialized(account.getId(), monthStart);
+    }
+
+    // saldo al inicio de "day" (sin sus transacciones), desde el checkpoint más cercano <= day
+    // (null = la cuenta no tiene checkpoints anteriores: desde el saldo inicial)
+    private BigDecimal balanceAtStartOf(Account account, AccountBalanceCheckpoint checkpoint, LocalDate day) {
+
+        if (checkpoint != null) {
+            if (checkpoint.getCheckpointDate().equals(day)) {
+                return checkpoint.getBalance();
+            }
+            return checkpoint.getBalance().add(transactionRepository.sumNetFlowForAccountBetween(
+                    account.getId(), TransactionState.CONFIRMED, checkpoint.getCheckpointDate(), day.minusDays(1)
+            ));
+        }
+
+        BigDecimal initial = account.getInitialBalance() != null ? account.getInitialBalance() : BigDecimal.ZERO;
+        return initial.add(transactionRepository.sumNetFlowForAccountBefore(
+                account.getId(), TransactionState.CONFIRMED, day
+        ));
+    }
+
+    private Optional<AccountBalanceCheckpoint> findNearest(Long accountId, LocalDate date) {
+        return checkpointRepository.findFirstByAccount_IdAndCheckpointDateLessThanEqualOrderByCheckpointDateDesc(
+                accountId, date
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.money.Money;
+import com.example.expensetracker.money.MoneySum;
+import com.example.expensetracker.repository.AccountRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mantiene Account.currentBalance al día con cada escritura de TransactionService.
+ * Corre dentro de la misma transacción de BD que la escritura (MANDATORY).
+ *
+ * Regla: una transacción CONFIRMED resta su monto de la cuenta origen y lo suma
+ * a la cuenta destino (EXPENSE solo tiene origen, INCOME solo destino, TRANSFER ambas).
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class AccountBalanceLedger {
+
+    private final AccountRepository accountRepository;
+
+    public AccountBalanceLedger(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    // la transacción pasó a CONFIRMED (alta o confirm)
+    public void applyConfirmed(Transaction tx) {
+        if (tx.getState() == TransactionState.CONFIRMED) {
+            post(tx, tx.getAmount());
+        }
+    }
+
+    // una transacción que estaba CONFIRMED deja de contar (cancel)
+    public void revertConfirmed(Transaction tx) {
+        post(tx, tx.getAmount().negate());
+    }
+
+    // altas masivas CONFIRMED (import / batch): un update por cuenta en vez de uno por transacción.
+    // Suma en la escala de la columna (Money.STORAGE_DIGITS), no en la de la moneda de la cuenta
+    public void applyAllConfirmed(Collection<Transaction> txs) {
+        Map<Long, MoneySum> deltas = new HashMap<>();
+        for (Transaction tx : txs) {
+            if (tx.getState() != TransactionState.CONFIRMED) {
+                continue;
+            }
+            if (tx.getSourceAccount() != null) {
+                deltas.computeIfAbsent(tx.getSourceAccount().getId(), id -> new MoneySum(Money.STORAGE_DIGITS))
+                        .subtract(tx.getAmount());
+            }
+            if (tx.getDestinationAccount() != null) {
+                deltas.computeIfAbsent(tx.getDestinationAccount().getId(), id -> new MoneySum(Money.STORAGE_DIGITS))
+                        .add(tx.getAmount());
+            }
+        }
+        deltas.forEach((accountId, delta) -> accountRepository.applyBalanceDelta(accountId, delta.total()));
+    }
+
+    private void post(Transaction tx, BigDecimal signedAmount) {
+        if (tx.getSourceAccount() != null) {
+            accountRepository.applyBalanceDelta(tx.getSourceAccount().getId(), signedAmount.negate());
+        }
+        if (tx.getDestinationAccount() != null) {
+            accountRepository.applyBalanceDelta(tx.getDestinationAccount().getId(), signedAmount);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.account.BalanceDriftResponse;
+import com.example.expensetracker.dto.account.BalanceVerificationResponse;
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.event.AccountChangedEvent;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifica el ledger de saldos (Account.currentBalance) contra un recalculo desde cero
+ * y, si se pide, reconstruye las cuentas con diferencias.
+ */
+@Service
+@Transactional
+public class AccountBalanceVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountBalanceVerifier.class);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AccountBalanceVerifier(AccountRepository accountRepository,
+                                  TransactionRepository transactionRepository,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BalanceVerificationResponse verify(boolean repair) {
+
+        // dos GROUP BY sobre toda la tabla, no 4 queries por cuenta
+        Map<Long, BigDecimal> outflows = toMap(transactionRepository.sumOutflowByAccount(TransactionState.CONFIRMED));
+        Map<Long, BigDecimal> inflows = toMap(transactionRepository.sumInflowByAccount(TransactionState.CONFIRMED));
+
+        List<Account> accounts = accountRepository.findAll();
+        List<BalanceDriftResponse> drifts = new ArrayList<>();
+
+        for (Account a : accounts) {
+            BigDecimal initial = a.getInitialBalance() != null ? a.getInitialBalance() : BigDecimal.ZERO;
+            BigDecimal expected = initial
+                    .add(inflows.getOrDefault(a.getId(), BigDecimal.ZERO))
+                    .subtract(outflows.getOrDefault(a.getId(), BigDecimal.ZERO));
+
+            BigDecimal stored = a.getCurrentBalance();
+            if (stored != null && stored.compareTo(expected) == 0) {
+                continue;
+            }
+
+            drifts.add(new BalanceDriftResponse(
+                    a.getId(),
+                    a.getOwner().getId(),
+                    stored,
+                    expected,
+                    stored != null ? stored.subtract(expected) : null
+            ));
+
+            if (repair) {
+                // se recalcula en la BD (no se escribe "expected") por si hubo escrituras mientras tanto
+                accountRepository.rebuildBalance(a.getId(), TransactionState.CONFIRMED);
+                eventPublisher.publishEvent(new AccountChangedEvent(a.getOwner().getId(), a.getId()));
+            }
+        }
+
+        return new BalanceVerificationResponse(accounts.size(), drifts.size(), repair, drifts);
+    }
+
+    // job nocturno: verifica y repara, dejando registro del drift encontrado
+    @Scheduled(cron = "${ledger.balance-verify.cron:0 0 3 * * *}")
+    public void scheduledRebuild() {
+        BalanceVerificationResponse report = verify(true);
+        if (report.getDriftedAccounts() > 0) {
+            log.warn("Balance ledger drift: {} of {} accounts rebuilt: {}",
+                    report.getDriftedAccounts(), report.getCheckedAccounts(), report.getDrifts());
+        } else {
+            log.info("Balance ledger verified: {} accounts, no drift", report.getCheckedAccounts());
+        }
+    }
+
+    private Map<Long, BigDecimal> toMap(List<TransactionRepository.AccountTotalRow> rows) {
+        Map<Long, BigDecimal> map = new HashMap<>();
+        for (TransactionRepository.AccountTotalRow row : rows) {
+            map.put(row.getAccountId(), row.getTotal());
+        }
+        return map;
+    }
+}
@@ -6,7 +6,10 @@ import com.example.expensetracker.dto.account.AccountResponse;
 import com.example.expensetracker.dto.account.AccountBalanceResponse;
 import com.example.expensetracker.dto.account.AccountSummaryResponse;
 import com.example.expensetracker.dto.account.AccountDetailResponse;
+import com.example.expensetracker.dto.account.NetWorthAccountResponse;
+import com.example.expensetracker.dto.account.NetWorthResponse;
 import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.event.AccountChangedEvent;
 
 import com.example.expensetracker.model.Account;
 import com.example.expensetracker.model.Currency;
@@ -16,15 +19,17 @@ import com.example.expensetracker.repository.CurrencyRepository;
 import com.example.expensetracker.repository.UserRepository;
 import com.example.expensetracker.repository.TransactionRepository;
 import com.example.expensetracker.enums.TransactionState;
-import com.example.expensetracker.enums.TransactionType;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -35,17 +40,23 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final TransactionService transactionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrencyRates currencyRates;
 
     public AccountService(UserRepository userRepository,
                           CurrencyRepository currencyRepository,
                           AccountRepository accountRepository,
                           TransactionRepository transactionRepository,
-                          TransactionService transactionService) {
+                          TransactionService transactionService,
+                          ApplicationEventPublisher eventPublisher,
+                          CurrencyRates currencyRates) {
         this.userRepository = userRepository;
         this.currencyRepository = currencyRepository;
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
         this.transactionService = transactionService;
+        this.eventPublisher = eventPublisher;
+        this.currencyRates = currencyRates;
     }
 
     public AccountResponse create(AccountCreateRequest req) {
@@ -93,6 +104,7 @@ public class AccountService {
                 .build();
 
         Account saved = accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountChangedEvent(owner.getId(), saved.getId()));
 
         return toResponse(saved);
     }
@@ -118,42 +130,38 @@ public class AccountService {
         );
     }
 
+    // Saldo actual: lectura por PK del ledger (Account.currentBalance),
+    // sin importar cuántas transacciones tenga la cuenta.
     public BigDecimal calculateCurrentBalance(Long accountId) {
 
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
 
-        BigDecimal initial = account.getInitialBalance() != null ? account.getInitialBalance() : BigDecimal.ZERO;
-
-        BigDecimal expensesOut = transactionRepository.sumByTypeAndStateAndSourceAccount(
-                TransactionType.EXPENSE,
-                TransactionState.CONFIRMED,
-                accountId
-        );
-
-        BigDecimal incomesIn = transactionRepository.sumByTypeAndStateAndDestinationAccount(
-                TransactionType.INCOME,
-                TransactionState.CONFIRMED,
-                accountId
-        );
-
-        BigDecimal transfersOut = transactionRepository.sumByTypeAndStateAndSourceAccount(
-                TransactionType.TRANSFER,
-                TransactionState.CONFIRMED,
-                accountId
-        );
+        return currentBalanceOf(account);
+    }
 
-        BigDecimal transfersIn = transactionRepository.sumByTypeAndStateAndDestinationAccount(
-                TransactionType.TRANSFER,
-                TransactionState.CONFIRMED,
-                accountId
-        );
+    private BigDecimal currentBalanceOf(Account account) {
+        if (account.getCurrentBalance() != null) {
+            return account.getCurrentBalance();
+        }
+        // filas anteriores al ledger: recalculo completo hasta que corra el rebuild
+        return recomputeBalances(account.getOwner().getId())
+                .getOrDefault(account.getId(), BigDecimal.ZERO);
+    }
 
-        return initial
-                .add(incomesIn)
-                .add(transfersIn)
-                .subtract(expensesOut)
-                .subtract(transfersOut);
+    // Recalculo desde cero de todas las cuentas del owner (fuente de verdad del ledger):
+    // un único GROUP BY, sin importar cuántas cuentas tenga.
+    private Map<Long, BigDecimal> recomputeBalances(Long ownerId) {
+
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        for (TransactionRepository.AccountFlowRow row
+                : transactionRepository.sumFlowsByOwnerGroupedByAccount(ownerId, TransactionState.CONFIRMED)) {
+            balances.put(
+                    row.getAccountId(),
+                    row.getInitialBalance().add(row.getInflow()).subtract(row.getOutflow())
+            );
+        }
+        return balances;
     }
 
     public AccountBalanceResponse getBalance(Long accountId) {
@@ -161,14 +169,12 @@ public class AccountService {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
 
-        BigDecimal balance = calculateCurrentBalance(accountId);
-
         return new AccountBalanceResponse(
                 account.getId(),
                 account.getOwner().getId(),
                 account.getName(),
                 account.getCurrency() != null ? account.getCurrency().getCode() : null,
-                balance
+                currentBalanceOf(account)
         );
     }
 
@@ -177,20 +183,57 @@ public class AccountService {
         User owner = userRepository.findById(ownerId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + ownerId));
 
-        return accountRepository.findByOwner(owner).stream()
+        List<Account> accounts = accountRepository.findByOwner(owner).stream()
                 .filter(a -> activeOnly == null || !activeOnly || Boolean.TRUE.equals(a.getActive()))
+                .toList();
+
+        // cantidad de queries constante: el saldo sale del ledger y, si alguna cuenta
+        // todavía no lo tiene, un único GROUP BY resuelve todas las del owner
+        Map<Long, BigDecimal> recomputed = accounts.stream().anyMatch(a -> a.getCurrentBalance() == null)
+                ? recomputeBalances(owner.getId())
+                : Map.of();
+
+        return accounts.stream()
                 .map(a -> new AccountSummaryResponse(
                         a.getId(),
                         owner.getId(),
                         a.getName(),
                         a.getType(),
                         a.getCurrency() != null ? a.getCurrency().getCode() : null,
-                        calculateCurrentBalance(a.getId()),
+                        a.getCurrentBalance() != null
+                                ? a.getCurrentBalance()
+                                : recomputed.getOrDefault(a.getId(), BigDecimal.ZERO),
                         a.getActive()
                 ))
                 .toList();
     }
 
+    // Patrimonio neto: saldos de las cuentas activas convertidos a una sola moneda.
+    // Los saldos salen igual que en el listado; la conversión usa la foto de CurrencyRates
+    // (sin queries) y el total es la suma de los saldos ya redondeados a los decimales destino.
+    @Transactional(readOnly = true)
+    public NetWorthResponse getNetWorth(Long ownerId, String currencyCode) {
+
+        CurrencyRates.Rate target = currencyRates.rate(
+                currencyCode != null && !currencyCode.isBlank() ? currencyCode : null);
+
+        List<NetWorthAccountResponse> accounts = listByOwnerWithBalance(ownerId, true).stream()
+                .map(a -> new NetWorthAccountResponse(
+                        a.getId(),
+                        a.getName(),
+                        a.getCurrencyCode(),
+                        a.getCurrentBalance(),
+                        currencyRates.convert(a.getCurrentBalance(), currencyRates.rate(a.getCurrencyCode()), target)
+                ))
+                .toList();
+
+        BigDecimal total = accounts.stream()
+                .map(NetWorthAccountResponse::getConvertedBalance)
+                .reduce(BigDecimal.ZERO.setScale(target.decimalDigits()), BigDecimal::add);
+
+        return new NetWorthResponse(ownerId, target.code(), total, accounts);
+    }
+
 
     //UPDATE ACCOUNT
     public AccountResponse update(Long accountId, AccountUpdateRequest req) {
@@ -234,6 +277,7 @@ public class AccountService {
         }
 
         Account saved = accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountChangedEvent(saved.getOwner().getId(), saved.getId()));
         return toResponse(saved);
     }
 
@@ -251,7 +295,7 @@ public class AccountService {
                 account.getName(),
                 account.getType(),
                 account.getCurrency() != null ? account.getCurrency().getCode() : null,
-                calculateCurrentBalance(account.getId()),
+                currentBalanceOf(account),
                 account.getActive()
         );
 
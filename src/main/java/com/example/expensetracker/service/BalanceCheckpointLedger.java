@@ -0,0 +1,110 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.repository.AccountBalanceCheckpointRepository;
+import com.example.expensetracker.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Invalida los checkpoints de saldo afectados por una escritura de TransactionService
+ * (alta, cancel, confirm o cambio de fecha). Se recalculan a demanda en
+ * AccountBalanceHistoryService.
+ *
+ * - El lock de fila de la cuenta ordena escrituras y materializaciones: o el checkpoint ve la
+ *   escritura ya commiteada, o la invalidación ve el checkpoint. Las escrituras que mueven saldo
+ *   ya lo tienen (AccountBalanceLedger hizo el UPDATE de la fila antes) y usan invalidateFrom;
+ *   las que no (cambio de fecha) lo piden con lockAndInvalidateFrom.
+ * - latest guarda, por cuenta, la fecha del checkpoint más nuevo que puede existir. Se sube al
+ *   materializar (antes del commit, bajo el lock) y no se baja: si no hay ninguno posterior a
+ *   la fecha de la escritura, no hay nada que borrar y no se hace ni el lock ni el delete.
+ * - Memoria acotada: a lo sumo balances.checkpoints.max-accounts cuentas en latest (LRU). Una
+ *   cuenta descartada se relee de la BD; como todo acceso a una cuenta (invalidar o
+ *   materializar) corre con el lock de su fila, esa lectura ve cualquier checkpoint commiteado.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class BalanceCheckpointLedger {
+
+    // cuenta sin checkpoints
+    private static final LocalDate NONE = LocalDate.MIN;
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+    private final int maxAccounts;
+    // accountId -> fecha del checkpoint más nuevo (cota superior); se carga de la BD la primera vez.
+    // access-order => el eldest es la cuenta escrita hace más tiempo
+    private final LinkedHashMap<Long, LocalDate> latest = new LinkedHashMap<>(16, 0.75f, true);
+
+    public BalanceCheckpointLedger(AccountRepository accountRepository,
+                                   AccountBalanceCheckpointRepository checkpointRepository,
+                                   @Value("${balances.checkpoints.max-accounts:100000}") int maxAccounts) {
+        if (maxAccounts <= 0) throw new IllegalArgumentException("maxAccounts must be positive");
+        this.accountRepository = accountRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.maxAccounts = maxAccounts;
+    }
+
+    // el caller ya tiene el lock de fila de las cuentas (actualizó su saldo en esta transacción)
+    public void invalidateFrom(Set<Long> accountIds, LocalDate operationDate) {
+        Set<Long> affected = withCheckpointsAfter(accountIds, operationDate);
+        if (!affected.isEmpty()) {
+            checkpointRepository.deleteAfter(affected, operationDate);
+        }
+    }
+
+    // escrituras que no tocan el saldo (p. ej. mover la fecha): el lock lo toma el ledger
+    public void lockAndInvalidateFrom(Set<Long> accountIds, LocalDate operationDate) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        accountRepository.lockByIds(accountIds);
+        invalidateFrom(accountIds, operationDate);
+    }
+
+    // AccountBalanceHistoryService, con el lock de la cuenta tomado y antes de commitear el checkpoint
+    public void checkpointMaterialized(Long accountId, LocalDate checkpointDate) {
+        latestOf(accountId);
+        remember(accountId, checkpointDate);
+    }
+
+    synchronized int trackedAccounts() {
+        return latest.size();
+    }
+
+    private Set<Long> withCheckpointsAfter(Set<Long> accountIds, LocalDate date) {
+        return accountIds.stream()
+                .filter(id -> latestOf(id).isAfter(date))
+                .collect(Collectors.toSet());
+    }
+
+    // el caller tiene el lock de la cuenta: nadie más lee ni escribe su entrada a la vez
+    private LocalDate latestOf(Long accountId) {
+        LocalDate known = known(accountId);
+        if (known != null) {
+            return known;
+        }
+        LocalDate stored = checkpointRepository.findLatestCheckpointDate(accountId);
+        return remember(accountId, stored != null ? stored : NONE);
+    }
+
+    private synchronized LocalDate known(Long accountId) {
+        return latest.get(accountId);
+    }
+
+    // se queda con la más nueva: la fecha solo sube mientras la cuenta está en memoria
+    private synchronized LocalDate remember(Long accountId, LocalDate date) {
+        LocalDate merged = latest.merge(accountId, date, (a, b) -> a.isAfter(b) ? a : b);
+        if (latest.size() > maxAccounts) {
+            Long eldest = latest.keySet().iterator().next();
+            latest.remove(eldest);
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.budget.BudgetEvaluationResponse;
+import com.example.expensetracker.dto.budget.BudgetEvaluationResultResponse;
+import com.example.expensetracker.enums.EvaluationStatus;
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.model.BudgetEvaluationChunk;
+import com.example.expensetracker.model.BudgetEvaluationResult;
+import com.example.expensetracker.model.BudgetEvaluationRun;
+import com.example.expensetracker.repository.BudgetEvaluationChunkRepository;
+import com.example.expensetracker.repository.BudgetEvaluationResultRepository;
+import com.example.expensetracker.repository.BudgetEvaluationRunRepository;
+import com.example.expensetracker.repository.CategoryBudgetRepository;
+import com.example.expensetracker.repository.CategoryBudgetRepository.EvaluationBudgetRow;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.TransactionRepository.OwnerCategoryTotalRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Cierre de mes de presupuestos: evalúa todos los CategoryBudget de un período contra lo gastado
+ * (EXPENSE CONFIRMED) y guarda un reporte por presupuesto.
+ *
+ * - Los owners con presupuesto en el período se parten en chunks de ids contiguos
+ *   (budgets.evaluation.chunk-size). Por chunk: una query de presupuestos y UNA query agrupada
+ *   por (owner, categoría) sobre transactions, sin importar cuántos owners tenga.
+ * - Los chunks corren en paralelo en un pool acotado de virtual threads
+ *   (budgets.evaluation.parallelism, por debajo del pool de conexiones).
+ * - Cada chunk es una transacción: resultados + chunk hecho + progreso de la corrida. Si la corrida
+ *   se corta (error, reinicio), resume procesa solo los chunks que faltan, sin duplicar filas.
+ * - El período se parsea una vez (BudgetPeriod) al crear la corrida; de ahí salen el rango de
+ *   fechas y el string que se compara en la BD.
+ */
+@Service
+public class BudgetEvaluationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetEvaluationJob.class);
+
+    private record OwnerCategory(Long ownerId, Long categoryId) { }
+
+    private final CategoryBudgetRepository budgetRepository;
+    private final TransactionRepository transactionRepository;
+    private final BudgetEvaluationRunRepository runRepository;
+    private final BudgetEvaluationChunkRepository chunkRepository;
+    private final BudgetEvaluationResultRepository resultRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    // corridas en curso en esta JVM (resume no lanza dos veces la misma)
+    private final Set<Long> active = ConcurrentHashMap.newKeySet();
+
+    public BudgetEvaluationJob(CategoryBudgetRepository budgetRepository,
+                               TransactionRepository transactionRepository,
+                               BudgetEvaluationRunRepository runRepository,
+                               BudgetEvaluationChunkRepository chunkRepository,
+                               BudgetEvaluationResultRepository resultRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${budgets.evaluation.chunk-size:500}") int chunkSize,
+                               @Value("${budgets.evaluation.parallelism:4}") int parallelism) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be positive");
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be positive");
+        this.budgetRepository = budgetRepository;
+        this.transactionRepository = transactionRepository;
+        this.runRepository = runRepository;
+        this.chunkRepository = chunkRepository;
+        this.resultRepository = resultRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    // ---------------------------------------------------------
+    //  API
+    // ---------------------------------------------------------
+
+    // arranca en background; el progreso se consulta con status()
+    public BudgetEvaluationResponse start(String period) {
+        Long runId = createRun(BudgetPeriod.parse(period));
+        launch(runId);
+        return status(runId);
+    }
+
+    public BudgetEvaluationResponse resume(Long runId) {
+        BudgetEvaluationRun run = findRun(runId);
+        if (run.getStatus() != EvaluationStatus.COMPLETED && !active.contains(runId)) {
+            transactionTemplate.executeWithoutResult(s -> {
+                BudgetEvaluationRun r = findRun(runId);
+                r.setStatus(EvaluationStatus.RUNNING);
+                r.setFinishedAt(null);
+            });
+            launch(runId);
+        }
+        return status(runId);
+    }
+
+    public BudgetEvaluationResponse status(Long runId) {
+        BudgetEvaluationRun r = findRun(runId);
+        return new BudgetEvaluationResponse(r.getId(), r.getPeriod(), r.getStatus(), r.getChunkCount(),
+                r.getChunksDone(), r.getBudgetsEvaluated(), r.getOverBudget(), r.getStartedAt(), r.getFinishedAt());
+    }
+
+    public List<BudgetEvaluationResultResponse> results(Long runId, Long ownerId, boolean overOnly) {
+        if (ownerId == null) {
+            throw new IllegalArgumentException("ownerId is required");
+        }
+        findRun(runId);
+        return resultRepository.findByRunAndOwner(runId, ownerId, overOnly).stream()
+                .map(r -> new BudgetEvaluationResultResponse(r.getBudgetId(), r.getCategoryId(), r.getLimitAmount(),
+                        r.getSpent(), r.getLimitAmount().subtract(r.getSpent()), r.isOverBudget()))
+                .toList();
+    }
+
+    // el día 1 de cada mes se cierra el mes anterior
+    @Scheduled(cron = "${budgets.evaluation.cron:0 30 0 1 * *}")
+    public void scheduledMonthClose() {
+        start(YearMonth.now().minusMonths(1).toString());
+    }
+
+    // ---------------------------------------------------------
+    //  CORRIDA
+    // ---------------------------------------------------------
+
+    private Long createRun(int periodKey) {
+        String period = BudgetPeriod.format(periodKey);
+        return transactionTemplate.execute(status -> {
+            List<Long> ownerIds = budgetRepository.findOwnerIdsWithBudgets(periodKey);
+            int chunkCount = (ownerIds.size() + chunkSize - 1) / chunkSize;
+
+            BudgetEvaluationRun run = runRepository.save(BudgetEvaluationRun.builder()
+                    .period(period)
+                    .status(EvaluationStatus.RUNNING)
+                    .chunkCount(chunkCount)
+                    .startedAt(LocalDateTime.now())
+                    .build());
+
+            List<BudgetEvaluationChunk> chunks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                int from = i * chunkSize;
+                int to = Math.min(from + chunkSize, ownerIds.size()) - 1;
+                chunks.add(BudgetEvaluationChunk.builder()
+                        .run(run)
+                        .chunkIndex(i)
+                        .firstOwnerId(ownerIds.get(from))
+                        .lastOwnerId(ownerIds.get(to))
+                        .build());
+            }
+            chunkRepository.saveAll(chunks);
+
+            log.info("Budget evaluation {} created for {}: {} owners in {} chunks",
+                    run.getId(), period, ownerIds.size(), chunkCount);
+            return run.getId();
+        });
+    }
+
+    private void launch(Long runId) {
+        if (!active.add(runId)) {
+            return;
+        }
+        Thread.ofVirtual().name("budget-eval-" + runId).start(() -> {
+            try {
+                run(runId);
+            } finally {
+                active.remove(runId);
+            }
+        });
+    }
+
+    // procesa los chunks pendientes y espera a que terminen (package-private para los tests)
+    void run(Long runId) {
+        BudgetEvaluationRun run = findRun(runId);
+        int periodKey = BudgetPeriod.parse(run.getPeriod());
+        List<BudgetEvaluationChunk> pending = chunkRepository.findByRun_IdAndDoneFalseOrderByChunkIndex(runId);
+
+        long start = System.nanoTime();
+        boolean failed = false;
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(parallelism,
+                Thread.ofVirtual().name("budget-eval-" + runId + "-", 0).factory())) {
+
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            for (BudgetEvaluationChunk chunk : pending) {
+                futures.add(pool.submit(() -> evaluateChunk(runId, chunk, periodKey)));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    // el chunk queda pendiente para el resume; los demás siguen
+                    failed = true;
+                    log.error("Budget evaluation {}: chunk failed", runId, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        }
+
+        boolean ok = !failed;
+        BudgetEvaluationRun finished = transactionTemplate.execute(s -> {
+            BudgetEvaluationRun r = findRun(runId);
+            r.setStatus(ok ? EvaluationStatus.COMPLETED : EvaluationStatus.FAILED);
+            r.setFinishedAt(LocalDateTime.now());
+            return r;
+        });
+
+        log.info("Budget evaluation {} {} for {}: {}/{} chunks, {} budgets, {} over budget in {} ms",
+                runId, finished.getStatus(), finished.getPeriod(), finished.getChunksDone(), finished.getChunkCount(),
+                finished.getBudgetsEvaluated(), finished.getOverBudget(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void evaluateChunk(Long runId, BudgetEvaluationChunk chunk, int periodKey) {
+        transactionTemplate.executeWithoutResult(status -> {
+
+            // primero se "toma" el chunk: si otra corrida ya lo terminó, no se escribe nada
+            if (chunkRepository.markDone(chunk.getId()) == 0) {
+                return;
+            }
+
+            LocalDate from = BudgetPeriod.firstDay(periodKey);
+            LocalDate to = BudgetPeriod.lastDay(periodKey);
+
+            List<EvaluationBudgetRow> budgets = budgetRepository.findForEvaluation(
+                    chunk.getFirstOwnerId(), chunk.getLastOwnerId(), periodKey);
+
+            Map<OwnerCategory, BigDecimal> spent = new HashMap<>();
+            for (OwnerCategoryTotalRow row : transactionRepository.sumByOwnerRangeAndCategoryInPeriod(
+                    chunk.getFirstOwnerId(), chunk.getLastOwnerId(),
+                    TransactionType.EXPENSE, TransactionState.CONFIRMED, from, to)) {
+                spent.put(new OwnerCategory(row.getOwnerId(), row.getCategoryId()), row.getTotal());
+            }
+
+            BudgetEvaluationRun run = runRepository.getReferenceById(runId);
+            List<BudgetEvaluationResult> results = new ArrayList<>(budgets.size());
+            long over = 0;
+            for (EvaluationBudgetRow b : budgets) {
+                BigDecimal total = spent.getOrDefault(new OwnerCategory(b.getOwnerId(), b.getCategoryId()), BigDecimal.ZERO);
+                boolean overBudget = total.compareTo(b.getLimitAmount()) > 0;
+                if (overBudget) {
+                    over++;
+                }
+                results.add(BudgetEvaluationResult.builder()
+                        .run(run)
+                        .budgetId(b.getId())
+                        .ownerId(b.getOwnerId())
+                        .categoryId(b.getCategoryId())
+                        .limitAmount(b.getLimitAmount())
+                        .spent(total)
+                        .overBudget(overBudget)
+                        .build());
+            }
+            resultRepository.saveAll(results);
+            runRepository.addChunkProgress(runId, results.size(), over);
+
+            log.debug("Budget evaluation {}: chunk {} done ({} budgets)", runId, chunk.getChunkIndex(), results.size());
+        });
+    }
+
+    private BudgetEvaluationRun findRun(Long runId) {
+        return runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Budget evaluation not found: " + runId));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.expensetracker.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Período "yyyy-MM" de CategoryBudget / MonthlyTotal como entero compacto: year * 12 + (month - 1).
+ * Se parsea una vez y después se compara / indexa como int.
+ */
+public final class BudgetPeriod {
+
+    private BudgetPeriod() {
+    }
+
+    public static int parse(String period) {
+        if (period == null || period.isBlank()) {
+            throw new IllegalArgumentException("period is required");
+        }
+        try {
+            return of(YearMonth.parse(period.trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("period must be like 2025-11");
+        }
+    }
+
+    public static int of(YearMonth ym) {
+        return ym.getYear() * 12 + ym.getMonthValue() - 1;
+    }
+
+    public static YearMonth toYearMonth(int key) {
+        return YearMonth.of(Math.floorDiv(key, 12), Math.floorMod(key, 12) + 1);
+    }
+
+    public static String format(int key) {
+        return toYearMonth(key).toString();
+    }
+
+    public static LocalDate firstDay(int key) {
+        return toYearMonth(key).atDay(1);
+    }
+
+    public static LocalDate lastDay(int key) {
+        return toYearMonth(key).atEndOfMonth();
+    }
+}
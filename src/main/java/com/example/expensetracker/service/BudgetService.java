@@ -0,0 +1,147 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.budget.BudgetCreateRequest;
+import com.example.expensetracker.dto.budget.BudgetResponse;
+import com.example.expensetracker.dto.budget.BudgetUpdateRequest;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.BudgetChangedEvent;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.CategoryBudget;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.CategoryBudgetRepository;
+import com.example.expensetracker.repository.CategoryBudgetRepository.BudgetRow;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+// Presupuestos por categoría y mes. Lo gastado no se guarda acá: es el bucket EXPENSE del
+// rollup mensual (MonthlyRollupLedger), que TransactionService mantiene en cada escritura.
+@Service
+@Transactional
+public class BudgetService {
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryBudgetRepository budgetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BudgetService(UserRepository userRepository,
+                         CategoryRepository categoryRepository,
+                         CategoryBudgetRepository budgetRepository,
+                         ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.budgetRepository = budgetRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BudgetResponse create(BudgetCreateRequest req) {
+
+        if (req.getOwnerId() == null) {
+            throw new IllegalArgumentException("ownerId is required");
+        }
+        if (req.getCategoryId() == null) {
+            throw new IllegalArgumentException("categoryId is required");
+        }
+        int periodKey = BudgetPeriod.parse(req.getPeriod());
+        validateLimit(req.getLimitAmount());
+
+        User owner = userRepository.findById(req.getOwnerId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + req.getOwnerId()));
+        Category category = categoryRepository.findById(req.getCategoryId())
+                .orElseThrow(() -> new IllegalArgumentException("Category not found: " + req.getCategoryId()));
+        if (category.getOwner() == null || !category.getOwner().getId().equals(owner.getId())) {
+            throw new IllegalArgumentException("Category does not belong to user");
+        }
+
+        if (budgetRepository.existsByOwner_IdAndCategory_IdAndPeriodKey(owner.getId(), category.getId(), periodKey)) {
+            throw new IllegalArgumentException("Budget for that category and period already exists");
+        }
+
+        CategoryBudget saved = budgetRepository.save(CategoryBudget.builder()
+                .owner(owner)
+                .category(category)
+                .period(BudgetPeriod.format(periodKey))
+                .periodKey(periodKey)
+                .limitAmount(req.getLimitAmount())
+                .build());
+        eventPublisher.publishEvent(new BudgetChangedEvent(owner.getId(), saved.getId()));
+
+        return get(saved.getId());
+    }
+
+    // period opcional ("yyyy-MM"): sin period, todos los presupuestos del owner
+    @Transactional(readOnly = true)
+    public List<BudgetResponse> listByOwner(Long ownerId, String period) {
+
+        userRepository.findById(ownerId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + ownerId));
+
+        Integer periodKey = (period == null || period.isBlank()) ? null : BudgetPeriod.parse(period);
+        return budgetRepository.findRowsByOwner(ownerId, periodKey, TransactionType.EXPENSE)
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public BudgetResponse get(Long budgetId) {
+        return budgetRepository.findRowById(budgetId, TransactionType.EXPENSE)
+                .map(this::toResponse)
+                .orElseThrow(() -> new IllegalArgumentException("Budget not found: " + budgetId));
+    }
+
+    public BudgetResponse update(Long budgetId, BudgetUpdateRequest req) {
+
+        CategoryBudget budget = budgetRepository.findById(budgetId)
+                .orElseThrow(() -> new IllegalArgumentException("Budget not found: " + budgetId));
+
+        // limitAmount
+        if (req.getLimitAmount() != null) {
+            validateLimit(req.getLimitAmount());
+            budget.setLimitAmount(req.getLimitAmount());
+        }
+
+        CategoryBudget saved = budgetRepository.saveAndFlush(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(saved.getOwner().getId(), saved.getId()));
+
+        return get(saved.getId());
+    }
+
+    public void delete(Long budgetId) {
+
+        CategoryBudget budget = budgetRepository.findById(budgetId)
+                .orElseThrow(() -> new IllegalArgumentException("Budget not found: " + budgetId));
+
+        budgetRepository.delete(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(budget.getOwner().getId(), budgetId));
+    }
+
+    private BudgetResponse toResponse(BudgetRow row) {
+        BigDecimal spent = row.getSpent() != null ? row.getSpent() : BigDecimal.ZERO;
+        int usedPercent = spent.multiply(BigDecimal.valueOf(100))
+                .divide(row.getLimitAmount(), 0, RoundingMode.DOWN)
+                .intValue();
+        return new BudgetResponse(
+                row.getId(),
+                row.getCategoryId(),
+                row.getPeriod(),
+                row.getLimitAmount(),
+                spent,
+                row.getLimitAmount().subtract(spent),
+                usedPercent
+        );
+    }
+
+    private void validateLimit(BigDecimal limitAmount) {
+        if (limitAmount == null || limitAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("limitAmount must be > 0");
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.BudgetChangedEvent;
+import com.example.expensetracker.event.BudgetThresholdCrossedEvent;
+import com.example.expensetracker.event.MonthlyTotalChangedEvent;
+import com.example.expensetracker.repository.CategoryBudgetRepository;
+import com.example.expensetracker.repository.CategoryBudgetRepository.BudgetRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gastado por presupuesto en memoria, para detectar cruces de umbral (budgets.alert-thresholds)
+ * sin agregar queries a la escritura de gastos.
+ *
+ * - Se carga al arrancar (presupuestos + su bucket EXPENSE de monthly_totals, una query).
+ * - Después suma los deltas de MonthlyTotalChangedEvent AFTER_COMMIT (el rollup ya cubre alta,
+ *   cancel, confirm, edición de fecha/categoría, batch e import). Un mes/categoría sin
+ *   presupuesto es un lookup en un map y nada más.
+ * - Un alta/edición/baja de presupuesto relee solo esa fila.
+ *
+ * Lo que devuelve la API sale de la BD (BudgetService); esto solo decide cuándo avisar.
+ */
+@Component
+public class BudgetTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetTracker.class);
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private record Key(Long ownerId, Long categoryId, String period) { }
+
+    private static final class State {
+        private final Long budgetId;
+        private final Key key;
+        private final BigDecimal limitAmount;
+        private BigDecimal spent;
+
+        private State(BudgetRow row) {
+            this.budgetId = row.getId();
+            this.key = new Key(row.getOwnerId(), row.getCategoryId(), row.getPeriod());
+            this.limitAmount = row.getLimitAmount();
+            this.spent = row.getSpent() != null ? row.getSpent() : BigDecimal.ZERO;
+        }
+    }
+
+    private final CategoryBudgetRepository budgetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int[] thresholds;
+
+    private final Map<Long, State> byId = new ConcurrentHashMap<>();
+    private final Map<Key, State> byKey = new ConcurrentHashMap<>();
+
+    public BudgetTracker(CategoryBudgetRepository budgetRepository,
+                         TransactionTemplate transactionTemplate,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${budgets.alert-thresholds:80,100}") int[] thresholds) {
+        this.budgetRepository = budgetRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.thresholds = Arrays.stream(thresholds).filter(t -> t > 0).sorted().distinct().toArray();
+    }
+
+    // ---------------------------------------------------------
+    //  CARGA
+    // ---------------------------------------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        List<BudgetRow> rows = transactionTemplate.execute(status -> budgetRepository.findAllRows(TransactionType.EXPENSE));
+        rows.forEach(this::put);
+        log.info("Budget tracker loaded: {} budgets", rows.size());
+    }
+
+    public int trackedBudgets() {
+        return byId.size();
+    }
+
+    // ---------------------------------------------------------
+    //  MANTENIMIENTO INCREMENTAL (después del commit)
+    // ---------------------------------------------------------
+
+    @TransactionalEventListener
+    public void onMonthlyTotalChanged(MonthlyTotalChangedEvent event) {
+        if (event.type() != TransactionType.EXPENSE) {
+            return;
+        }
+        State state = byKey.get(new Key(event.ownerId(), event.categoryId(), event.period()));
+        if (state == null) {
+            return;
+        }
+
+        List<BudgetThresholdCrossedEvent> crossed;
+        synchronized (state) {
+            BigDecimal before = state.spent;
+            state.spent = before.add(event.delta());
+            crossed = crossings(state, level(before, state.limitAmount), level(state.spent, state.limitAmount));
+        }
+        crossed.forEach(this::publish);
+    }
+
+    @TransactionalEventListener
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        State previous = byId.remove(event.budgetId());
+        if (previous != null) {
+            byKey.remove(previous.key, previous);
+        }
+
+        Optional<BudgetRow> row = budgetRepository.findRowById(event.budgetId(), TransactionType.EXPENSE);
+        if (row.isEmpty()) {
+            return;
+        }
+        State state = put(row.get());
+
+        // bajar el límite también puede dejar lo gastado por encima de un umbral
+        if (previous != null) {
+            crossings(state, level(previous.spent, previous.limitAmount), level(state.spent, state.limitAmount))
+                    .forEach(this::publish);
+        }
+    }
+
+    private State put(BudgetRow row) {
+        State state = new State(row);
+        byId.put(state.budgetId, state);
+        byKey.put(state.key, state);
+        return state;
+    }
+
+    // ---------------------------------------------------------
+    //  UMBRALES
+    // ---------------------------------------------------------
+
+    // cuántos umbrales (de menor a mayor) alcanza spent
+    private int level(BigDecimal spent, BigDecimal limitAmount) {
+        BigDecimal percent = spent.multiply(HUNDRED);
+        int level = 0;
+        for (int threshold : thresholds) {
+            if (percent.compareTo(limitAmount.multiply(BigDecimal.valueOf(threshold))) < 0) {
+                break;
+            }
+            level++;
+        }
+        return level;
+    }
+
+    private List<BudgetThresholdCrossedEvent> crossings(State state, int before, int after) {
+        List<BudgetThresholdCrossedEvent> events = new ArrayList<>();
+        for (int i = before; i < after; i++) {
+            events.add(new BudgetThresholdCrossedEvent(state.budgetId, state.key.ownerId(), state.key.categoryId(),
+                    state.key.period(), thresholds[i], state.spent, state.limitAmount));
+        }
+        return events;
+    }
+
+    private void publish(BudgetThresholdCrossedEvent event) {
+        log.info("Budget {} (owner {}, category {}, {}) reached {}%: spent {} of {}",
+                event.budgetId(), event.ownerId(), event.categoryId(), event.period(),
+                event.thresholdPercent(), event.spent(), event.limitAmount());
+        eventPublisher.publishEvent(event);
+    }
+}
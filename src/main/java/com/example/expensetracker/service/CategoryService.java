@@ -3,10 +3,12 @@ package com.example.expensetracker.service;
 import com.example.expensetracker.dto.category.CategoryCreateRequest;
 import com.example.expensetracker.dto.category.CategoryUpdateRequest;
 import com.example.expensetracker.dto.category.CategoryResponse;
+import com.example.expensetracker.event.CategoryChangedEvent;
 import com.example.expensetracker.model.Category;
 import com.example.expensetracker.model.User;
 import com.example.expensetracker.repository.CategoryRepository;
 import com.example.expensetracker.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,11 +20,14 @@ public class CategoryService {
 
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CategoryService(UserRepository userRepository,
-                           CategoryRepository categoryRepository) {
+                           CategoryRepository categoryRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public CategoryResponse create(CategoryCreateRequest req) {
@@ -51,6 +56,7 @@ public class CategoryService {
                 .build();
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(owner.getId(), saved.getId()));
 
         return toResponse(saved);
     }
@@ -116,6 +122,7 @@ public class CategoryService {
         }
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getOwner().getId(), saved.getId()));
         return toResponse(saved);
     }
 }
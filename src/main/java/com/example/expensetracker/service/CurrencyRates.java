@@ -0,0 +1,86 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.event.CurrencyChangedEvent;
+import com.example.expensetracker.model.Currency;
+import com.example.expensetracker.repository.CurrencyRepository;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Foto inmutable de la tabla currencies para convertir montos sin tocar la BD.
+ *
+ * - Los lectores solo leen la referencia volatile: sin locks ni queries en la conversión.
+ * - Cada cambio de moneda (CurrencyChangedEvent, después del commit) arma una foto nueva
+ *   y la reemplaza de una vez; nadie ve una tabla a medio actualizar.
+ * - Una moneda desconocida (ej. insertada sin pasar por CurrencyService) fuerza una recarga.
+ */
+@Component
+public class CurrencyRates {
+
+    // moneda de las cuentas sin currency (misma default que AccountService.create)
+    public static final String DEFAULT_CURRENCY = "ARS";
+
+    public record Rate(String code, int decimalDigits, BigDecimal toBase) { }
+
+    private final CurrencyRepository currencyRepository;
+
+    private volatile Map<String, Rate> snapshot;
+
+    public CurrencyRates(CurrencyRepository currencyRepository) {
+        this.currencyRepository = currencyRepository;
+    }
+
+    public Rate rate(String code) {
+        String c = code != null ? code : DEFAULT_CURRENCY;
+        Map<String, Rate> rates = snapshot;
+        Rate rate = rates != null ? rates.get(c) : null;
+        if (rate == null) {
+            rate = reload().get(c);
+            if (rate == null) {
+                throw new IllegalArgumentException("No exchange rate for currency: " + c);
+            }
+        }
+        return rate;
+    }
+
+    // monto en 'from' -> monto en 'to', redondeado a los decimales de 'to'
+    public BigDecimal convert(BigDecimal amount, String from, String to) {
+        return convert(amount, rate(from), rate(to));
+    }
+
+    public BigDecimal convert(BigDecimal amount, Rate from, Rate to) {
+        if (from.code().equals(to.code())) {
+            return amount.setScale(to.decimalDigits(), RoundingMode.HALF_EVEN);
+        }
+        return amount.multiply(from.toBase())
+                .divide(to.toBase(), to.decimalDigits(), RoundingMode.HALF_EVEN);
+    }
+
+    // antes de que DashboardCaches invalide: lo que se recalcule después ya usa la foto nueva
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        reload();
+    }
+
+    // serializado: la última recarga lee después del último commit y es la que queda
+    synchronized Map<String, Rate> reload() {
+        Map<String, Rate> rates = new HashMap<>();
+        for (Currency c : currencyRepository.findAll()) {
+            BigDecimal toBase = c.getExchangeRateToBase();
+            if (toBase != null && toBase.signum() > 0) {
+                rates.put(c.getCode(), new Rate(c.getCode(), c.getDecimalDigits(), toBase));
+            }
+        }
+        Map<String, Rate> fresh = Map.copyOf(rates);
+        snapshot = fresh;
+        return fresh;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.currency.CurrencyRateUpdateRequest;
+import com.example.expensetracker.dto.currency.CurrencyResponse;
+import com.example.expensetracker.event.CurrencyChangedEvent;
+import com.example.expensetracker.model.Currency;
+import com.example.expensetracker.repository.CurrencyRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Service
+@Transactional
+public class CurrencyService {
+
+    private final CurrencyRepository currencyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CurrencyService(CurrencyRepository currencyRepository,
+                           ApplicationEventPublisher eventPublisher) {
+        this.currencyRepository = currencyRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CurrencyResponse> list() {
+        return currencyRepository.findAll()
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    // cambio del tipo de cambio: CurrencyRates reemplaza su foto después del commit
+    public CurrencyResponse updateExchangeRate(String code, CurrencyRateUpdateRequest req) {
+
+        BigDecimal rate = req.getExchangeRateToBase();
+        if (rate == null || rate.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("exchangeRateToBase must be > 0");
+        }
+
+        Currency currency = currencyRepository.findById(code)
+                .orElseThrow(() -> new IllegalArgumentException("Currency not found: " + code));
+
+        currency.updateExchangeRateToBase(rate);
+        Currency saved = currencyRepository.saveAndFlush(currency);
+        eventPublisher.publishEvent(new CurrencyChangedEvent(saved.getCode()));
+
+        return toResponse(saved);
+    }
+
+    private CurrencyResponse toResponse(Currency c) {
+        return new CurrencyResponse(
+                c.getCode(),
+                c.getName(),
+                c.getSymbol(),
+                c.getDecimalDigits(),
+                c.getExchangeRateToBase()
+        );
+    }
+}
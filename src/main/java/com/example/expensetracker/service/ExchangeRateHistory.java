@@ -0,0 +1,152 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.event.ExchangeRatesImportedEvent;
+import com.example.expensetracker.repository.ExchangeRateRepository;
+import com.example.expensetracker.repository.ExchangeRateRepository.RatePointRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Historia de tipos de cambio en memoria: por moneda, un array ordenado de días (epoch day)
+ * y otro paralelo con la tasa vigente desde ese día. Buscar la tasa de una fecha es una
+ * búsqueda binaria, sin queries ni locks.
+ *
+ * - Las series son inmutables; una recarga arma un mapa nuevo y lo reemplaza de una vez.
+ * - Se carga al arrancar y se recarga (solo las monedas tocadas) después de cada import.
+ * - Fecha anterior a la primera tasa conocida => tasa actual de la moneda (CurrencyRates).
+ */
+@Component
+public class ExchangeRateHistory {
+
+    private static final Logger log = LoggerFactory.getLogger(ExchangeRateHistory.class);
+
+    static final class Series {
+        private final int[] days;
+        private final BigDecimal[] rates;
+
+        Series(int[] days, BigDecimal[] rates) {
+            this.days = days;
+            this.rates = rates;
+        }
+
+        // tasa vigente el día dado (última fila con fecha <= día); null si es anterior a todas
+        BigDecimal rateOn(int epochDay) {
+            int i = Arrays.binarySearch(days, epochDay);
+            if (i < 0) {
+                i = -i - 2;   // punto de inserción - 1 = fila anterior
+            }
+            return i >= 0 ? rates[i] : null;
+        }
+
+        int size() {
+            return days.length;
+        }
+    }
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final CurrencyRates currencyRates;
+
+    private volatile Map<String, Series> series = Map.of();
+
+    public ExchangeRateHistory(ExchangeRateRepository exchangeRateRepository, CurrencyRates currencyRates) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.currencyRates = currencyRates;
+    }
+
+    // ---------------------------------------------------------
+    //  CONSULTA
+    // ---------------------------------------------------------
+
+    public BigDecimal rateOn(String currencyCode, LocalDate date) {
+        String code = currencyCode != null ? currencyCode : CurrencyRates.DEFAULT_CURRENCY;
+        Series s = series.get(code);
+        BigDecimal rate = s != null ? s.rateOn((int) date.toEpochDay()) : null;
+        return rate != null ? rate : currencyRates.rate(code).toBase();
+    }
+
+    // monto en 'from' -> monto en 'to' con las tasas de esa fecha; sin redondear a los
+    // decimales de destino (el que acumula redondea una sola vez al final)
+    public BigDecimal convert(BigDecimal amount, String from, String to, LocalDate date) {
+        String f = from != null ? from : CurrencyRates.DEFAULT_CURRENCY;
+        if (f.equals(to)) {
+            return amount;
+        }
+        return amount.multiply(rateOn(f, date))
+                .divide(rateOn(to, date), MathContext.DECIMAL64);
+    }
+
+    public int pointCount(String currencyCode) {
+        Series s = series.get(currencyCode);
+        return s != null ? s.size() : 0;
+    }
+
+    // ---------------------------------------------------------
+    //  CARGA
+    // ---------------------------------------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        long start = System.nanoTime();
+        Map<String, Series> all = new HashMap<>();
+        int points = group(exchangeRateRepository.findAllPoints(), all);
+        synchronized (this) {
+            series = Map.copyOf(all);
+        }
+        log.info("Exchange rate history loaded: {} rates for {} currencies in {} ms",
+                points, all.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // antes de que DashboardCaches invalide (igual que CurrencyRates)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatesImported(ExchangeRatesImportedEvent event) {
+        reload(event.currencyCodes());
+    }
+
+    // serializado: cada recarga parte del mapa que dejó la anterior
+    synchronized void reload(Collection<String> codes) {
+        if (codes.isEmpty()) {
+            return;
+        }
+        Map<String, Series> next = new HashMap<>(series);
+        codes.forEach(next::remove);
+        group(exchangeRateRepository.findPointsByCurrencies(codes), next);
+        series = Map.copyOf(next);
+    }
+
+    // filas ordenadas por (moneda, fecha) => una Series por moneda
+    private int group(List<RatePointRow> rows, Map<String, Series> target) {
+        int from = 0;
+        while (from < rows.size()) {
+            String code = rows.get(from).getCurrencyCode();
+            int to = from;
+            while (to < rows.size() && rows.get(to).getCurrencyCode().equals(code)) {
+                to++;
+            }
+            int[] days = new int[to - from];
+            BigDecimal[] rates = new BigDecimal[to - from];
+            for (int i = from; i < to; i++) {
+                days[i - from] = (int) rows.get(i).getRateDate().toEpochDay();
+                rates[i - from] = rows.get(i).getRate();
+            }
+            target.put(code, new Series(days, rates));
+            from = to;
+        }
+        return rows.size();
+    }
+}
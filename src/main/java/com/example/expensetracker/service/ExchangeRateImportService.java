@@ -0,0 +1,255 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.currency.ExchangeRateImportResponse;
+import com.example.expensetracker.dto.transaction.ImportRowError;
+import com.example.expensetracker.event.ExchangeRatesImportedEvent;
+import com.example.expensetracker.model.Currency;
+import com.example.expensetracker.model.ExchangeRate;
+import com.example.expensetracker.repository.CurrencyRepository;
+import com.example.expensetracker.repository.ExchangeRateRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Carga masiva de tipos de cambio históricos desde CSV:
+ *
+ *   currency,date,rate
+ *   USD,2025-01-02,1035.50
+ *
+ * - En streaming y por chunks (import.chunk-size filas por transacción), igual que el
+ *   import de transacciones.
+ * - Upsert por (moneda, fecha): una fila existente se actualiza, el resto se inserta en batch.
+ *   Si el archivo repite (moneda, fecha), gana la última fila; las anteriores se cuentan como
+ *   overwrittenRows (totalRows = imported + failed + overwritten).
+ * - Un solo ExchangeRatesImportedEvent al final, con las monedas de los chunks commiteados:
+ *   ExchangeRateHistory recarga cada moneda una vez por import, no una vez por chunk.
+ */
+@Service
+public class ExchangeRateImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final List<String> CSV_COLUMNS = List.of("currency", "date", "rate");
+
+    private record Key(String code, LocalDate date) { }
+
+    private record PendingRow(long rowNumber, Key key, BigDecimal rate) { }
+
+    private final CurrencyRepository currencyRepository;
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ExchangeRateImportService(CurrencyRepository currencyRepository,
+                                     ExchangeRateRepository exchangeRateRepository,
+                                     EntityManager entityManager,
+                                     TransactionTemplate transactionTemplate,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${import.chunk-size:1000}") int chunkSize) {
+        this.currencyRepository = currencyRepository;
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    // estado de un import en curso
+    private static class ImportRun {
+        List<PendingRow> pending = new ArrayList<>();
+        final Map<String, Boolean> currencies = new HashMap<>();
+        final Set<String> importedCodes = new HashSet<>();
+
+        long totalRows;
+        long importedRows;
+        long failedRows;
+        long overwrittenRows;
+        final List<ImportRowError> errors = new ArrayList<>();
+
+        void fail(long rowNumber, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(rowNumber, message));
+            }
+        }
+    }
+
+    public ExchangeRateImportResponse importCsv(InputStream in) throws IOException {
+
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        String[] header = headerLine.replace("\uFEFF", "").split(",");
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim(), i);
+        }
+        for (String required : CSV_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header must contain column '" + required + "'");
+            }
+        }
+
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.totalRows++;
+            try {
+                run.pending.add(parse(lineNumber, line.split(","), columns));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                run.fail(lineNumber, e.getMessage());
+                continue;
+            }
+            if (run.pending.size() >= chunkSize) {
+                flushChunk(run);
+            }
+        }
+        flushChunk(run);
+
+        // cada chunk ya commiteó: fuera de transacción los listeners corren en el momento
+        if (!run.importedCodes.isEmpty()) {
+            eventPublisher.publishEvent(new ExchangeRatesImportedEvent(Set.copyOf(run.importedCodes)));
+        }
+
+        return new ExchangeRateImportResponse(
+                run.totalRows,
+                run.importedRows,
+                run.failedRows,
+                run.overwrittenRows,
+                (System.nanoTime() - start) / 1_000_000,
+                run.errors
+        );
+    }
+
+    private PendingRow parse(long rowNumber, String[] fields, Map<String, Integer> columns) {
+        String code = field(fields, columns, "currency");
+        String date = field(fields, columns, "date");
+        String rate = field(fields, columns, "rate");
+        if (code == null || date == null || rate == null) {
+            throw new IllegalArgumentException("currency, date and rate are required");
+        }
+
+        BigDecimal value;
+        try {
+            value = new BigDecimal(rate);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rate: " + rate);
+        }
+        if (value.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("rate must be > 0");
+        }
+        return new PendingRow(rowNumber, new Key(code.toUpperCase(Locale.ROOT), LocalDate.parse(date)), value);
+    }
+
+    private String field(String[] fields, Map<String, Integer> columns, String name) {
+        int i = columns.get(name);
+        if (i >= fields.length) {
+            return null;
+        }
+        String value = fields[i].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // ---------------------------------------------------------
+    //  CHUNK
+    // ---------------------------------------------------------
+
+    private void flushChunk(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRow> chunk = run.pending;
+        run.pending = new ArrayList<>();
+
+        // monedas: una consulta por código distinto en todo el import
+        Map<Key, PendingRow> rows = new LinkedHashMap<>();
+        for (PendingRow p : chunk) {
+            boolean known = run.currencies.computeIfAbsent(p.key().code(), currencyRepository::existsById);
+            if (!known) {
+                run.fail(p.rowNumber(), "Currency not found: " + p.key().code());
+                continue;
+            }
+            // repetida dentro del chunk: la fila anterior queda pisada por esta
+            if (rows.put(p.key(), p) != null) {
+                run.overwrittenRows++;
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistChunk(rows));
+            run.importedRows += rows.size();
+            rows.keySet().forEach(key -> run.importedCodes.add(key.code()));
+        } catch (RuntimeException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (PendingRow p : rows.values()) {
+                run.fail(p.rowNumber(), "Rejected by database: " + cause);
+            }
+        }
+    }
+
+    private void persistChunk(Map<Key, PendingRow> rows) {
+
+        Set<String> codes = new HashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Key key : rows.keySet()) {
+            codes.add(key.code());
+            if (from == null || key.date().isBefore(from)) from = key.date();
+            if (to == null || key.date().isAfter(to)) to = key.date();
+        }
+
+        // existentes del rango: se actualizan en el lugar (dirty checking)
+        Map<Key, ExchangeRate> existing = new HashMap<>();
+        for (ExchangeRate r : exchangeRateRepository.findByCurrenciesInRange(codes, from, to)) {
+            existing.put(new Key(r.getCurrency().getCode(), r.getRateDate()), r);
+        }
+
+        for (PendingRow p : rows.values()) {
+            ExchangeRate current = existing.get(p.key());
+            if (current != null) {
+                current.setRate(p.rate());
+            } else {
+                entityManager.persist(ExchangeRate.builder()
+                        .currency(entityManager.getReference(Currency.class, p.key().code()))
+                        .rateDate(p.key().date())
+                        .rate(p.rate())
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.TransactionResponse;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Altas idempotentes: la Idempotency-Key del cliente se guarda en Transaction.externalReference,
+ * única por owner.
+ *
+ * - Replay (la clave ya existe): devuelve la respuesta original sin validar ni escribir nada.
+ * - Dos envíos concurrentes con la misma clave: los dos pasan el lookup, pero la unique
+ *   (owner_id, external_reference) deja commitear solo a uno; el otro hace rollback completo
+ *   (saldo, rollups incluidos) y devuelve la fila del ganador.
+ *
+ * Sin @Transactional a propósito: la violación se detecta al commitear la transacción de
+ * TransactionService, y la relectura tiene que correr en una transacción nueva.
+ */
+@Service
+public class IdempotentTransactionService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final TransactionService transactionService;
+
+    public IdempotentTransactionService(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * @param create alta real; tiene que guardar idempotencyKey en externalReference
+     */
+    public TransactionResponse create(Long ownerId, String idempotencyKey, Supplier<TransactionResponse> create) {
+
+        if (idempotencyKey == null) {
+            return create.get();
+        }
+        if (idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("Idempotency-Key cannot be blank");
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        if (ownerId == null) {
+            throw new IllegalArgumentException("ownerId is required");
+        }
+
+        Optional<TransactionResponse> previous = transactionService.findByIdempotencyKey(ownerId, idempotencyKey);
+        if (previous.isPresent()) {
+            return previous.get();
+        }
+
+        try {
+            return create.get();
+        } catch (DataIntegrityViolationException e) {
+            // perdimos la carrera contra otro envío con la misma clave => ya está commiteado;
+            // si no aparece, la violación era de otra constraint
+            return transactionService.findByIdempotencyKey(ownerId, idempotencyKey)
+                    .orElseThrow(() -> e);
+        }
+    }
+}
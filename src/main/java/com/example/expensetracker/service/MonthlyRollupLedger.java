@@ -0,0 +1,165 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.MonthlyTotalChangedEvent;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.money.Money;
+import com.example.expensetracker.money.MoneySum;
+import com.example.expensetracker.repository.MonthlyTotalRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mantiene la tabla monthly_totals (owner, mes, categoría, tipo) al día con cada escritura
+ * de TransactionService, en la misma transacción de BD.
+ *
+ * Solo cuentan INCOME/EXPENSE CONFIRMED: el caller llama add() cuando la transacción
+ * empieza a contar y remove() cuando deja de contar (o antes de editar mes/categoría).
+ *
+ * Cada movimiento se avisa con MonthlyTotalChangedEvent (sin queries extra): BudgetTracker
+ * lleva lo gastado por presupuesto en memoria con esos deltas.
+ *
+ * Bucket nuevo: se inserta vacío (JDBC, dentro de un savepoint) y después se le suma el delta
+ * con el mismo update de siempre. Si dos escrituras crean el mismo bucket a la vez, la que pierde
+ * choca con la unique, vuelve al savepoint y suma sobre la fila de la otra: ningún alta falla.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class MonthlyRollupLedger {
+
+    // bucket creado por otra transacción que después hizo rollback: se reintenta, con tope
+    private static final int MAX_BUCKET_ATTEMPTS = 3;
+
+    private static final String INSERT_EMPTY_BUCKET = """
+            insert into monthly_totals (owner_id, period, period_key, category_id, type, total, transaction_count)
+            values (?, ?, ?, ?, ?, 0, 0)
+            """;
+
+    private final MonthlyTotalRepository monthlyTotalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    // misma conexión que la transacción JPA del caller (JpaTransactionManager la expone)
+    private final JdbcTemplate jdbcTemplate;
+
+    public MonthlyRollupLedger(MonthlyTotalRepository monthlyTotalRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               JdbcTemplate jdbcTemplate) {
+        this.monthlyTotalRepository = monthlyTotalRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void add(Transaction tx) {
+        post(tx, tx.getAmount(), 1);
+    }
+
+    public void remove(Transaction tx) {
+        post(tx, tx.getAmount().negate(), -1);
+    }
+
+    // altas masivas (import / batch): un update por bucket en vez de uno por transacción.
+    // Suma en la escala de la columna (Money.STORAGE_DIGITS): el bucket mezcla monedas
+    public void addAll(Collection<Transaction> txs) {
+
+        record Bucket(int periodKey, Long categoryId, TransactionType type) { }
+
+        Map<Bucket, Transaction> sample = new HashMap<>();
+        Map<Bucket, MoneySum> totals = new HashMap<>();
+
+        for (Transaction tx : txs) {
+            if (!counts(tx)) {
+                continue;
+            }
+            Bucket bucket = new Bucket(periodOf(tx), tx.getCategory().getId(), tx.getType());
+            sample.putIfAbsent(bucket, tx);
+            totals.computeIfAbsent(bucket, b -> new MoneySum(Money.STORAGE_DIGITS)).add(tx.getAmount());
+        }
+
+        sample.forEach((bucket, tx) -> {
+            MoneySum total = totals.get(bucket);
+            upsert(tx.getOwner(), tx.getCategory(), tx.getType(), bucket.periodKey(), total.total(), total.count());
+        });
+    }
+
+    private void post(Transaction tx, BigDecimal delta, long count) {
+        if (counts(tx)) {
+            upsert(tx.getOwner(), tx.getCategory(), tx.getType(), periodOf(tx), delta, count);
+        }
+    }
+
+    // las transferencias no entran en el summary
+    private boolean counts(Transaction tx) {
+        return (tx.isExpense() || tx.isIncome()) && tx.getCategory() != null;
+    }
+
+    private int periodOf(Transaction tx) {
+        return BudgetPeriod.of(YearMonth.from(tx.getOperationDate()));
+    }
+
+    private void upsert(User owner, Category category, TransactionType type, int periodKey,
+                        BigDecimal delta, long count) {
+
+        String period = BudgetPeriod.format(periodKey);
+        for (int attempt = 1; ; attempt++) {
+            int updated = monthlyTotalRepository.addToBucket(
+                    owner.getId(),
+                    periodKey,
+                    category.getId(),
+                    type,
+                    delta,
+                    count
+            );
+            if (updated > 0) {
+                break;
+            }
+            if (attempt == MAX_BUCKET_ATTEMPTS) {
+                throw new IllegalStateException("Could not create monthly total bucket "
+                        + owner.getId() + "/" + period + "/" + category.getId() + "/" + type);
+            }
+            // primer movimiento del mes para esa categoría
+            insertEmptyBucket(owner.getId(), period, periodKey, category.getId(), type);
+        }
+
+        eventPublisher.publishEvent(new MonthlyTotalChangedEvent(owner.getId(), period, category.getId(), type, delta));
+    }
+
+    // por JDBC y no por el EntityManager: una excepción de Hibernate marcaría rollback-only
+    // toda la transacción; acá el error solo deshace hasta el savepoint
+    private void insertEmptyBucket(Long ownerId, String period, int periodKey, Long categoryId, TransactionType type) {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                Savepoint savepoint = con.setSavepoint();
+                try (PreparedStatement ps = con.prepareStatement(INSERT_EMPTY_BUCKET)) {
+                    ps.setLong(1, ownerId);
+                    ps.setString(2, period);
+                    ps.setInt(3, periodKey);
+                    ps.setLong(4, categoryId);
+                    ps.setString(5, type.name());
+                    ps.executeUpdate();
+                } catch (SQLException e) {
+                    con.rollback(savepoint);
+                    throw e;
+                }
+                con.releaseSavepoint(savepoint);
+                return null;
+            });
+        } catch (DuplicateKeyException e) {
+            // lo creó otra transacción (el insert esperó su commit): el próximo update lo encuentra
+        }
+    }
+}
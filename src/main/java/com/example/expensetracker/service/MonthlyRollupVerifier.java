@@ -0,0 +1,125 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.summary.RollupMismatchResponse;
+import com.example.expensetracker.dto.summary.RollupVerificationResponse;
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.MonthlyRollupsRebuiltEvent;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.MonthlyTotal;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.MonthlyTotalRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compara los rollups mensuales (monthly_totals) con un recalculo desde las transacciones
+ * y, si se pide, los reconstruye desde cero.
+ */
+@Service
+@Transactional
+public class MonthlyRollupVerifier {
+
+    private static final List<TransactionType> ROLLUP_TYPES = List.of(TransactionType.INCOME, TransactionType.EXPENSE);
+
+    private final MonthlyTotalRepository monthlyTotalRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MonthlyRollupVerifier(MonthlyTotalRepository monthlyTotalRepository,
+                                 TransactionRepository transactionRepository,
+                                 UserRepository userRepository,
+                                 CategoryRepository categoryRepository,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.monthlyTotalRepository = monthlyTotalRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private record BucketKey(Long ownerId, String period, Long categoryId, TransactionType type) { }
+
+    private record BucketValue(BigDecimal total, long count) { }
+
+    public RollupVerificationResponse verify(boolean rebuild) {
+
+        List<TransactionRepository.MonthlyBucketRow> rawRows =
+                transactionRepository.sumMonthlyBuckets(ROLLUP_TYPES, TransactionState.CONFIRMED);
+
+        Map<BucketKey, BucketValue> raw = new HashMap<>();
+        for (TransactionRepository.MonthlyBucketRow r : rawRows) {
+            String period = YearMonth.of(r.getOperationYear(), r.getOperationMonth()).toString();
+            raw.put(new BucketKey(r.getOwnerId(), period, r.getCategoryId(), r.getType()),
+                    new BucketValue(r.getTotal(), r.getTransactionCount()));
+        }
+
+        Map<BucketKey, BucketValue> stored = new HashMap<>();
+        for (MonthlyTotalRepository.BucketRow r : monthlyTotalRepository.findAllBuckets()) {
+            stored.put(new BucketKey(r.getOwnerId(), r.getPeriod(), r.getCategoryId(), r.getType()),
+                    new BucketValue(r.getTotal(), r.getTransactionCount()));
+        }
+
+        Set<BucketKey> keys = new HashSet<>(raw.keySet());
+        keys.addAll(stored.keySet());
+
+        BucketValue empty = new BucketValue(BigDecimal.ZERO, 0);
+        List<RollupMismatchResponse> mismatches = new ArrayList<>();
+
+        for (BucketKey key : keys) {
+            BucketValue s = stored.getOrDefault(key, empty);
+            BucketValue r = raw.getOrDefault(key, empty);
+            // un bucket en 0 (todo cancelado) equivale a no tener bucket
+            if (s.total().compareTo(r.total()) == 0 && s.count() == r.count()) {
+                continue;
+            }
+            mismatches.add(new RollupMismatchResponse(
+                    key.ownerId(), key.period(), key.categoryId(), key.type(),
+                    s.total(), r.total(), s.count(), r.count()
+            ));
+        }
+
+        if (rebuild) {
+            monthlyTotalRepository.deleteAllInBatch();
+            List<MonthlyTotal> rows = new ArrayList<>(raw.size());
+            raw.forEach((key, value) -> {
+                User owner = userRepository.getReferenceById(key.ownerId());
+                Category category = categoryRepository.getReferenceById(key.categoryId());
+                rows.add(MonthlyTotal.builder()
+                        .owner(owner)
+                        .period(key.period())
+                        .periodKey(BudgetPeriod.parse(key.period()))
+                        .category(category)
+                        .type(key.type())
+                        .total(value.total())
+                        .transactionCount(value.count())
+                        .build());
+            });
+            monthlyTotalRepository.saveAll(rows);
+
+            // los summaries cacheados de esos owners salieron de los buckets viejos
+            Set<Long> rebuiltOwners = new HashSet<>();
+            mismatches.forEach(m -> rebuiltOwners.add(m.getOwnerId()));
+            if (!rebuiltOwners.isEmpty()) {
+                eventPublisher.publishEvent(new MonthlyRollupsRebuiltEvent(rebuiltOwners));
+            }
+        }
+
+        return new RollupVerificationResponse(keys.size(), mismatches.size(), rebuild, mismatches);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.expensetracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Completa period_key (BudgetPeriod) en filas de category_budgets / monthly_totals escritas
+ * antes de que existiera la columna: las queries de presupuestos y summary ya no miran period.
+ * Corre al arrancar, antes de que BudgetTracker cargue los presupuestos; sin filas viejas, son
+ * dos updates que no tocan nada.
+ */
+@Component
+public class PeriodKeyBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(PeriodKeyBackfill.class);
+
+    // "yyyy-MM" => year * 12 + (month - 1), igual que BudgetPeriod.parse
+    private static final String KEY_FROM_PERIOD =
+            "cast(substring(period, 1, 4) as integer) * 12 + cast(substring(period, 6, 2) as integer) - 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PeriodKeyBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        int budgets = backfill("category_budgets");
+        int totals = backfill("monthly_totals");
+        if (budgets + totals > 0) {
+            log.info("Period keys backfilled: {} budgets, {} monthly totals", budgets, totals);
+        }
+    }
+
+    private int backfill(String table) {
+        return jdbcTemplate.update("update " + table + " set period_key = " + KEY_FROM_PERIOD
+                + " where period_key is null and period is not null");
+    }
+}
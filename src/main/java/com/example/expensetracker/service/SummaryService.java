@@ -4,29 +4,51 @@ import com.example.expensetracker.dto.summary.CategoryTotalResponse;
 import com.example.expensetracker.dto.summary.SummaryResponse;
 import com.example.expensetracker.enums.TransactionState;
 import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.repository.MonthlyTotalRepository;
 import com.example.expensetracker.repository.TransactionRepository;
 import com.example.expensetracker.repository.UserRepository;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional(readOnly = true)
 public class SummaryService {
 
+    private static final List<TransactionType> SUMMARY_TYPES = List.of(TransactionType.INCOME, TransactionType.EXPENSE);
+
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final MonthlyTotalRepository monthlyTotalRepository;
+    private final CurrencyRates currencyRates;
+    private final ExchangeRateHistory rateHistory;
 
-    public SummaryService(UserRepository userRepository, TransactionRepository transactionRepository) {
+    public SummaryService(UserRepository userRepository,
+                          TransactionRepository transactionRepository,
+                          MonthlyTotalRepository monthlyTotalRepository,
+                          CurrencyRates currencyRates,
+                          ExchangeRateHistory rateHistory) {
         this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
+        this.monthlyTotalRepository = monthlyTotalRepository;
+        this.currencyRates = currencyRates;
+        this.rateHistory = rateHistory;
     }
 
     public SummaryResponse getSummary(Long ownerId, LocalDate from, LocalDate to, Integer top) {
+        return getSummary(ownerId, from, to, top, null);
+    }
+
+    // currency != null => montos convertidos a esa moneda con la tasa del día de cada transacción
+    public SummaryResponse getSummary(Long ownerId, LocalDate from, LocalDate to, Integer top, String currency) {
 
         if (ownerId == null) throw new IllegalArgumentException("ownerId is required");
         if (from == null || to == null) throw new IllegalArgumentException("from and to are required");
@@ -36,29 +58,101 @@ public class SummaryService {
         userRepository.findById(ownerId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + ownerId));
 
-        BigDecimal income = transactionRepository.sumAmountByOwnerAndTypeAndStateInPeriod(
-                ownerId, TransactionType.INCOME, TransactionState.CONFIRMED, from, to
-        );
-
-        BigDecimal expense = transactionRepository.sumAmountByOwnerAndTypeAndStateInPeriod(
-                ownerId, TransactionType.EXPENSE, TransactionState.CONFIRMED, from, to
-        );
+        Totals totals;
+        String currencyCode = null;
+        if (currency != null && !currency.isBlank()) {
+            CurrencyRates.Rate target = currencyRates.rate(currency);
+            currencyCode = target.code();
+            totals = convertedTotals(ownerId, from, to, target);
+        } else {
+            totals = rollupTotals(ownerId, from, to);
+        }
 
+        BigDecimal income = totals.income;
+        BigDecimal expense = totals.expense;
         BigDecimal net = income.subtract(expense);
 
         int topN = (top == null || top <= 0) ? 5 : Math.min(top, 50);
 
-        List<CategoryTotalResponse> topCategories = transactionRepository.topCategoriesByOwnerInPeriod(
-                ownerId,
-                TransactionType.EXPENSE,
-                TransactionState.CONFIRMED,
-                from,
-                to,
-                PageRequest.of(0, topN)
-        ).stream().map(row ->
-                new CategoryTotalResponse(row.getCategoryId(), row.getCategoryName(), row.getTotal())
-        ).toList();
-
-        return new SummaryResponse(ownerId, from, to, income, expense, net, topCategories);
+        List<CategoryTotalResponse> topCategories = totals.expenseByCategory.values().stream()
+                .filter(c -> c.getTotal().signum() != 0)
+                .sorted(Comparator.comparing(CategoryTotalResponse::getTotal).reversed())
+                .limit(topN)
+                .toList();
+
+        return new SummaryResponse(ownerId, from, to, income, expense, net, topCategories, currencyCode);
+    }
+
+    private Totals rollupTotals(Long ownerId, LocalDate from, LocalDate to) {
+
+        Totals totals = new Totals();
+
+        // meses completos dentro de [from, to] => rollups; bordes parciales => scan de transacciones
+        YearMonth firstFull = from.getDayOfMonth() == 1 ? YearMonth.from(from) : YearMonth.from(from).plusMonths(1);
+        YearMonth lastFull = to.equals(YearMonth.from(to).atEndOfMonth()) ? YearMonth.from(to) : YearMonth.from(to).minusMonths(1);
+
+        if (firstFull.isAfter(lastFull)) {
+            addRaw(totals, ownerId, from, to);
+        } else {
+            monthlyTotalRepository.sumByOwnerInPeriods(ownerId, BudgetPeriod.of(firstFull), BudgetPeriod.of(lastFull))
+                    .forEach(row -> totals.add(row.getType(), row.getCategoryId(), row.getCategoryName(), row.getTotal()));
+
+            if (from.isBefore(firstFull.atDay(1))) {
+                addRaw(totals, ownerId, from, firstFull.atDay(1).minusDays(1));
+            }
+            if (to.isAfter(lastFull.atEndOfMonth())) {
+                addRaw(totals, ownerId, lastFull.plusMonths(1).atDay(1), to);
+            }
+        }
+        return totals;
+    }
+
+    // los rollups no tienen moneda ni día: se agrupa por (moneda de la cuenta, día) y cada fila
+    // se convierte con la tasa de esa fecha (búsqueda en memoria). Se redondea una vez al final.
+    private Totals convertedTotals(Long ownerId, LocalDate from, LocalDate to, CurrencyRates.Rate target) {
+
+        Totals totals = new Totals();
+        transactionRepository.sumByOwnerGroupedByTypeCategoryCurrencyAndDay(
+                ownerId, SUMMARY_TYPES, TransactionState.CONFIRMED, from, to
+        ).forEach(row -> {
+            String accountCurrency = row.getSourceCurrency() != null ? row.getSourceCurrency() : row.getDestinationCurrency();
+            totals.add(row.getType(), row.getCategoryId(), row.getCategoryName(),
+                    rateHistory.convert(row.getTotal(), accountCurrency, target.code(), row.getOperationDate()));
+        });
+        totals.roundTo(target.decimalDigits());
+        return totals;
+    }
+
+    private void addRaw(Totals totals, Long ownerId, LocalDate from, LocalDate to) {
+        transactionRepository.sumByOwnerGroupedByTypeAndCategoryInPeriod(
+                ownerId, SUMMARY_TYPES, TransactionState.CONFIRMED, from, to
+        ).forEach(row -> totals.add(row.getType(), row.getCategoryId(), row.getCategoryName(), row.getTotal()));
+    }
+
+    // acumulador de filas (type, category) provenientes de rollups y de scans
+    private static class Totals {
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+        private final Map<Long, CategoryTotalResponse> expenseByCategory = new LinkedHashMap<>();
+
+        void add(TransactionType type, Long categoryId, String categoryName, BigDecimal total) {
+            if (type == TransactionType.INCOME) {
+                income = income.add(total);
+            } else if (type == TransactionType.EXPENSE) {
+                expense = expense.add(total);
+                expenseByCategory.merge(
+                        categoryId,
+                        new CategoryTotalResponse(categoryId, categoryName, total),
+                        (a, b) -> new CategoryTotalResponse(categoryId, categoryName, a.getTotal().add(b.getTotal()))
+                );
+            }
+        }
+
+        void roundTo(int digits) {
+            income = income.setScale(digits, RoundingMode.HALF_EVEN);
+            expense = expense.setScale(digits, RoundingMode.HALF_EVEN);
+            expenseByCategory.replaceAll((id, c) -> new CategoryTotalResponse(
+                    c.getCategoryId(), c.getCategoryName(), c.getTotal().setScale(digits, RoundingMode.HALF_EVEN)));
+        }
     }
 }
@@ -3,10 +3,12 @@ package com.example.expensetracker.service;
 import com.example.expensetracker.dto.tag.TagCreateRequest;
 import com.example.expensetracker.dto.tag.TagUpdateRequest;
 import com.example.expensetracker.dto.tag.TagResponse;
+import com.example.expensetracker.event.TagChangedEvent;
 import com.example.expensetracker.model.Tag;
 import com.example.expensetracker.model.User;
 import com.example.expensetracker.repository.TagRepository;
 import com.example.expensetracker.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,10 +20,14 @@ public class TagService {
 
     private final UserRepository userRepository;
     private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TagService(UserRepository userRepository, TagRepository tagRepository) {
+    public TagService(UserRepository userRepository,
+                      TagRepository tagRepository,
+                      ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.tagRepository = tagRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public TagResponse create(TagCreateRequest req) {
@@ -48,6 +54,7 @@ public class TagService {
                 .build();
 
         Tag saved = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(owner.getId(), saved.getId()));
 
         return toResponse(saved);
     }
@@ -94,6 +101,7 @@ public class TagService {
         }
 
         Tag saved = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(saved.getOwner().getId(), saved.getId()));
         return toResponse(saved);
     }
 }
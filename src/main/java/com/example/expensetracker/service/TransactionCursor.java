@@ -0,0 +1,38 @@
+package com.example.expensetracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de keyset en el listado de transacciones: la última fila entregada (operationDate, id).
+ * Viaja al cliente como token opaco (base64url de "fecha:id").
+ */
+record TransactionCursor(LocalDate operationDate, Long id) {
+
+    // antes de cualquier fila real: primera página
+    static final TransactionCursor START = new TransactionCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+    String encode() {
+        String raw = operationDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TransactionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // incluye base64 inválido y NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
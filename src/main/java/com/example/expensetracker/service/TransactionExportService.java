@@ -0,0 +1,207 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.TransactionRepository.ExportRow;
+import com.example.expensetracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Export del historial de transacciones de un usuario (NDJSON / CSV) en streaming:
+ *
+ *   cursor JDBC forward-only -> una transacción armada a la vez -> escrita y descartada
+ *
+ * - No se cargan entidades: la query devuelve columnas sueltas (una fila por tag), así el
+ *   persistence context no crece y la memoria queda plana con 1k o 5M transacciones.
+ * - La salida va por un buffer chico; el cliente recibe datos mientras se sigue leyendo.
+ *
+ * NDJSON: un TransactionResponse por línea (mismo JSON que el resto de la API).
+ * CSV: header + una fila por transacción; tagIds separados por '|' como en el import.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final LocalDate EXPORT_MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate EXPORT_MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "id", "type", "state", "operationDate", "recordedAt", "amount",
+            "sourceAccountId", "destinationAccountId", "categoryId", "description", "tagIds"
+    );
+
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(UserRepository userRepository,
+                                    TransactionRepository transactionRepository,
+                                    ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // destino de la salida: se abre recién después de validar, así un 400 no sale con headers de export
+    public interface ExportTarget {
+        OutputStream open(String contentType, String fileExtension) throws IOException;
+    }
+
+    private static String contentType(String format) {
+        return switch (normalize(format)) {
+            case "ndjson" -> "application/x-ndjson";
+            case "csv" -> "text/csv";
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+    }
+
+    /**
+     * Escribe el export en el target y devuelve la cantidad de transacciones exportadas.
+     * from/to opcionales (los dos o ninguno).
+     */
+    @Transactional(readOnly = true)
+    public long export(Long ownerId, String format, LocalDate from, LocalDate to, ExportTarget target) throws IOException {
+
+        String fmt = normalize(format);
+        String contentType = contentType(fmt);
+
+        if ((from == null) != (to == null)) {
+            throw new IllegalArgumentException("from and to must be both provided");
+        }
+        if (from != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must be <= to");
+        }
+        if (ownerId == null || !userRepository.existsById(ownerId)) {
+            throw new IllegalArgumentException("User not found: " + ownerId);
+        }
+
+        boolean ndjson = fmt.equals("ndjson");
+        OutputStream out = target.open(contentType, fmt);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+
+        if (!ndjson) {
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<ExportRow> rows = transactionRepository.streamForExport(
+                ownerId,
+                from != null ? from : EXPORT_MIN_DATE,
+                to != null ? to : EXPORT_MAX_DATE)) {
+
+            Iterator<ExportRow> it = rows.iterator();
+            ExportRow pending = it.hasNext() ? it.next() : null;
+
+            while (pending != null) {
+                // junta las filas consecutivas de la misma transacción (una por tag)
+                ExportRow first = pending;
+                List<Long> tagIds = new ArrayList<>(2);
+                pending = null;
+                if (first.getTagId() != null) {
+                    tagIds.add(first.getTagId());
+                }
+                while (it.hasNext()) {
+                    ExportRow next = it.next();
+                    if (!next.getId().equals(first.getId())) {
+                        pending = next;
+                        break;
+                    }
+                    tagIds.add(next.getTagId());
+                }
+
+                if (ndjson) {
+                    writeNdjson(writer, first, tagIds);
+                } else {
+                    writeCsv(writer, first, tagIds);
+                }
+                count++;
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    // ---------------------------------------------------------
+    //  FORMATOS
+    // ---------------------------------------------------------
+
+    private void writeNdjson(Writer writer, ExportRow r, List<Long> tagIds) throws IOException {
+        TransactionResponse tx = new TransactionResponse(
+                r.getId(),
+                r.getOwnerId(),
+                r.getType(),
+                r.getState(),
+                r.getAmount(),
+                r.getOperationDate(),
+                r.getRecordedAt(),
+                r.getDescription(),
+                r.getSourceAccountId(),
+                r.getDestinationAccountId(),
+                r.getCategoryId(),
+                tagIds
+        );
+        writer.write(objectMapper.writeValueAsString(tx));
+        writer.write('\n');
+    }
+
+    private void writeCsv(Writer writer, ExportRow r, List<Long> tagIds) throws IOException {
+        writer.write(String.valueOf(r.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(r.getType()));
+        writer.write(',');
+        writer.write(String.valueOf(r.getState()));
+        writer.write(',');
+        writer.write(valueOrEmpty(r.getOperationDate()));
+        writer.write(',');
+        writer.write(valueOrEmpty(r.getRecordedAt()));
+        writer.write(',');
+        writer.write(r.getAmount() != null ? r.getAmount().toPlainString() : "");
+        writer.write(',');
+        writer.write(valueOrEmpty(r.getSourceAccountId()));
+        writer.write(',');
+        writer.write(valueOrEmpty(r.getDestinationAccountId()));
+        writer.write(',');
+        writer.write(valueOrEmpty(r.getCategoryId()));
+        writer.write(',');
+        writer.write(csvEscape(r.getDescription()));
+        writer.write(',');
+        writer.write(tagIds.stream().map(String::valueOf).collect(Collectors.joining("|")));
+        writer.write('\n');
+    }
+
+    private static String valueOrEmpty(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    // comillas solo si hace falta; "" para una comilla dentro del campo (igual que lee el import)
+    private static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String normalize(String format) {
+        return format == null ? "ndjson" : format.trim().toLowerCase(Locale.ROOT);
+    }
+}
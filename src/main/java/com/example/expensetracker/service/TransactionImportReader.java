@@ -0,0 +1,223 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.TransactionImportRow;
+import com.example.expensetracker.enums.TransactionType;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lee un archivo de import fila por fila (sin cargarlo entero en memoria) y entrega cada
+ * fila parseada, o el error de parseo de esa fila, al handler.
+ *
+ * CSV: primera línea = header con los nombres de columna de TransactionImportRow
+ * (type, operationDate, amount, sourceAccountId, destinationAccountId, categoryId,
+ * description, tagIds). tagIds separados por '|'. Campos con comas van entre comillas.
+ *
+ * JSON: un array de objetos con esos mismos campos.
+ */
+@Component
+public class TransactionImportReader {
+
+    public interface RowHandler {
+        void onRow(long rowNumber, TransactionImportRow row);
+
+        void onError(long rowNumber, String message);
+    }
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "type", "operationDate", "amount", "sourceAccountId", "destinationAccountId",
+            "categoryId", "description", "tagIds"
+    );
+
+    private final ObjectMapper objectMapper;
+
+    public TransactionImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // ---------------------------------------------------------
+    //  CSV
+    // ---------------------------------------------------------
+
+    public void readCsv(InputStream in, RowHandler handler) throws IOException {
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = parseCsvLine(headerLine.replace("\uFEFF", ""));
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String required : List.of("type", "amount")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header must contain column '" + required + "'");
+            }
+        }
+        for (String name : columns.keySet()) {
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + name);
+            }
+        }
+
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                handler.onRow(lineNumber, toRow(parseCsvLine(line), columns));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                handler.onError(lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    private TransactionImportRow toRow(List<String> fields, Map<String, Integer> columns) {
+
+        TransactionImportRow row = new TransactionImportRow();
+
+        String type = field(fields, columns, "type");
+        if (type != null) {
+            try {
+                row.setType(TransactionType.valueOf(type.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid type: " + type);
+            }
+        }
+
+        String date = field(fields, columns, "operationDate");
+        row.setOperationDate(date != null ? LocalDate.parse(date) : null);
+
+        String amount = field(fields, columns, "amount");
+        if (amount != null) {
+            try {
+                row.setAmount(new BigDecimal(amount));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount: " + amount);
+            }
+        }
+
+        row.setSourceAccountId(parseId(field(fields, columns, "sourceAccountId"), "sourceAccountId"));
+        row.setDestinationAccountId(parseId(field(fields, columns, "destinationAccountId"), "destinationAccountId"));
+        row.setCategoryId(parseId(field(fields, columns, "categoryId"), "categoryId"));
+        row.setDescription(field(fields, columns, "description"));
+
+        String tagIds = field(fields, columns, "tagIds");
+        if (tagIds != null) {
+            List<Long> ids = new ArrayList<>();
+            for (String part : tagIds.split("\\|")) {
+                if (!part.isBlank()) {
+                    ids.add(parseId(part.trim(), "tagIds"));
+                }
+            }
+            row.setTagIds(ids);
+        }
+
+        return row;
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer idx = columns.get(name);
+        if (idx == null || idx >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(idx).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Long parseId(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    // split de una línea CSV respetando comillas ("" = comilla literal)
+    private List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    // ---------------------------------------------------------
+    //  JSON
+    // ---------------------------------------------------------
+
+    public void readJson(InputStream in, RowHandler handler) throws IOException {
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON import must be an array of transactions");
+            }
+
+            long index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                index++;
+                // cada elemento se lee como árbol: un campo inválido solo invalida su fila
+                JsonNode node = objectMapper.readTree(parser);
+                try {
+                    handler.onRow(index, objectMapper.treeToValue(node, TransactionImportRow.class));
+                } catch (IOException | IllegalArgumentException e) {
+                    handler.onError(index, "Invalid row: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.ImportRowError;
+import com.example.expensetracker.dto.transaction.TransactionImportResponse;
+import com.example.expensetracker.dto.transaction.TransactionImportRow;
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Tag;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.TagRepository;
+import com.example.expensetracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Import masivo de transacciones (CSV / JSON) en pipeline:
+ *
+ *   lectura en streaming -> validación por fila -> INSERT en batches JDBC por chunk
+ *
+ * - Cada chunk (import.chunk-size filas) es una transacción de BD: memoria acotada y
+ *   saldo/rollups/checkpoints actualizados una vez por chunk, no por fila.
+ * - Cuentas, categorías y tags se buscan una sola vez por id distinto (findAllById por
+ *   chunk solo para ids nuevos); después se validan owner/active en memoria.
+ * - Una fila inválida se reporta y se saltea; el resto del import sigue.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // owner + active de una cuenta/categoría/tag; ownerId null = no existe
+    private record Ref(Long ownerId, boolean active) {
+        static final Ref MISSING = new Ref(null, false);
+    }
+
+    private record PendingRow(long rowNumber, TransactionImportRow row) { }
+
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionImportReader reader;
+    private final AccountBalanceLedger balanceLedger;
+    private final MonthlyRollupLedger rollupLedger;
+    private final BalanceCheckpointLedger checkpointLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public TransactionImportService(UserRepository userRepository,
+                                    AccountRepository accountRepository,
+                                    CategoryRepository categoryRepository,
+                                    TagRepository tagRepository,
+                                    EntityManager entityManager,
+                                    TransactionTemplate transactionTemplate,
+                                    TransactionImportReader reader,
+                                    AccountBalanceLedger balanceLedger,
+                                    MonthlyRollupLedger rollupLedger,
+                                    BalanceCheckpointLedger checkpointLedger,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${import.chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.reader = reader;
+        this.balanceLedger = balanceLedger;
+        this.rollupLedger = rollupLedger;
+        this.checkpointLedger = checkpointLedger;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    // estado de un import en curso
+    private static class ImportRun {
+        final Long ownerId;
+        List<PendingRow> pending = new ArrayList<>();
+
+        final Map<Long, Ref> accounts = new HashMap<>();
+        final Map<Long, Ref> categories = new HashMap<>();
+        final Map<Long, Ref> tags = new HashMap<>();
+
+        long totalRows;
+        long importedRows;
+        long failedRows;
+        final List<ImportRowError> errors = new ArrayList<>();
+
+        ImportRun(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        void fail(long rowNumber, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(rowNumber, message));
+            }
+        }
+    }
+
+    public TransactionImportResponse importTransactions(Long ownerId, String format, InputStream in) throws IOException {
+
+        if (ownerId == null) {
+            throw new IllegalArgumentException("ownerId is required");
+        }
+        userRepository.findById(ownerId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + ownerId));
+
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(ownerId);
+
+        TransactionImportReader.RowHandler handler = new TransactionImportReader.RowHandler() {
+            @Override
+            public void onRow(long rowNumber, TransactionImportRow row) {
+                run.totalRows++;
+                run.pending.add(new PendingRow(rowNumber, row));
+                if (run.pending.size() >= chunkSize) {
+                    flushChunk(run);
+                }
+            }
+
+            @Override
+            public void onError(long rowNumber, String message) {
+                run.totalRows++;
+                run.fail(rowNumber, message);
+            }
+        };
+
+        String fmt = format == null ? "csv" : format.trim().toLowerCase(Locale.ROOT);
+        switch (fmt) {
+            case "csv" -> reader.readCsv(in, handler);
+            case "json" -> reader.readJson(in, handler);
+            default -> throw new IllegalArgumentException("format must be csv or json");
+        }
+        flushChunk(run);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = elapsedMillis == 0 ? run.importedRows : run.importedRows * 1000.0 / elapsedMillis;
+
+        return new TransactionImportResponse(
+                ownerId,
+                run.totalRows,
+                run.importedRows,
+                run.failedRows,
+                elapsedMillis,
+                rowsPerSecond,
+                run.errors
+        );
+    }
+
+    // ---------------------------------------------------------
+    //  CHUNK
+    // ---------------------------------------------------------
+
+    private void flushChunk(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRow> chunk = run.pending;
+        run.pending = new ArrayList<>();
+
+        List<PendingRow> accepted = new ArrayList<>();
+        try {
+            Integer persisted = transactionTemplate.execute(status -> persistChunk(run, chunk, accepted));
+            run.importedRows += persisted != null ? persisted : 0;
+        } catch (RuntimeException e) {
+            // filas ya validadas que la BD rechazó: con batching no se puede aislar la culpable
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (PendingRow p : accepted) {
+                run.fail(p.rowNumber(), "Rejected by database: " + cause);
+            }
+        }
+    }
+
+    private int persistChunk(ImportRun run, List<PendingRow> chunk, List<PendingRow> accepted) {
+
+        resolveRefs(run, chunk);
+
+        User owner = entityManager.getReference(User.class, run.ownerId);
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> txs = new ArrayList<>(chunk.size());
+
+        for (PendingRow p : chunk) {
+            Transaction tx;
+            try {
+                tx = buildValidated(run, owner, p.row(), now);
+            } catch (IllegalArgumentException e) {
+                run.fail(p.rowNumber(), e.getMessage());
+                continue;
+            }
+            accepted.add(p);
+            txs.add(tx);
+        }
+
+        if (txs.isEmpty()) {
+            return 0;
+        }
+
+        // ids por secuencia => Hibernate agrupa los INSERT (transactions y transaction_tags) al flush
+        for (Transaction tx : txs) {
+            entityManager.persist(tx);
+        }
+
+        Set<Long> accountIds = new HashSet<>();
+        LocalDate earliest = null;
+        for (Transaction tx : txs) {
+            if (tx.getSourceAccount() != null) accountIds.add(tx.getSourceAccount().getId());
+            if (tx.getDestinationAccount() != null) accountIds.add(tx.getDestinationAccount().getId());
+            if (earliest == null || tx.getOperationDate().isBefore(earliest)) earliest = tx.getOperationDate();
+        }
+
+        balanceLedger.applyAllConfirmed(txs);
+        rollupLedger.addAll(txs);
+        checkpointLedger.invalidateFrom(accountIds, earliest);
+
+        eventPublisher.publishEvent(new TransactionsImportedEvent(
+                run.ownerId,
+                txs.stream().map(Transaction::getId).toList(),
+                Set.copyOf(accountIds),
+                earliest
+        ));
+
+        return txs.size();
+    }
+
+    // ---------------------------------------------------------
+    //  VALIDACIÓN (mismas reglas y mensajes que TransactionService)
+    // ---------------------------------------------------------
+
+    private Transaction buildValidated(ImportRun run, User owner, TransactionImportRow row, LocalDateTime now) {
+
+        if (row.getType() == null) {
+            throw new IllegalArgumentException("type is required");
+        }
+        if (row.getAmount() == null || row.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+
+        Account source = accountRef(run, row.getSourceAccountId());
+        Account destination = accountRef(run, row.getDestinationAccountId());
+
+        Category category = null;
+        if (row.getCategoryId() != null) {
+            checkRef(run, run.categories.get(row.getCategoryId()), "Category", row.getCategoryId());
+            category = entityManager.getReference(Category.class, row.getCategoryId());
+        }
+
+        Set<Tag> tags = new HashSet<>();
+        if (row.getTagIds() != null) {
+            for (Long tagId : row.getTagIds()) {
+                Ref ref = run.tags.get(tagId);
+                if (ref == null || ref.ownerId() == null) {
+                    throw new IllegalArgumentException("Some tagIds do not exist");
+                }
+                if (!ref.ownerId().equals(run.ownerId)) {
+                    throw new IllegalArgumentException("Tag does not belong to user");
+                }
+                tags.add(entityManager.getReference(Tag.class, tagId));
+            }
+        }
+
+        Transaction tx = Transaction.builder()
+                .owner(owner)
+                .type(row.getType())
+                .state(TransactionState.CONFIRMED)
+                .amount(row.getAmount())
+                .sourceAccount(source)
+                .destinationAccount(destination)
+                .category(category)
+                .tags(tags)
+                .description(row.getDescription())
+                .operationDate(row.getOperationDate() != null ? row.getOperationDate() : now.toLocalDate())
+                .recordedAt(now)
+                .build();
+
+        TransactionService.validateTransactionAccounts(tx);
+        return tx;
+    }
+
+    private Account accountRef(ImportRun run, Long accountId) {
+        if (accountId == null) {
+            return null;
+        }
+        checkRef(run, run.accounts.get(accountId), "Account", accountId);
+        return entityManager.getReference(Account.class, accountId);
+    }
+
+    private void checkRef(ImportRun run, Ref ref, String entity, Long id) {
+        if (ref == null || ref.ownerId() == null) {
+            throw new IllegalArgumentException(entity + " not found: " + id);
+        }
+        if (!ref.ownerId().equals(run.ownerId)) {
+            throw new IllegalArgumentException(entity + " does not belong to user");
+        }
+        if (!ref.active()) {
+            throw new IllegalArgumentException(entity + " is not active");
+        }
+    }
+
+    // una query por tipo de entidad y por chunk, solo para ids que todavía no se vieron
+    private void resolveRefs(ImportRun run, List<PendingRow> chunk) {
+
+        Set<Long> accountIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> tagIds = new HashSet<>();
+
+        for (PendingRow p : chunk) {
+            TransactionImportRow row = p.row();
+            addIfUnseen(accountIds, run.accounts, row.getSourceAccountId());
+            addIfUnseen(accountIds, run.accounts, row.getDestinationAccountId());
+            addIfUnseen(categoryIds, run.categories, row.getCategoryId());
+            if (row.getTagIds() != null) {
+                row.getTagIds().forEach(id -> addIfUnseen(tagIds, run.tags, id));
+            }
+        }
+
+        this.<Account>load(accountIds, run.accounts, accountRepository::findAllById,
+                Account::getId, a -> new Ref(a.getOwner().getId(), !Boolean.FALSE.equals(a.getActive())));
+        this.<Category>load(categoryIds, run.categories, categoryRepository::findAllById,
+                Category::getId, c -> new Ref(c.getOwner().getId(), !Boolean.FALSE.equals(c.getActive())));
+        // los tags no se validan por active (igual que TransactionService)
+        this.<Tag>load(tagIds, run.tags, tagRepository::findAllById,
+                Tag::getId, t -> new Ref(t.getOwner().getId(), true));
+    }
+
+    private void addIfUnseen(Set<Long> ids, Map<Long, Ref> seen, Long id) {
+        if (id != null && !seen.containsKey(id)) {
+            ids.add(id);
+        }
+    }
+
+    private <E> void load(Set<Long> ids,
+                          Map<Long, Ref> target,
+                          Function<Collection<Long>, List<E>> finder,
+                          Function<E, Long> idOf,
+                          Function<E, Ref> refOf) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (E entity : finder.apply(ids)) {
+            target.put(idOf.apply(entity), refOf.apply(entity));
+        }
+        for (Long id : ids) {
+            target.putIfAbsent(id, Ref.MISSING);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.TransactionQueryRequest;
+import com.example.expensetracker.dto.transaction.TransactionQueryResponse;
+import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.search.TransactionSearch;
+import com.example.expensetracker.search.TransactionTagIndex;
+import com.example.expensetracker.text.SearchTerms;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * POST /api/transactions/query: cualquier combinación de tipo, estado, cuentas, categorías, tags,
+ * rango de montos, período y texto, en UNA query dinámica (keyset + totales).
+ *
+ * Plan:
+ * - Texto y tags se resuelven primero contra los índices en memoria (TransactionSearch y
+ *   TransactionTagIndex), que saben exactamente cuántas transacciones matchean. Si alguno deja
+ *   pocos candidatos (maxIndexCandidates), la query arranca por `t.id in (...)` (lookups por PK)
+ *   y el resto de los criterios quedan como filtros residuales; con los dos, se intersectan.
+ * - Los índices no tienen CANCELED: solo se usan si los estados pedidos los excluyen. Sin filtro
+ *   de estado (o con CANCELED) se filtra siempre en la BD.
+ * - Si son demasiados se filtra en la BD: LIKE por prefijo de palabra sobre t.searchText (tokenizado
+ *   igual que el índice) y un exists sobre transaction_tags para los tags. El único join es ese
+ *   exists, y solo si hace falta; cuentas y categoría son columnas de transactions.
+ *   El resultado no depende del plan: los dos caminos matchean las mismas filas.
+ * - Sin candidatos, el recorrido es el de siempre: índice (owner, fecha, id) con seek por cursor.
+ *
+ * Totales (cantidad y suma de amount de todo el resultado) con sum/count over () en la misma
+ * query de la primera página; viajan en el cursor, así las páginas siguientes no los recalculan.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TransactionQueryService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionQueryService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final String SELECT = """
+            select t.id, t.owner.id, t.type, t.state, t.amount, t.operationDate, t.recordedAt,
+                   t.description, t.sourceAccount.id, t.destinationAccount.id, t.category.id""";
+    private static final String TOTALS = ", count(t.id) over (), sum(t.amount) over ()";
+    private static final String ORDER_BY = " order by t.operationDate desc, t.id desc";
+
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionSearch transactionSearch;
+    private final TransactionTagIndex tagIndex;
+    private final EntityManager entityManager;
+    // más ids que esto en un `in (...)` deja de convenir frente al índice (owner, fecha, id)
+    private final int maxIndexCandidates;
+
+    public TransactionQueryService(UserRepository userRepository,
+                                   TransactionRepository transactionRepository,
+                                   TransactionSearch transactionSearch,
+                                   TransactionTagIndex tagIndex,
+                                   EntityManager entityManager,
+                                   @Value("${transactions.query.max-index-candidates:1000}") int maxIndexCandidates) {
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionSearch = transactionSearch;
+        this.tagIndex = tagIndex;
+        this.entityManager = entityManager;
+        this.maxIndexCandidates = maxIndexCandidates;
+    }
+
+    public TransactionQueryResponse query(TransactionQueryRequest req) {
+
+        if (req == null || req.getOwnerId() == null) {
+            throw new IllegalArgumentException("ownerId is required");
+        }
+        Long ownerId = req.getOwnerId();
+        userRepository.findById(ownerId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + ownerId));
+
+        if (req.getFrom() != null && req.getTo() != null && req.getFrom().isAfter(req.getTo())) {
+            throw new IllegalArgumentException("from must be <= to");
+        }
+        if (req.getMinAmount() != null && req.getMaxAmount() != null
+                && req.getMinAmount().compareTo(req.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("minAmount must be <= maxAmount");
+        }
+
+        int pageSize = (req.getLimit() == null || req.getLimit() <= 0)
+                ? DEFAULT_PAGE_SIZE
+                : Math.min(req.getLimit(), MAX_PAGE_SIZE);
+        QueryCursor after = QueryCursor.decode(req.getCursor());
+
+        List<String> terms = SearchTerms.tokenize(req.getText());
+        List<Long> tagIds = nonEmpty(req.getTagIds());
+        if (req.getText() != null && !req.getText().isBlank() && terms.isEmpty()) {
+            throw new IllegalArgumentException("text has no searchable words");
+        }
+
+        // ---- plan: candidatos exactos desde los índices en memoria ----
+
+        // los índices solo tienen transacciones no canceladas: sirven si el pedido las excluye
+        List<TransactionState> states = nonEmpty(req.getStates());
+        boolean indexesUsable = states != null && !states.contains(TransactionState.CANCELED);
+
+        Set<Long> candidates = null;
+        boolean textInDb = !terms.isEmpty();
+        boolean tagsInDb = tagIds != null;
+
+        if (indexesUsable && !terms.isEmpty()) {
+            Set<Long> ids = transactionSearch.matchingIds(ownerId, req.getText(), maxIndexCandidates);
+            if (ids != null) {
+                candidates = ids;
+                textInDb = false;
+            }
+        }
+        if (indexesUsable && tagIds != null) {
+            Set<Long> ids = tagIndex.idsWithAnyTag(ownerId, tagIds, req.getFrom(), req.getTo(), maxIndexCandidates);
+            if (ids != null) {
+                candidates = intersect(candidates, ids);
+                tagsInDb = false;
+            }
+        }
+
+        log.debug("Transaction query plan: owner={} candidates={} textInDb={} tagsInDb={}",
+                ownerId, candidates != null ? candidates.size() : "-", textInDb, tagsInDb);
+
+        if (candidates != null && candidates.isEmpty()) {
+            return new TransactionQueryResponse(List.of(), null, 0, BigDecimal.ZERO);
+        }
+
+        // ---- una query: predicados en orden de selectividad ----
+
+        StringBuilder where = new StringBuilder(" from Transaction t where ");
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (candidates != null) {
+            where.append("t.id in :candidateIds and ");
+            params.put("candidateIds", candidates);
+        }
+        where.append("t.owner.id = :ownerId");
+        params.put("ownerId", ownerId);
+
+        if (req.getFrom() != null) {
+            where.append(" and t.operationDate >= :from");
+            params.put("from", req.getFrom());
+        }
+        if (req.getTo() != null) {
+            where.append(" and t.operationDate <= :to");
+            params.put("to", req.getTo());
+        }
+
+        List<Long> accountIds = nonEmpty(req.getAccountIds());
+        if (accountIds != null) {
+            where.append(" and (t.sourceAccount.id in :accountIds or t.destinationAccount.id in :accountIds)");
+            params.put("accountIds", accountIds);
+        }
+        List<Long> categoryIds = nonEmpty(req.getCategoryIds());
+        if (categoryIds != null) {
+            where.append(" and t.category.id in :categoryIds");
+            params.put("categoryIds", categoryIds);
+        }
+        List<TransactionType> types = nonEmpty(req.getTypes());
+        if (types != null) {
+            where.append(" and t.type in :types");
+            params.put("types", types);
+        }
+        if (states != null) {
+            where.append(" and t.state in :states");
+            params.put("states", states);
+        }
+        if (req.getMinAmount() != null) {
+            where.append(" and t.amount >= :minAmount");
+            params.put("minAmount", req.getMinAmount());
+        }
+        if (req.getMaxAmount() != null) {
+            where.append(" and t.amount <= :maxAmount");
+            params.put("maxAmount", req.getMaxAmount());
+        }
+
+        if (tagsInDb) {
+            where.append(" and exists (select 1 from Transaction t2 join t2.tags tg"
+                    + " where t2.id = t.id and tg.id in :tagIds)");
+            params.put("tagIds", tagIds);
+        }
+        if (textInDb) {
+            // mismo criterio que el índice: cada palabra buscada es prefijo de alguna palabra
+            // (searchText empieza con espacio, así la primera palabra también cae en '% term%')
+            for (int i = 0; i < terms.size(); i++) {
+                where.append(" and t.searchText like :term").append(i);
+                params.put("term" + i, "% " + terms.get(i) + "%");
+            }
+        }
+
+        boolean firstPage = after.totalCount() == null;
+        if (!firstPage) {
+            where.append(" and (t.operationDate < :afterDate or (t.operationDate = :afterDate and t.id < :afterId))");
+            params.put("afterDate", after.operationDate());
+            params.put("afterId", after.id());
+        }
+
+        // los totales salen de la misma query (ventana sobre todo el where, antes del LIMIT)
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                SELECT + (firstPage ? TOTALS : "") + where + ORDER_BY, Tuple.class);
+        params.forEach(query::setParameter);
+        // una fila de más para saber si hay página siguiente
+        List<Tuple> rows = query.setMaxResults(pageSize + 1).getResultList();
+
+        long totalCount;
+        BigDecimal totalAmount;
+        if (!firstPage) {
+            totalCount = after.totalCount();
+            totalAmount = after.totalAmount();
+        } else if (rows.isEmpty()) {
+            totalCount = 0;
+            totalAmount = BigDecimal.ZERO;
+        } else {
+            totalCount = ((Number) rows.get(0).get(11)).longValue();
+            BigDecimal sum = rows.get(0).get(12, BigDecimal.class);
+            totalAmount = sum != null ? sum : BigDecimal.ZERO;
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Tuple> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Tuple last = page.get(page.size() - 1);
+            nextCursor = new QueryCursor(last.get(5, LocalDate.class), last.get(0, Long.class),
+                    totalCount, totalAmount).encode();
+        }
+
+        return new TransactionQueryResponse(toResponses(page), nextCursor, totalCount, totalAmount);
+    }
+
+    // filas de la página + una query para los tags de toda la página (como el listado)
+    private List<TransactionResponse> toResponses(List<Tuple> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Long>> tagIdsByTx = new HashMap<>();
+        List<Long> ids = rows.stream().map(r -> r.get(0, Long.class)).toList();
+        for (TransactionRepository.TransactionTagRow tr : transactionRepository.findTagIdsByTransactionIds(ids)) {
+            tagIdsByTx.computeIfAbsent(tr.getTransactionId(), k -> new ArrayList<>()).add(tr.getTagId());
+        }
+
+        return rows.stream()
+                .map(r -> new TransactionResponse(
+                        r.get(0, Long.class),
+                        r.get(1, Long.class),
+                        r.get(2, TransactionType.class),
+                        r.get(3, TransactionState.class),
+                        r.get(4, BigDecimal.class),
+                        r.get(5, LocalDate.class),
+                        r.get(6, LocalDateTime.class),
+                        r.get(7, String.class),
+                        r.get(8, Long.class),
+                        r.get(9, Long.class),
+                        r.get(10, Long.class),
+                        tagIdsByTx.getOrDefault(r.get(0, Long.class), List.of())
+                ))
+                .toList();
+    }
+
+    private static <T> List<T> nonEmpty(List<T> values) {
+        return (values == null || values.isEmpty()) ? null : values;
+    }
+
+    private static Set<Long> intersect(Set<Long> current, Set<Long> ids) {
+        if (current == null) {
+            return ids;
+        }
+        Set<Long> result = new HashSet<>(current);
+        result.retainAll(ids);
+        return result;
+    }
+
+    /**
+     * Keyset (operationDate, id) de la última fila entregada + los totales calculados con la
+     * primera página. Token opaco: base64url de "fecha:id:cantidad:suma".
+     */
+    record QueryCursor(LocalDate operationDate, Long id, Long totalCount, BigDecimal totalAmount) {
+
+        static final QueryCursor FIRST_PAGE = new QueryCursor(null, null, null, null);
+
+        String encode() {
+            String raw = operationDate + ":" + id + ":" + totalCount + ":" + totalAmount.toPlainString();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static QueryCursor decode(String token) {
+            if (token == null || token.isBlank()) {
+                return FIRST_PAGE;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split(":");
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new QueryCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]),
+                        Long.parseLong(parts[2]), new BigDecimal(parts[3]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                // incluye base64 inválido y NumberFormatException
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -1,35 +1,73 @@
 package com.example.expensetracker.service;
 
+import com.example.expensetracker.cache.OwnerReferences;
 import com.example.expensetracker.enums.TransactionState;
 import com.example.expensetracker.enums.TransactionType;
 import com.example.expensetracker.model.*;
 import com.example.expensetracker.repository.*;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 
+import com.example.expensetracker.dto.tag.TagTotalResponse;
+import com.example.expensetracker.dto.transaction.BatchItemResult;
+import com.example.expensetracker.dto.transaction.BatchTransactionItem;
+import com.example.expensetracker.dto.transaction.TransactionBatchResponse;
+import com.example.expensetracker.dto.transaction.TransactionPageResponse;
 import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.dto.transaction.TransactionSearchHit;
 import com.example.expensetracker.dto.transaction.TransactionUpdateRequest;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import com.example.expensetracker.search.TransactionSearch;
+import com.example.expensetracker.search.TagExpression;
+import com.example.expensetracker.search.TransactionSearchIndex;
+import com.example.expensetracker.search.TransactionTagIndex;
 import com.example.expensetracker.model.Tag;
 
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class TransactionService {
 
+    private static final int MAX_BATCH_ITEMS = 500;
+
+    // listado paginado: tope duro del lado del server
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    // rango de fechas del listado sin período (el seek igual arranca por el cursor)
+    private static final LocalDate LIST_MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate LIST_MAX_DATE = LocalDate.of(9999, 12, 31);
+
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
     private final TransactionRepository transactionRepository;
+    private final AccountBalanceLedger balanceLedger;
+    private final MonthlyRollupLedger rollupLedger;
+    private final BalanceCheckpointLedger checkpointLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionSearch transactionSearch;
+    private final TransactionTagIndex tagIndex;
+    private final OwnerReferences ownerReferences;
+    private final EntityManager entityManager;
 
     private TransactionResponse toResponse(Transaction t) {
         return new TransactionResponse(
@@ -54,12 +92,28 @@ public class TransactionService {
                               AccountRepository accountRepository,
                               CategoryRepository categoryRepository,
                               TagRepository tagRepository,
-                              TransactionRepository transactionRepository) {
+                              TransactionRepository transactionRepository,
+                              AccountBalanceLedger balanceLedger,
+                              MonthlyRollupLedger rollupLedger,
+                              BalanceCheckpointLedger checkpointLedger,
+                              ApplicationEventPublisher eventPublisher,
+                              TransactionSearch transactionSearch,
+                              TransactionTagIndex tagIndex,
+                              OwnerReferences ownerReferences,
+                              EntityManager entityManager) {
         this.userRepository = userRepository;
         this.accountRepository = accountRepository;
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
         this.transactionRepository = transactionRepository;
+        this.balanceLedger = balanceLedger;
+        this.rollupLedger = rollupLedger;
+        this.checkpointLedger = checkpointLedger;
+        this.eventPublisher = eventPublisher;
+        this.transactionSearch = transactionSearch;
+        this.tagIndex = tagIndex;
+        this.ownerReferences = ownerReferences;
+        this.entityManager = entityManager;
     }
 
     // ---------------------------------------------------------
@@ -71,16 +125,20 @@ public class TransactionService {
                                      BigDecimal amount,
                                      LocalDate operationDate,
                                      String description,
-                                     List<Long> tagIds) {
+                                     List<Long> tagIds,
+                                     String idempotencyKey) {
 
-        User owner = getUserOrThrow(ownerId);
-        Account sourceAccount = getAccountForUserOrThrow(owner, sourceAccountId);
-        Category category = getCategoryForUserOrThrow(owner, categoryId);
-        Set<Tag> tags = getTagsForUser(owner, tagIds);
+        // owner / cuenta / categoría / tags se validan en memoria (OwnerReferences) y se
+        // referencian con getReference: el alta es el INSERT + las filas de transaction_tags
+        OwnerReferences.Snapshot refs = getReferencesOrThrow(ownerId);
+        User owner = entityManager.getReference(User.class, ownerId);
+        Account sourceAccount = getAccountForUserOrThrow(refs, sourceAccountId);
+        Category category = getCategoryForUserOrThrow(refs, categoryId);
+        Set<Tag> tags = getTagsForUser(refs, tagIds);
 
         validateAmountPositive(amount);
-        validateAccountActive(sourceAccount);
-        validateCategoryActive(category);
+        validateAccountActive(refs, sourceAccount);
+        validateCategoryActive(refs, category);
 
         Transaction tx = Transaction.builder()
                 .owner(owner)
@@ -94,11 +152,12 @@ public class TransactionService {
                 .description(description)
                 .operationDate(operationDate != null ? operationDate : LocalDate.now())
                 .recordedAt(LocalDateTime.now())
+                .externalReference(idempotencyKey)
                 .build();
 
-        // Validaciones de consistencia de la propia transacción
+        // Validaciones de consistencia de la propia transacción (el ownership ya se validó
+        // contra la foto: validateTransactionOwnership inicializaría los proxies)
         validateTransactionAccounts(tx);
-        validateTransactionOwnership(tx);
 
         // En este punto podríamos aplicar reglas extra (límites, saldo, etc.)
 
@@ -107,6 +166,8 @@ public class TransactionService {
         //return transactionRepository.save(tx);
 
         Transaction saved = transactionRepository.save(tx);
+        onConfirmed(saved);
+        publishChange(saved, TransactionChangedEvent.Kind.CREATED);
         return toResponse(saved);
     }
 
@@ -119,16 +180,18 @@ public class TransactionService {
                                     BigDecimal amount,
                                     LocalDate operationDate,
                                     String description,
-                                    List<Long> tagIds) {
+                                    List<Long> tagIds,
+                                    String idempotencyKey) {
 
-        User owner = getUserOrThrow(ownerId);
-        Account destinationAccount = getAccountForUserOrThrow(owner, destinationAccountId);
-        Category category = getCategoryForUserOrThrow(owner, categoryId);
-        Set<Tag> tags = getTagsForUser(owner, tagIds);
+        OwnerReferences.Snapshot refs = getReferencesOrThrow(ownerId);
+        User owner = entityManager.getReference(User.class, ownerId);
+        Account destinationAccount = getAccountForUserOrThrow(refs, destinationAccountId);
+        Category category = getCategoryForUserOrThrow(refs, categoryId);
+        Set<Tag> tags = getTagsForUser(refs, tagIds);
 
         validateAmountPositive(amount);
-        validateAccountActive(destinationAccount);
-        validateCategoryActive(category);
+        validateAccountActive(refs, destinationAccount);
+        validateCategoryActive(refs, category);
 
         Transaction tx = Transaction.builder()
                 .owner(owner)
@@ -142,13 +205,15 @@ public class TransactionService {
                 .description(description)
                 .operationDate(operationDate != null ? operationDate : LocalDate.now())
                 .recordedAt(LocalDateTime.now())
+                .externalReference(idempotencyKey)
                 .build();
 
         validateTransactionAccounts(tx);
-        validateTransactionOwnership(tx);
 
 
         Transaction saved = transactionRepository.save(tx);
+        onConfirmed(saved);
+        publishChange(saved, TransactionChangedEvent.Kind.CREATED);
         return toResponse(saved);
     }
 
@@ -160,15 +225,17 @@ public class TransactionService {
                                       Long destinationAccountId,
                                       BigDecimal amount,
                                       LocalDate operationDate,
-                                      String description) {
+                                      String description,
+                                      String idempotencyKey) {
 
-        User owner = getUserOrThrow(ownerId);
-        Account sourceAccount = getAccountForUserOrThrow(owner, sourceAccountId);
-        Account destinationAccount = getAccountForUserOrThrow(owner, destinationAccountId);
+        OwnerReferences.Snapshot refs = getReferencesOrThrow(ownerId);
+        User owner = entityManager.getReference(User.class, ownerId);
+        Account sourceAccount = getAccountForUserOrThrow(refs, sourceAccountId);
+        Account destinationAccount = getAccountForUserOrThrow(refs, destinationAccountId);
 
         validateAmountPositive(amount);
-        validateAccountActive(sourceAccount);
-        validateAccountActive(destinationAccount);
+        validateAccountActive(refs, sourceAccount);
+        validateAccountActive(refs, destinationAccount);
 
         if (sourceAccount.getId().equals(destinationAccount.getId())) {
             throw new IllegalArgumentException("Source and destination account must be different");
@@ -186,16 +253,342 @@ public class TransactionService {
                 .description(description)
                 .operationDate(operationDate != null ? operationDate : LocalDate.now())
                 .recordedAt(LocalDateTime.now())
+                .externalReference(idempotencyKey)
                 .build();
 
         validateTransactionAccounts(tx);
-        validateTransactionOwnership(tx);
 
 
         Transaction saved = transactionRepository.save(tx);
+        onConfirmed(saved);
+        publishChange(saved, TransactionChangedEvent.Kind.CREATED);
         return toResponse(saved);
     }
 
+    // ---------------------------------------------------------
+    //  BATCH (mezcla de EXPENSE / INCOME / TRANSFER)
+    // ---------------------------------------------------------
+
+    // entidades referenciadas por el batch, resueltas con una query por tipo
+    private record BatchLookups(Map<Long, User> users,
+                                Map<Long, Account> accounts,
+                                Map<Long, Category> categories,
+                                Map<Long, Tag> tags) { }
+
+    /**
+     * Alta de varias transacciones en una sola transacción de BD. Cada ítem se valida
+     * con las mismas reglas y mensajes que createExpense / createIncome / createTransfer;
+     * un ítem inválido se reporta en su posición y no impide el alta del resto.
+     */
+    public TransactionBatchResponse createBatch(List<BatchTransactionItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("items are required");
+        }
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new IllegalArgumentException("A batch can contain at most " + MAX_BATCH_ITEMS + " items");
+        }
+
+        BatchLookups lookups = resolveBatchLookups(items);
+        LocalDateTime now = LocalDateTime.now();
+
+        Transaction[] built = new Transaction[items.size()];
+        String[] errors = new String[items.size()];
+        List<Transaction> txs = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                built[i] = buildBatchItem(items.get(i), lookups, now);
+                txs.add(built[i]);
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+
+        if (!txs.isEmpty()) {
+            transactionRepository.saveAll(txs);
+
+            // saldo / rollups una vez por cuenta / bucket, igual que el import
+            balanceLedger.applyAllConfirmed(txs);
+            rollupLedger.addAll(txs);
+
+            Map<Long, List<Transaction>> byOwner = new HashMap<>();
+            for (Transaction tx : txs) {
+                byOwner.computeIfAbsent(tx.getOwner().getId(), id -> new ArrayList<>()).add(tx);
+            }
+            byOwner.forEach(this::onBatchCreated);
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(built[i] != null
+                    ? new BatchItemResult(i, true, toResponse(built[i]), null)
+                    : new BatchItemResult(i, false, null, errors[i]));
+        }
+        return new TransactionBatchResponse(txs.size(), items.size() - txs.size(), results);
+    }
+
+    private Transaction buildBatchItem(BatchTransactionItem item, BatchLookups lookups, LocalDateTime now) {
+
+        if (item == null || item.getType() == null) {
+            throw new IllegalArgumentException("type is required");
+        }
+
+        User owner = fromBatch(lookups.users(), item.getOwnerId(), "User");
+
+        Account sourceAccount = null;
+        Account destinationAccount = null;
+        Category category = null;
+        Set<Tag> tags = new HashSet<>();
+
+        switch (item.getType()) {
+            case EXPENSE -> {
+                sourceAccount = batchAccountForUser(lookups, owner, item.getSourceAccountId());
+                category = batchCategoryForUser(lookups, owner, item.getCategoryId());
+                tags = batchTagsForUser(lookups, owner, item.getTagIds());
+
+                validateAmountPositive(item.getAmount());
+                validateAccountActive(sourceAccount);
+                validateCategoryActive(category);
+            }
+            case INCOME -> {
+                destinationAccount = batchAccountForUser(lookups, owner, item.getDestinationAccountId());
+                category = batchCategoryForUser(lookups, owner, item.getCategoryId());
+                tags = batchTagsForUser(lookups, owner, item.getTagIds());
+
+                validateAmountPositive(item.getAmount());
+                validateAccountActive(destinationAccount);
+                validateCategoryActive(category);
+            }
+            case TRANSFER -> {
+                sourceAccount = batchAccountForUser(lookups, owner, item.getSourceAccountId());
+                destinationAccount = batchAccountForUser(lookups, owner, item.getDestinationAccountId());
+
+                validateAmountPositive(item.getAmount());
+                validateAccountActive(sourceAccount);
+                validateAccountActive(destinationAccount);
+            }
+        }
+
+        Transaction tx = Transaction.builder()
+                .owner(owner)
+                .type(item.getType())
+                .state(TransactionState.CONFIRMED)
+                .amount(item.getAmount())
+                .sourceAccount(sourceAccount)
+                .destinationAccount(destinationAccount)
+                .category(category)
+                .tags(tags)
+                .description(item.getDescription())
+                .operationDate(item.getOperationDate() != null ? item.getOperationDate() : now.toLocalDate())
+                .recordedAt(now)
+                .build();
+
+        validateTransactionAccounts(tx);
+        validateTransactionOwnership(tx);
+        return tx;
+    }
+
+    // checkpoints + evento por owner: el alta en lote se publica como un import
+    private void onBatchCreated(Long ownerId, List<Transaction> txs) {
+        Set<Long> accountIds = new HashSet<>();
+        LocalDate earliest = null;
+        for (Transaction tx : txs) {
+            accountIds.addAll(accountIdsOf(tx));
+            if (earliest == null || tx.getOperationDate().isBefore(earliest)) earliest = tx.getOperationDate();
+        }
+
+        checkpointLedger.invalidateFrom(accountIds, earliest);
+        eventPublisher.publishEvent(new TransactionsImportedEvent(
+                ownerId,
+                txs.stream().map(Transaction::getId).toList(),
+                Set.copyOf(accountIds),
+                earliest
+        ));
+    }
+
+    private BatchLookups resolveBatchLookups(List<BatchTransactionItem> items) {
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> accountIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> tagIds = new HashSet<>();
+
+        for (BatchTransactionItem item : items) {
+            if (item == null) {
+                continue;
+            }
+            addIfPresent(userIds, item.getOwnerId());
+            addIfPresent(accountIds, item.getSourceAccountId());
+            addIfPresent(accountIds, item.getDestinationAccountId());
+            addIfPresent(categoryIds, item.getCategoryId());
+            if (item.getTagIds() != null) {
+                item.getTagIds().forEach(id -> addIfPresent(tagIds, id));
+            }
+        }
+
+        return new BatchLookups(
+                byId(userIds, userRepository::findAllById, User::getId),
+                byId(accountIds, accountRepository::findAllById, Account::getId),
+                byId(categoryIds, categoryRepository::findAllById, Category::getId),
+                byId(tagIds, tagRepository::findAllById, Tag::getId)
+        );
+    }
+
+    private void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private <E> Map<Long, E> byId(Set<Long> ids,
+                                  Function<Collection<Long>, List<E>> finder,
+                                  Function<E, Long> idOf) {
+        Map<Long, E> result = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (E entity : finder.apply(ids)) {
+                result.put(idOf.apply(entity), entity);
+            }
+        }
+        return result;
+    }
+
+    private <E> E fromBatch(Map<Long, E> found, Long id, String entity) {
+        E value = id != null ? found.get(id) : null;
+        if (value == null) {
+            throw new IllegalArgumentException(entity + " not found: " + id);
+        }
+        return value;
+    }
+
+    private Account batchAccountForUser(BatchLookups lookups, User owner, Long accountId) {
+        Account account = fromBatch(lookups.accounts(), accountId, "Account");
+        if (!account.getOwner().getId().equals(owner.getId())) {
+            throw new IllegalArgumentException("Account does not belong to user");
+        }
+        return account;
+    }
+
+    private Category batchCategoryForUser(BatchLookups lookups, User owner, Long categoryId) {
+        Category category = fromBatch(lookups.categories(), categoryId, "Category");
+        if (!category.getOwner().getId().equals(owner.getId())) {
+            throw new IllegalArgumentException("Category does not belong to user");
+        }
+        return category;
+    }
+
+    private Set<Tag> batchTagsForUser(BatchLookups lookups, User owner, List<Long> tagIds) {
+        Set<Tag> result = new HashSet<>();
+        if (tagIds == null) {
+            return result;
+        }
+        for (Long tagId : tagIds) {
+            Tag tag = tagId != null ? lookups.tags().get(tagId) : null;
+            if (tag == null) {
+                throw new IllegalArgumentException("Some tagIds do not exist");
+            }
+            if (!tag.getOwner().getId().equals(owner.getId())) {
+                throw new IllegalArgumentException("Tag does not belong to user");
+            }
+            result.add(tag);
+        }
+        return result;
+    }
+
+    // ---------------------------------------------------------
+    //  IDEMPOTENCIA
+    // ---------------------------------------------------------
+
+    // alta previa con la misma Idempotency-Key (ver IdempotentTransactionService)
+    @Transactional(readOnly = true)
+    public Optional<TransactionResponse> findByIdempotencyKey(Long ownerId, String idempotencyKey) {
+        return transactionRepository.findByOwner_IdAndExternalReference(ownerId, idempotencyKey)
+                .map(this::toResponse);
+    }
+
+    // ---------------------------------------------------------
+    //  BÚSQUEDA POR DESCRIPCIÓN
+    // ---------------------------------------------------------
+
+    // GET /api/transactions/search: índice en memoria (TransactionSearch) + hidratación de la
+    // página con las mismas queries que el listado
+    @Transactional(readOnly = true)
+    public List<TransactionSearchHit> search(Long ownerId, String query, LocalDate from, LocalDate to,
+                                             Long accountId, Integer limit) {
+
+        if (ownerId == null) {
+            throw new IllegalArgumentException("ownerId is required");
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q is required");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must be <= to");
+        }
+
+        int pageSize = (limit == null || limit <= 0) ? 20 : Math.min(limit, MAX_SEARCH_RESULTS);
+
+        List<TransactionSearchIndex.Hit> hits = transactionSearch.search(
+                ownerId, query, new TransactionSearchIndex.Filter(from, to, accountId), pageSize);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TransactionResponse> byId = new HashMap<>();
+        List<Long> ids = hits.stream().map(TransactionSearchIndex.Hit::transactionId).toList();
+        for (TransactionResponse r : toResponses(transactionRepository.findRowsByIds(ids))) {
+            byId.put(r.getId(), r);
+        }
+
+        // orden del ranking; una fila borrada entre el índice y la BD simplemente no aparece
+        return hits.stream()
+                .filter(h -> byId.containsKey(h.transactionId()))
+                .map(h -> new TransactionSearchHit(byId.get(h.transactionId()), h.score()))
+                .toList();
+    }
+
+    // ---------------------------------------------------------
+    //  FILTROS POR TAGS (bitmaps, ver TransactionTagIndex)
+    // ---------------------------------------------------------
+
+    // GET /api/transactions/tagged?expr=12 AND (7 OR 9) AND NOT 3
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> listByTags(Long ownerId, String expression, LocalDate from, LocalDate to,
+                                                Integer limit) {
+
+        getUserOrThrow(ownerId);
+        TagExpression expr = TagExpression.parse(expression);
+        validateOptionalPeriod(from, to);
+
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        List<Long> ids = tagIndex.read(ownerId, index -> index.newest(index.match(expr, from, to), pageSize));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return toResponses(transactionRepository.findRowsByIds(ids));
+    }
+
+    // totales por tag de las transacciones que cumplen la expresión (null = todas) en el período
+    @Transactional(readOnly = true)
+    public List<TagTotalResponse> totalsByTag(Long ownerId, String expression, LocalDate from, LocalDate to) {
+
+        getUserOrThrow(ownerId);
+        TagExpression expr = (expression == null || expression.isBlank()) ? null : TagExpression.parse(expression);
+        validateOptionalPeriod(from, to);
+
+        return tagIndex.read(ownerId, index -> index.totalsByTag(index.match(expr, from, to), null))
+                .stream()
+                .map(t -> new TagTotalResponse(t.tagId(), t.count(), t.expenseTotal(), t.incomeTotal()))
+                .toList();
+    }
+
+    private void validateOptionalPeriod(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must be <= to");
+        }
+    }
+
     // ---------------------------------------------------------
     //  CANCEL / CONFIRM
     // ---------------------------------------------------------
@@ -207,8 +600,13 @@ public class TransactionService {
 
         // idempotente: si ya está cancelada, devolvés igual
         if (tx.getState() != TransactionState.CANCELED) {
+            boolean wasConfirmed = tx.getState() == TransactionState.CONFIRMED;
             tx.setState(TransactionState.CANCELED);
             transactionRepository.save(tx);
+            if (wasConfirmed) {
+                onUnconfirmed(tx);
+            }
+            publishChange(tx, TransactionChangedEvent.Kind.CANCELED);
         }
 
         return toResponse(tx);
@@ -226,8 +624,12 @@ public class TransactionService {
             throw new IllegalArgumentException("Canceled transaction cannot be confirmed");
         }
 
-        tx.setState(TransactionState.CONFIRMED);
-        transactionRepository.save(tx);
+        if (tx.getState() != TransactionState.CONFIRMED) {
+            tx.setState(TransactionState.CONFIRMED);
+            transactionRepository.save(tx);
+            onConfirmed(tx);
+            publishChange(tx, TransactionChangedEvent.Kind.CONFIRMED);
+        }
 
         return toResponse(tx);
     }
@@ -245,6 +647,13 @@ public class TransactionService {
             throw new IllegalStateException("Canceled transactions cannot be edited");
         }
 
+        // fecha y categoría pueden cambiar => se saca del rollup con los valores viejos
+        boolean confirmed = tx.getState() == TransactionState.CONFIRMED;
+        LocalDate previousDate = tx.getOperationDate();
+        if (confirmed) {
+            rollupLedger.remove(tx);
+        }
+
         // description
         if (req.getDescription() != null) {
             String d = req.getDescription().trim();
@@ -284,6 +693,20 @@ public class TransactionService {
         // pero podés dejarlo explícito:
         Transaction saved = transactionRepository.save(tx);
 
+        // monto, cuentas y estado no se editan acá => el saldo actual no cambia,
+        // pero mover la fecha sí cambia los saldos históricos entre ambas fechas
+        if (confirmed) {
+            rollupLedger.add(saved);
+            if (!saved.getOperationDate().equals(previousDate)) {
+                LocalDate earliest = saved.getOperationDate().isBefore(previousDate)
+                        ? saved.getOperationDate()
+                        : previousDate;
+                // el saldo no cambia: nadie tomó el lock de las cuentas en esta transacción
+                checkpointLedger.lockAndInvalidateFrom(accountIdsOf(saved), earliest);
+            }
+        }
+        publishChange(saved, TransactionChangedEvent.Kind.UPDATED);
+
         return toResponse(saved);
     }
 
@@ -291,17 +714,17 @@ public class TransactionService {
     //  LECTURA / CONSULTA
     // ---------------------------------------------------------
 
-    //Transacciones del Usuario
+    //Transacciones del Usuario (paginado por cursor: operationDate desc, id desc)
 
-    public List<TransactionResponse> getTransactionsForUser(Long ownerId) {
-        User owner = getUserOrThrow(ownerId);
-        return transactionRepository.findByOwner(owner)
-                                    .stream()
-                                    .map(this::toResponse)
-                                    .toList();
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionsForUser(Long ownerId, Integer limit, String cursor) {
+        getUserOrThrow(ownerId);
+        return pageForUser(ownerId, LIST_MIN_DATE, LIST_MAX_DATE, limit, cursor);
     }
 
-    public List<TransactionResponse> getTransactionsForUserInPeriod(Long ownerId, LocalDate from, LocalDate to) {
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionsForUserInPeriod(Long ownerId, LocalDate from, LocalDate to,
+                                                                  Integer limit, String cursor) {
 
         if (from == null || to == null) {
             throw new IllegalArgumentException("from and to are required");
@@ -310,30 +733,55 @@ public class TransactionService {
             throw new IllegalArgumentException("from must be <= to");
         }
 
-        User owner = userRepository.findById(ownerId)
+        userRepository.findById(ownerId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + ownerId));
 
-        return transactionRepository.findByOwnerAndOperationDateBetween(owner, from, to)
-                                    .stream()
-                                    .map(this::toResponse)
-                                    .toList();
+        return pageForUser(ownerId, from, to, limit, cursor);
+    }
+
+    // Keyset sobre (operationDate, id): cada página arranca en el cursor dentro del índice
+    // (owner, fecha desc, id desc) y lee pageSize + 1 filas en orden (más las del mismo día que
+    // quedaron antes del cursor), así que la página 1000 cuesta lo mismo que la primera (ver
+    // TransactionRepository.findPageByOwner). Un alta concurrente nunca duplica ni saltea filas
+    // ya existentes: cae antes o después del cursor según su (fecha, id).
+    private TransactionPageResponse pageForUser(Long ownerId, LocalDate from, LocalDate to,
+                                                Integer limit, String cursor) {
+
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        LocalDate upTo = after.operationDate().isBefore(to) ? after.operationDate() : to;
+
+        // una fila de más para saber si hay página siguiente sin hacer un count
+        List<TransactionRepository.TransactionRow> rows = transactionRepository.findPageByOwner(
+                ownerId, from, upTo, after.operationDate(), after.id(), PageRequest.of(0, pageSize + 1)
+        );
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionRepository.TransactionRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionRepository.TransactionRow last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getOperationDate(), last.getId()).encode();
+        }
+
+        return new TransactionPageResponse(toResponses(page), nextCursor);
     }
 
     //Transacciones del Usuario en una cuenta especifica
 
+    @Transactional(readOnly = true)
     public List<TransactionResponse> listForAccount(Long ownerId, Long accountId, Integer limit,
                                                     LocalDate from, LocalDate to) {
 
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + ownerId));
-
-        int pageSize = (limit == null || limit <= 0) ? 20 : Math.min(limit, 200);
+        // el owner se valida contra la cuenta: las queries por cuenta no filtran por owner_id
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+        if (account.getOwner() == null || !account.getOwner().getId().equals(ownerId)) {
+            throw new IllegalArgumentException("Account does not belong to user");
+        }
 
-        var pageable = PageRequest.of(
-                0,
-                pageSize,
-                Sort.by(Sort.Direction.DESC, "operationDate").and(Sort.by(Sort.Direction.DESC, "id"))
-        );
+        int pageSize = (limit == null || limit <= 0) ? 20 : Math.min(limit, TransactionRepository.ACCOUNT_PAGE_MAX_ROWS);
 
         boolean hasPeriod = (from != null || to != null);
 
@@ -344,26 +792,49 @@ public class TransactionService {
             if (from.isAfter(to)) {
                 throw new IllegalArgumentException("from must be <= to");
             }
+        }
 
-            return transactionRepository
-                    .findByOwnerAndOperationDateBetweenAndSourceAccount_IdOrOwnerAndOperationDateBetweenAndDestinationAccount_Id(
-                            owner, from, to, accountId,
-                            owner, from, to, accountId,
-                            pageable
-                    )
-                    .stream()
-                    .map(this::toResponse)
-                    .toList();
-        }
-
-        return transactionRepository
-                .findByOwnerAndSourceAccount_IdOrOwnerAndDestinationAccount_Id(
-                        owner, accountId,
-                        owner, accountId,
-                        pageable
-                )
-                .stream()
-                .map(this::toResponse)
+        List<Long> ids = transactionRepository.findPageIdsForAccount(
+                accountId,
+                hasPeriod ? from : LIST_MIN_DATE,
+                hasPeriod ? to : LIST_MAX_DATE,
+                pageSize
+        );
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return toResponses(transactionRepository.findRowsByIds(ids));
+    }
+
+    // Proyección -> DTO: una query para las filas + una para los tags de toda la página,
+    // sin importar el tamaño de la página (sin lazy loads ni dirty-checking de entidades)
+    private List<TransactionResponse> toResponses(List<? extends TransactionRepository.TransactionRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Long>> tagIdsByTx = new HashMap<>();
+        List<Long> ids = rows.stream().map(TransactionRepository.TransactionRow::getId).toList();
+        for (TransactionRepository.TransactionTagRow tr : transactionRepository.findTagIdsByTransactionIds(ids)) {
+            tagIdsByTx.computeIfAbsent(tr.getTransactionId(), k -> new ArrayList<>()).add(tr.getTagId());
+        }
+
+        return rows.stream()
+                .map(r -> new TransactionResponse(
+                        r.getId(),
+                        r.getOwnerId(),
+                        r.getType(),
+                        r.getState(),
+                        r.getAmount(),
+                        r.getOperationDate(),
+                        r.getRecordedAt(),
+                        r.getDescription(),
+                        r.getSourceAccountId(),
+                        r.getDestinationAccountId(),
+                        r.getCategoryId(),
+                        tagIdsByTx.getOrDefault(r.getId(), List.of())
+                ))
                 .toList();
     }
 
@@ -372,51 +843,129 @@ public class TransactionService {
     //  HELPERS / VALIDACIONES PRIVADAS
     // ---------------------------------------------------------
 
+    // la transacción empieza a contar (alta CONFIRMED o confirm): saldo + rollups
+    private void onConfirmed(Transaction tx) {
+        if (tx.getState() != TransactionState.CONFIRMED) {
+            return;
+        }
+        balanceLedger.applyConfirmed(tx);
+        rollupLedger.add(tx);
+        checkpointLedger.invalidateFrom(accountIdsOf(tx), tx.getOperationDate());
+    }
+
+    // una transacción CONFIRMED deja de contar (cancel)
+    private void onUnconfirmed(Transaction tx) {
+        balanceLedger.revertConfirmed(tx);
+        rollupLedger.remove(tx);
+        checkpointLedger.invalidateFrom(accountIdsOf(tx), tx.getOperationDate());
+    }
+
+    // aviso para estado derivado fuera de la BD (caches, índices); se consume después del commit
+    private void publishChange(Transaction tx, TransactionChangedEvent.Kind kind) {
+        eventPublisher.publishEvent(new TransactionChangedEvent(
+                tx.getOwner().getId(),
+                tx.getId(),
+                tx.getType(),
+                kind,
+                accountIdsOf(tx),
+                tx.getOperationDate()
+        ));
+    }
+
+    private Set<Long> accountIdsOf(Transaction tx) {
+        Set<Long> accountIds = new HashSet<>();
+        if (tx.getSourceAccount() != null) {
+            accountIds.add(tx.getSourceAccount().getId());
+        }
+        if (tx.getDestinationAccount() != null) {
+            accountIds.add(tx.getDestinationAccount().getId());
+        }
+        return Set.copyOf(accountIds);
+    }
+
     private User getUserOrThrow(Long ownerId) {
         return userRepository.findById(ownerId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + ownerId));
     }
 
-    private Account getAccountForUserOrThrow(User owner, Long accountId) {
-        Account account = accountRepository.findById(accountId)
+    private OwnerReferences.Snapshot getReferencesOrThrow(Long ownerId) {
+        OwnerReferences.Snapshot refs = ownerId != null ? ownerReferences.forOwner(ownerId) : null;
+        if (refs == null) {
+            throw new IllegalArgumentException("User not found: " + ownerId);
+        }
+        return refs;
+    }
+
+    // En la foto => proxy sin leer la fila. Fuera de la foto se busca en la BD como antes:
+    // inexistente / de otro owner => error; del owner => la foto quedó vieja (alta sin pasar
+    // por AccountService) y se devuelve la entidad cargada.
+    private Account getAccountForUserOrThrow(OwnerReferences.Snapshot refs, Long accountId) {
+        if (refs.accountActive(accountId) != null) {
+            return entityManager.getReference(Account.class, accountId);
+        }
+
+        Account account = (accountId != null ? accountRepository.findById(accountId) : Optional.<Account>empty())
                 .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
 
-        if (!account.getOwner().getId().equals(owner.getId())) {
+        if (!account.getOwner().getId().equals(refs.ownerId())) {
             throw new IllegalArgumentException("Account does not belong to user");
         }
+        ownerReferences.invalidate(refs.ownerId());
         return account;
     }
 
-    private Category getCategoryForUserOrThrow(User owner, Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
+    private Category getCategoryForUserOrThrow(OwnerReferences.Snapshot refs, Long categoryId) {
+        if (refs.categoryActive(categoryId) != null) {
+            return entityManager.getReference(Category.class, categoryId);
+        }
+
+        Category category = (categoryId != null ? categoryRepository.findById(categoryId) : Optional.<Category>empty())
                 .orElseThrow(() -> new IllegalArgumentException("Category not found: " + categoryId));
 
-        if (!category.getOwner().getId().equals(owner.getId())) {
+        if (!category.getOwner().getId().equals(refs.ownerId())) {
             throw new IllegalArgumentException("Category does not belong to user");
         }
+        ownerReferences.invalidate(refs.ownerId());
         return category;
     }
 
-    private Set<Tag> getTagsForUser(User owner, List<Long> tagIds) {
+    private Set<Tag> getTagsForUser(OwnerReferences.Snapshot refs, List<Long> tagIds) {
         if (tagIds == null || tagIds.isEmpty()) {
             return new HashSet<>();
         }
 
-        List<Tag> tags = tagRepository.findAllById(tagIds);
-
-        // 1) si faltó alguno, error
-        if (tags.size() != tagIds.size()) {
+        // 1) un id repetido o null cuenta como inexistente (igual que con findAllById)
+        Set<Long> distinct = new HashSet<>(tagIds);
+        if (distinct.size() != tagIds.size() || distinct.contains(null)) {
             throw new IllegalArgumentException("Some tagIds do not exist");
         }
 
-        // 2) ownership
+        // proxies sin inicializar: Tag usa igualdad por identidad, el HashSet no los carga
         Set<Tag> result = new HashSet<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long tagId : tagIds) {
+            if (refs.hasTag(tagId)) {
+                result.add(entityManager.getReference(Tag.class, tagId));
+            } else {
+                missing.add(tagId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        // 2) fuera de la foto: existencia + ownership contra la BD
+        List<Tag> tags = tagRepository.findAllById(missing);
+        if (tags.size() != missing.size()) {
+            throw new IllegalArgumentException("Some tagIds do not exist");
+        }
         for (Tag tag : tags) {
-            if (!tag.getOwner().getId().equals(owner.getId())) {
+            if (!tag.getOwner().getId().equals(refs.ownerId())) {
                 throw new IllegalArgumentException("Tag does not belong to user");
             }
             result.add(tag);
         }
+        ownerReferences.invalidate(refs.ownerId());
         return result;
     }
 
@@ -439,7 +988,27 @@ public class TransactionService {
         }
     }
 
-    private void validateTransactionAccounts(Transaction tx) {
+    // contra la foto; si la entidad no estaba en ella, ya viene cargada de la BD
+    private void validateAccountActive(OwnerReferences.Snapshot refs, Account account) {
+        Boolean active = refs.accountActive(account.getId());
+        if (active == null) {
+            validateAccountActive(account);
+        } else if (!active) {
+            throw new IllegalArgumentException("Account is not active");
+        }
+    }
+
+    private void validateCategoryActive(OwnerReferences.Snapshot refs, Category category) {
+        Boolean active = refs.categoryActive(category.getId());
+        if (active == null) {
+            validateCategoryActive(category);
+        } else if (!active) {
+            throw new IllegalArgumentException("Category is not active");
+        }
+    }
+
+    // reglas de forma por tipo; también las usa TransactionImportService
+    static void validateTransactionAccounts(Transaction tx) {
 
         if (tx.isExpense()) {
             if (tx.getSourceAccount() == null) {
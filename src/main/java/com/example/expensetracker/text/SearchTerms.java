@@ -0,0 +1,37 @@
+package com.example.expensetracker.text;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tokenización de texto libre para búsquedas: la misma para los documentos del índice en
+ * memoria (TransactionSearchIndex), para Transaction.searchText y para los términos de una
+ * búsqueda, así todos matchean igual.
+ *
+ * - Minúsculas (Locale.ROOT) y sin acentos ("Café" -> cafe).
+ * - Partido en letras/dígitos ("Uber Eats" -> uber, eats).
+ */
+public final class SearchTerms {
+
+    private SearchTerms() {
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> terms = new ArrayList<>();
+        for (String t : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!t.isEmpty()) {
+                terms.add(t);
+            }
+        }
+        return terms;
+    }
+}
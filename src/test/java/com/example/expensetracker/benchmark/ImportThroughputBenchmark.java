@@ -0,0 +1,133 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.ExpenseTrackerApplication;
+import com.example.expensetracker.dto.transaction.TransactionImportResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.TransactionImportService;
+import com.example.expensetracker.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark en proceso del import masivo: filas/s de POST /api/transactions/import (CSV) con
+ * distintos import.chunk-size, contra el mismo volumen dado de alta gasto por gasto con
+ * TransactionService.createExpense (una transacción de BD por fila).
+ *
+ * Cada corrida levanta la app con su propia H2 en memoria. No corre con `mvn test`; se ejecuta con:
+ *
+ *   mvn -Pbenchmark test -Dtest=ImportThroughputBenchmark -Dbenchmark.importRows=200000
+ */
+@Tag("benchmark")
+class ImportThroughputBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.importRows", 50_000);
+    // el alta fila por fila es mucho más lenta: se mide sobre menos filas y se compara filas/s
+    private static final int SINGLE_ROWS = Integer.getInteger("benchmark.singleRows", 5_000);
+    private static final int[] CHUNK_SIZES = {100, 1000, 5000};
+
+    @Test
+    void importVsRowByRow() throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-14s %10s %10s %10s", "mode", "rows", "millis", "rows/s"));
+
+        for (int chunkSize : CHUNK_SIZES) {
+            try (ConfigurableApplicationContext ctx = start("import-" + chunkSize, chunkSize)) {
+                Fixture fx = seed(ctx);
+                byte[] csv = csv(fx, ROWS);
+
+                long start = System.nanoTime();
+                TransactionImportResponse res = ctx.getBean(TransactionImportService.class)
+                        .importTransactions(fx.ownerId(), "csv", new ByteArrayInputStream(csv));
+                long millis = (System.nanoTime() - start) / 1_000_000;
+
+                assertEquals(ROWS, res.getImportedRows());
+                lines.add(format("chunk=" + chunkSize, ROWS, millis));
+            }
+        }
+
+        try (ConfigurableApplicationContext ctx = start("single", 1000)) {
+            Fixture fx = seed(ctx);
+            TransactionService transactions = ctx.getBean(TransactionService.class);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < SINGLE_ROWS; i++) {
+                transactions.createExpense(fx.ownerId(), fx.accountId(), fx.categoryId(), new BigDecimal("1.00"),
+                        LocalDate.of(2025, 1, 1).plusDays(i % 365), "bench " + i, List.of(), null);
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            lines.add(format("createExpense", SINGLE_ROWS, millis));
+        }
+
+        System.out.println("importRows=" + ROWS + " singleRows=" + SINGLE_ROWS);
+        lines.forEach(System.out::println);
+    }
+
+    // ---------------------------------------------------------
+
+    private record Fixture(Long ownerId, Long accountId, Long categoryId) { }
+
+    // servlet como ThreadModeBenchmark (SecurityConfig necesita HttpSecurity); puerto al azar
+    private static ConfigurableApplicationContext start(String name, int chunkSize) {
+        return new SpringApplicationBuilder(ExpenseTrackerApplication.class).run(
+                "--server.port=0",
+                "--import.chunk-size=" + chunkSize,
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + name + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"
+        );
+    }
+
+    private static Fixture seed(ConfigurableApplicationContext ctx) {
+        User owner = ctx.getBean(UserRepository.class).save(User.builder()
+                .name("Benchmark")
+                .email("benchmark@test.local")
+                .passwordHash("x")
+                .build());
+        Account account = ctx.getBean(AccountRepository.class).save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000000.00"))
+                .build());
+        Category category = ctx.getBean(CategoryRepository.class).save(Category.builder()
+                .owner(owner)
+                .name("Bench")
+                .active(true)
+                .build());
+        return new Fixture(owner.getId(), account.getId(), category.getId());
+    }
+
+    // gastos repartidos en un año (varios buckets de rollup y meses de checkpoints)
+    private static byte[] csv(Fixture fx, int rows) {
+        StringBuilder sb = new StringBuilder("type,operationDate,amount,sourceAccountId,categoryId,description\n");
+        for (int i = 0; i < rows; i++) {
+            sb.append("EXPENSE,").append(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .append(",1.00,").append(fx.accountId())
+                    .append(',').append(fx.categoryId())
+                    .append(",bench ").append(i).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String format(String mode, int rows, long millis) {
+        double rps = millis == 0 ? 0 : rows * 1000.0 / millis;
+        return String.format("%-14s %10d %10d %10.1f", mode, rows, millis, rps);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.money.Money;
+import com.example.expensetracker.money.MoneySum;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Microbenchmark en proceso: suma de montos con BigDecimal vs long en centavos (Money/MoneySum),
+ * que es lo que hacen los totales por tag (TagBitmapIndex) y los ledgers en altas masivas.
+ *
+ * Mide tres variantes sobre el mismo set de montos:
+ *   - bigdecimal : acumulador BigDecimal (como antes)
+ *   - convert    : BigDecimal de entrada convertido a centavos en cada suma (ledgers)
+ *   - long       : montos ya guardados en centavos (índice de tags)
+ *
+ * Sin JMH, igual que ImportThroughputBenchmark y el resto de benchmark/: jmh-core no está entre
+ * las dependencias del proyecto y el build tiene que resolver offline. Warmup + varias rondas,
+ * se reporta la mejor y el resultado se consume (assert) para que el JIT no elimine el loop.
+ * Las cifras sirven para comparar variantes entre sí, no como números absolutos.
+ * No corre con `mvn test`; se ejecuta con:
+ *
+ *   mvn -Pbenchmark test -Dtest=MoneySumBenchmark -Dbenchmark.amounts=1000000 -Dbenchmark.rounds=10
+ */
+@Tag("benchmark")
+class MoneySumBenchmark {
+
+    private static final int AMOUNTS = Integer.getInteger("benchmark.amounts", 1_000_000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 10);
+    private static final int WARMUP_ROUNDS = Integer.getInteger("benchmark.warmup", 5);
+
+    @Test
+    void bigDecimalVsLongSummation() {
+        Random random = new Random(42);
+        BigDecimal[] decimals = new BigDecimal[AMOUNTS];
+        long[] minor = new long[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            long cents = 1 + random.nextInt(10_000_000);
+            decimals[i] = BigDecimal.valueOf(cents, Money.STORAGE_DIGITS);
+            minor[i] = cents;
+        }
+
+        BigDecimal expected = sumBigDecimal(decimals);
+        assertEquals(expected, sumConverting(decimals));
+        assertEquals(expected, sumLong(minor));
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sumBigDecimal(decimals);
+            sumConverting(decimals);
+            sumLong(minor);
+        }
+
+        long bestBigDecimal = Long.MAX_VALUE;
+        long bestConvert = Long.MAX_VALUE;
+        long bestLong = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            bestBigDecimal = Math.min(bestBigDecimal, time(() -> sumBigDecimal(decimals), expected));
+            bestConvert = Math.min(bestConvert, time(() -> sumConverting(decimals), expected));
+            bestLong = Math.min(bestLong, time(() -> sumLong(minor), expected));
+        }
+
+        System.out.println("amounts=" + AMOUNTS + " rounds=" + ROUNDS + " (mejor ronda)");
+        System.out.println(String.format("%-11s %12s %10s", "variant", "micros", "ns/amount"));
+        System.out.println(format("bigdecimal", bestBigDecimal));
+        System.out.println(format("convert", bestConvert));
+        System.out.println(format("long", bestLong));
+    }
+
+    // ---------------------------------------------------------
+
+    private static BigDecimal sumBigDecimal(BigDecimal[] amounts) {
+        BigDecimal total = BigDecimal.ZERO.setScale(Money.STORAGE_DIGITS);
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    private static BigDecimal sumConverting(BigDecimal[] amounts) {
+        MoneySum total = new MoneySum(Money.STORAGE_DIGITS);
+        for (BigDecimal amount : amounts) {
+            total.add(amount);
+        }
+        return total.total();
+    }
+
+    private static BigDecimal sumLong(long[] amounts) {
+        MoneySum total = new MoneySum(Money.STORAGE_DIGITS);
+        for (long amount : amounts) {
+            total.addMinor(amount);
+        }
+        return total.total();
+    }
+
+    private static long time(Supplier<BigDecimal> run, BigDecimal expected) {
+        long start = System.nanoTime();
+        BigDecimal result = run.get();
+        long nanos = System.nanoTime() - start;
+        assertEquals(expected, result);
+        return nanos;
+    }
+
+    private static String format(String variant, long nanos) {
+        return String.format("%-11s %12d %10.2f", variant, nanos / 1_000, (double) nanos / AMOUNTS);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.expensetracker.benchmark;
+
+import com.example.expensetracker.ExpenseTrackerApplication;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark en proceso: hilos de plataforma vs virtual threads.
+ *
+ * Levanta la app dos veces (puerto aleatorio, H2 en memoria separada), carga datos y mide
+ * throughput de POST /api/transactions/expense y GET /api/summary con N clientes concurrentes.
+ * No corre con `mvn test`; se ejecuta con:
+ *
+ *   mvn -Pbenchmark test -Dbenchmark.requests=5000 -Dbenchmark.concurrency=400
+ */
+@Tag("benchmark")
+class ThreadModeBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 200);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 200);
+
+    @Test
+    void platformVsVirtualThreads() throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-9s %-8s %8s %8s %10s %10s",
+                "mode", "endpoint", "ok", "503", "millis", "req/s"));
+
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext ctx = start(virtual)) {
+                Fixture fx = seed(ctx);
+                String base = "http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+                String mode = virtual ? "virtual" : "platform";
+
+                // a cada alta le toca su fecha; cada lectura pide un top distinto para no pegarle al cache
+                IntFunction<HttpRequest> write = i -> HttpRequest.newBuilder(URI.create(base + "/api/transactions/expense"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("""
+                                {"ownerId":%d,"sourceAccountId":%d,"categoryId":%d,"amount":1.00,"operationDate":"%s"}
+                                """.formatted(fx.ownerId(), fx.accountId(), fx.categoryId(), LocalDate.of(2025, 1, 1).plusDays(i % 365))))
+                        .build();
+                IntFunction<HttpRequest> read = i -> HttpRequest.newBuilder(URI.create(
+                                base + "/api/summary?ownerId=" + fx.ownerId() + "&from=2025-01-01&to=2025-12-31&top=" + (i + 1)))
+                        .GET()
+                        .build();
+
+                run(write, WARMUP);
+                run(read, WARMUP);
+                lines.add(format(mode, "writes", run(write, REQUESTS)));
+                lines.add(format(mode, "reads", run(read, REQUESTS)));
+            }
+        }
+
+        System.out.println("requests=" + REQUESTS + " concurrency=" + CONCURRENCY);
+        lines.forEach(System.out::println);
+    }
+
+    // ---------------------------------------------------------
+
+    private record Fixture(Long ownerId, Long accountId, Long categoryId) { }
+
+    private record Result(int ok, int unavailable, long millis) { }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(ExpenseTrackerApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + (virtual ? "virtual" : "platform") + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"
+        );
+    }
+
+    private static Fixture seed(ConfigurableApplicationContext ctx) {
+        User owner = ctx.getBean(UserRepository.class).save(User.builder()
+                .name("Benchmark")
+                .email("benchmark@test.local")
+                .passwordHash("x")
+                .build());
+        Account account = ctx.getBean(AccountRepository.class).save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000000.00"))
+                .build());
+        Category category = ctx.getBean(CategoryRepository.class).save(Category.builder()
+                .owner(owner)
+                .name("Bench")
+                .active(true)
+                .build());
+        return new Fixture(owner.getId(), account.getId(), category.getId());
+    }
+
+    // el cliente usa virtual threads en los dos modos para que no sea él el cuello de botella
+    private static Result run(IntFunction<HttpRequest> requests, int count) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger unavailable = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int n = i;
+                inFlight.acquire();
+                futures.add(clients.submit(() -> {
+                    try {
+                        int status = client.send(requests.apply(n), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 200) ok.incrementAndGet();
+                        else if (status == 503) unavailable.incrementAndGet();
+                        return null;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        // 503 = rechazado por el tope de concurrencia; cualquier otro status es un error real
+        assertEquals(count, ok.get() + unavailable.get(), "unexpected non-200/503 responses");
+        return new Result(ok.get(), unavailable.get(), millis);
+    }
+
+    private static String format(String mode, String endpoint, Result r) {
+        double rps = r.millis() == 0 ? 0 : (r.ok() + r.unavailable()) * 1000.0 / r.millis();
+        return String.format("%-9s %-8s %8d %8d %10d %10.1f", mode, endpoint, r.ok(), r.unavailable(), r.millis(), rps);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.dto.account.AccountBalanceResponse;
+import com.example.expensetracker.dto.account.AccountSummaryResponse;
+import com.example.expensetracker.dto.cache.CacheStatsResponse;
+import com.example.expensetracker.dto.summary.SummaryResponse;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.AccountChangedEvent;
+import com.example.expensetracker.event.CategoryChangedEvent;
+import com.example.expensetracker.event.MonthlyRollupsRebuiltEvent;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+// los listeners se llaman directo: acá importa qué invalida cada evento, no el AFTER_COMMIT
+class DashboardCachesTests {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 1, 31);
+
+    private DashboardCaches caches;
+
+    @BeforeEach
+    void setUp() {
+        caches = new DashboardCaches(100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void transactionWritesInvalidateOnlyTheirOwnerAndAccounts() {
+        SummaryResponse owner1 = summary(1L);
+        SummaryResponse owner2 = summary(2L);
+        AccountBalanceResponse account10 = balance(10L, 1L);
+        AccountBalanceResponse account11 = balance(11L, 1L);
+
+        caches.onTransactionChanged(new TransactionChangedEvent(
+                1L, 100L, TransactionType.EXPENSE, TransactionChangedEvent.Kind.CREATED, Set.of(10L), FROM));
+
+        assertNotSame(owner1, summary(1L));
+        assertSame(owner2, summary(2L));
+        assertNotSame(account10, balance(10L, 1L));
+        assertSame(account11, balance(11L, 1L));
+    }
+
+    @Test
+    void transfersAndUpdatesOnlyInvalidateWhatTheyTouch() {
+        SummaryResponse summary = summary(1L);
+        AccountBalanceResponse balance = balance(10L, 1L);
+
+        // una transferencia no entra en el summary
+        caches.onTransactionChanged(new TransactionChangedEvent(
+                1L, 100L, TransactionType.TRANSFER, TransactionChangedEvent.Kind.CREATED, Set.of(10L), FROM));
+        assertSame(summary, summary(1L));
+        balance = assertReloaded(balance, balance(10L, 1L));
+
+        // un UPDATED no mueve saldos
+        caches.onTransactionChanged(new TransactionChangedEvent(
+                1L, 100L, TransactionType.EXPENSE, TransactionChangedEvent.Kind.UPDATED, Set.of(10L), FROM));
+        assertSame(balance, balance(10L, 1L));
+        assertNotSame(summary, summary(1L));
+    }
+
+    @Test
+    void accountChangesInvalidateTheListAndTheBalanceButNotTheSummary() {
+        SummaryResponse summary = summary(1L);
+        List<AccountSummaryResponse> list = accountList(1L);
+        AccountBalanceResponse balance = balance(10L, 1L);
+
+        caches.onAccountChanged(new AccountChangedEvent(1L, 10L));
+
+        assertSame(summary, summary(1L));
+        assertNotSame(list, accountList(1L));
+        assertNotSame(balance, balance(10L, 1L));
+    }
+
+    @Test
+    void categoryChangesAndRollupRebuildsInvalidateSummaries() {
+        SummaryResponse owner1 = summary(1L);
+        SummaryResponse owner2 = summary(2L);
+        List<AccountSummaryResponse> list = accountList(1L);
+
+        // renombrar una categoría cambia el top del summary
+        caches.onCategoryChanged(new CategoryChangedEvent(1L, 5L));
+        owner1 = assertReloaded(owner1, summary(1L));
+        assertSame(owner2, summary(2L));
+        assertSame(list, accountList(1L));
+
+        caches.onRollupsRebuilt(new MonthlyRollupsRebuiltEvent(Set.of(2L)));
+        assertSame(owner1, summary(1L));
+        assertNotSame(owner2, summary(2L));
+    }
+
+    @Test
+    void statsCountPerCache() {
+        summary(1L);
+        summary(1L);
+        balance(10L, 1L);
+        caches.onCategoryChanged(new CategoryChangedEvent(1L, 5L));
+
+        Map<String, CacheStatsResponse> stats = caches.stats().stream()
+                .collect(Collectors.toMap(CacheStatsResponse::getName, Function.identity()));
+
+        assertEquals(1, stats.get("summary").getHits());
+        assertEquals(1, stats.get("summary").getMisses());
+        assertEquals(1, stats.get("summary").getInvalidations());
+        assertEquals(0, stats.get("summary").getSize());
+        assertEquals(1, stats.get("accountBalance").getSize());
+        assertEquals(0, stats.get("accountList").getMisses());
+    }
+
+    // ---------------------------------------------------------
+
+    private static <T> T assertReloaded(T before, T after) {
+        assertNotSame(before, after);
+        return after;
+    }
+
+    // cada carga crea una instancia nueva: assertSame = hit, assertNotSame = recargado
+    private SummaryResponse summary(Long ownerId) {
+        return caches.summary(new DashboardCaches.SummaryKey(ownerId, FROM, TO, 5, null),
+                () -> new SummaryResponse(ownerId, FROM, TO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of(), null));
+    }
+
+    private List<AccountSummaryResponse> accountList(Long ownerId) {
+        return caches.accountList(new DashboardCaches.AccountListKey(ownerId, true),
+                () -> List.of(new AccountSummaryResponse(10L, ownerId, "Wallet", null, null, BigDecimal.ZERO, true)));
+    }
+
+    private AccountBalanceResponse balance(Long accountId, Long ownerId) {
+        return caches.balance(accountId, () -> new AccountBalanceResponse(accountId, ownerId, "Wallet", null, BigDecimal.ZERO));
+    }
+}
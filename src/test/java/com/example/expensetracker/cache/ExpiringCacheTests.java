@@ -0,0 +1,104 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.dto.cache.CacheStatsResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpiringCacheTests {
+
+    // key = "scope:nombre"
+    private static Long scopeOf(String key) {
+        return Long.valueOf(key.substring(0, key.indexOf(':')));
+    }
+
+    @Test
+    void hitsAreServedUntilTheTtlExpires() {
+        ExpiringCache<String, String> live = new ExpiringCache<>("live", 10, Duration.ofMinutes(5), ExpiringCacheTests::scopeOf);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", live.get("1:a", () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", live.get("1:a", () -> "v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+
+        // TTL 0: cada entrada ya está vencida en la siguiente lectura
+        ExpiringCache<String, String> expired = new ExpiringCache<>("expired", 10, Duration.ZERO, ExpiringCacheTests::scopeOf);
+        expired.get("1:a", () -> "old");
+        assertEquals("new", expired.get("1:a", () -> "new"));
+
+        CacheStatsResponse stats = expired.stats();
+        assertEquals(1, stats.getExpirations());
+        assertEquals(2, stats.getMisses());
+        assertEquals(0, stats.getHits());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryPastMaxEntries() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>("lru", 2, Duration.ofMinutes(5), ExpiringCacheTests::scopeOf);
+        cache.get("1:a", () -> "a");
+        cache.get("1:b", () -> "b");
+        cache.get("1:a", () -> "a2");    // hit: "b" pasa a ser el menos usado
+        cache.get("1:c", () -> "c");
+
+        assertEquals("a", cache.get("1:a", () -> "reloaded"));
+        assertEquals("c", cache.get("1:c", () -> "reloaded"));
+        assertEquals("reloaded", cache.get("1:b", () -> "reloaded"));
+
+        CacheStatsResponse stats = cache.stats();
+        assertEquals(2, stats.getEvictions());   // "b" al entrar "c", y "a" al volver "b"
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    void aLoadThatOverlapsAnInvalidationIsNotStored() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>("race", 10, Duration.ofMinutes(5), ExpiringCacheTests::scopeOf);
+
+        // la escritura commitea mientras el lector todavía está cargando
+        String stale = cache.get("1:a", () -> {
+            cache.invalidateScope(1L);
+            return "stale";
+        });
+
+        assertEquals("stale", stale);
+        assertEquals(0, cache.stats().getSize());
+        assertEquals("fresh", cache.get("1:a", () -> "fresh"));
+        assertEquals("fresh", cache.get("1:a", () -> "other"));
+    }
+
+    @Test
+    void invalidationOnlyDropsTheKeysOfItsScope() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>("scopes", 10, Duration.ofMinutes(5), ExpiringCacheTests::scopeOf);
+        cache.get("1:a", () -> "1a");
+        cache.get("1:b", () -> "1b");
+        cache.get("2:a", () -> "2a");
+
+        cache.invalidateScope(1L);
+
+        assertEquals("2a", cache.get("2:a", () -> "reloaded"));
+        assertEquals("reloaded", cache.get("1:a", () -> "reloaded"));
+
+        CacheStatsResponse stats = cache.stats();
+        assertEquals(2, stats.getInvalidations());
+        assertEquals(1, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        assertEquals(0.2, stats.getHitRatio(), 1e-9);
+
+        cache.clear();
+        assertEquals(0, cache.stats().getSize());
+        assertEquals(4, cache.stats().getInvalidations());
+    }
+
+    @Test
+    void nullValuesAreNotCachedAndSizeMustBePositive() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>("nulls", 10, Duration.ofMinutes(5), ExpiringCacheTests::scopeOf);
+        cache.get("1:a", () -> null);
+        assertEquals("v", cache.get("1:a", () -> "v"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExpiringCache<String, String>("bad", 0, Duration.ofMinutes(5), ExpiringCacheTests::scopeOf));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.dto.account.AccountUpdateRequest;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Tag;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.TagRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.AccountService;
+import com.example.expensetracker.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class OwnerReferencesTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void expenseIsWrittenWithoutReadingReferenceRows() {
+        User owner = owner();
+        Account wallet = account(owner, "Wallet");
+        Category food = category(owner);
+        Tag a = tagRepository.save(Tag.builder().owner(owner).name("a").active(true).build());
+        Tag b = tagRepository.save(Tag.builder().owner(owner).name("b").active(true).build());
+
+        // arma la foto y el bucket del rollup; después, caché de segundo nivel vacía
+        expense(owner, wallet, food, List.of(a.getId()));
+        entityManagerFactory.getCache().evictAll();
+
+        Statistics stats = statistics();
+        stats.clear();
+        expense(owner, wallet, food, List.of(a.getId(), b.getId()));
+
+        assertEquals(1, stats.getEntityInsertCount());
+        assertEquals(1, stats.getCollectionRecreateCount());
+        // owner, cuenta, categoría y tags quedan como proxies (sin checkpoints, BalanceCheckpointLedger
+        // no bloquea la cuenta)
+        for (Class<?> entity : List.of(User.class, Account.class, Category.class, Tag.class)) {
+            EntityStatistics es = stats.getEntityStatistics(entity.getName());
+            assertEquals(0, es.getLoadCount() + es.getFetchCount(), entity.getSimpleName());
+        }
+    }
+
+    @Test
+    void snapshotFollowsServiceWritesAndFallsBackForUnknownIds() {
+        User owner = owner();
+        Account wallet = account(owner, "Wallet");
+        Category food = category(owner);
+        expense(owner, wallet, food, List.of());
+
+        // creada sin AccountService (sin evento): no está en la foto, se resuelve contra la BD
+        Account savings = account(owner, "Savings");
+        expense(owner, savings, food, List.of());
+
+        Account foreign = account(owner(), "Foreign");
+        IllegalArgumentException notOwned = assertThrows(IllegalArgumentException.class,
+                () -> expense(owner, foreign, food, List.of()));
+        assertEquals("Account does not belong to user", notOwned.getMessage());
+
+        AccountUpdateRequest deactivate = new AccountUpdateRequest();
+        deactivate.setActive(false);
+        accountService.update(wallet.getId(), deactivate);
+
+        IllegalArgumentException inactive = assertThrows(IllegalArgumentException.class,
+                () -> expense(owner, wallet, food, List.of()));
+        assertEquals("Account is not active", inactive.getMessage());
+    }
+
+    private void expense(User owner, Account account, Category category, List<Long> tagIds) {
+        transactionService.createExpense(owner.getId(), account.getId(), category.getId(),
+                new BigDecimal("10.00"), LocalDate.of(2025, 6, 10), "gasto", tagIds, null);
+    }
+
+    private User owner() {
+        return userRepository.save(User.builder()
+                .name("Refs")
+                .email("refs-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+    }
+
+    private Account account(User owner, String name) {
+        return accountRepository.save(Account.builder()
+                .owner(owner)
+                .name(name)
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000.00"))
+                .build());
+    }
+
+    private Category category(User owner) {
+        return categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name("Food")
+                .active(true)
+                .build());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.dto.account.AccountCreateRequest;
+import com.example.expensetracker.dto.account.AccountResponse;
+import com.example.expensetracker.dto.account.AccountUpdateRequest;
+import com.example.expensetracker.dto.category.CategoryCreateRequest;
+import com.example.expensetracker.dto.category.CategoryResponse;
+import com.example.expensetracker.dto.category.CategoryUpdateRequest;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.AccountService;
+import com.example.expensetracker.service.CategoryService;
+import com.example.expensetracker.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void repeatedReadsHitTheCacheAndWritesAreVisible() throws InterruptedException {
+        User owner = owner();
+        CategoryResponse food = categoryService.create(categoryRequest(owner, "Food"));
+        // el timestamp de invalidación de la tabla tiene resolución de ms: la lista cacheada
+        // tiene que ser posterior al INSERT para que la query cache la dé por vigente
+        Thread.sleep(5);
+
+        Statistics stats = statistics();
+        categoryRepository.findById(food.getId());
+        categoryService.listByOwner(owner.getId(), null);
+
+        stats.clear();
+        assertEquals("Food", categoryRepository.findById(food.getId()).orElseThrow().getName());
+        assertEquals(1, categoryService.listByOwner(owner.getId(), null).size());
+        assertEquals(0, stats.getPrepareStatementCount());
+        assertTrue(stats.getSecondLevelCacheHitCount() > 0);
+        assertTrue(stats.getQueryCacheHitCount() > 0);
+
+        CategoryUpdateRequest rename = new CategoryUpdateRequest();
+        rename.setName("Groceries");
+        categoryService.update(food.getId(), rename);
+
+        assertEquals("Groceries", categoryRepository.findById(food.getId()).orElseThrow().getName());
+        assertEquals(List.of("Groceries"),
+                categoryService.listByOwner(owner.getId(), null).stream().map(CategoryResponse::getName).toList());
+    }
+
+    @Test
+    void accountsStayOutOfTheCacheAndKeepTheirBalance() {
+        User owner = owner();
+        AccountCreateRequest create = new AccountCreateRequest();
+        create.setOwnerId(owner.getId());
+        create.setName("Wallet");
+        create.setType(AccountType.CASH);
+        create.setInitialBalance(new BigDecimal("100.00"));
+        AccountResponse wallet = accountService.create(create);
+        CategoryResponse food = categoryService.create(categoryRequest(owner, "Food"));
+
+        accountService.calculateCurrentBalance(wallet.getId());
+        transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal("30.00"), LocalDate.of(2025, 5, 1), "x", List.of(), null);
+
+        AccountUpdateRequest rename = new AccountUpdateRequest();
+        rename.setName("Main wallet");
+        accountService.update(wallet.getId(), rename);
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(accountService.calculateCurrentBalance(wallet.getId())));
+        assertEquals("Main wallet", accountRepository.findById(wallet.getId()).orElseThrow().getName());
+        // los updates masivos de saldo vaciarían la región en cada escritura: Account no se cachea
+        assertFalse(entityManagerFactory.getCache().contains(Account.class, wallet.getId()));
+    }
+
+    private User owner() {
+        return userRepository.save(User.builder()
+                .name("L2")
+                .email("l2-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+    }
+
+    private CategoryCreateRequest categoryRequest(User owner, String name) {
+        CategoryCreateRequest req = new CategoryCreateRequest();
+        req.setOwnerId(owner.getId());
+        req.setName(name);
+        return req;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.api.ApiExceptionHandler;
+import com.example.expensetracker.api.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+class DbConcurrencyLimitInterceptorTests {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(50);
+
+    @Test
+    void aRequestThatWaitsPastTheTimeoutGets503() throws Exception {
+        DbConcurrencyLimitInterceptor limiter = new DbConcurrencyLimitInterceptor(1, TIMEOUT);
+        MockHttpServletRequest holder = new MockHttpServletRequest();
+        assertTrue(limiter.preHandle(holder, new MockHttpServletResponse(), null));
+
+        long start = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class,
+                () -> limiter.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(TIMEOUT) >= 0);
+
+        // por el dispatcher, el rechazo sale como 503 del ApiExceptionHandler
+        mvc(limiter).perform(get("/ok"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503));
+
+        limiter.afterCompletion(holder, new MockHttpServletResponse(), null, null);
+        assertEquals(1, limiter.availablePermits());
+        mvc(limiter).perform(get("/ok")).andExpect(status().isOk());
+    }
+
+    @Test
+    void afterCompletionReleasesOnlyPermitsTakenByPreHandle() throws Exception {
+        DbConcurrencyLimitInterceptor limiter = new DbConcurrencyLimitInterceptor(2, TIMEOUT);
+        MockHttpServletRequest taken = new MockHttpServletRequest();
+        limiter.preHandle(taken, new MockHttpServletResponse(), null);
+        assertEquals(1, limiter.availablePermits());
+
+        // un request que nunca pasó por preHandle (o al que preHandle rechazó) no devuelve nada
+        limiter.afterCompletion(new MockHttpServletRequest(), new MockHttpServletResponse(), null, null);
+        assertEquals(1, limiter.availablePermits());
+
+        limiter.afterCompletion(taken, new MockHttpServletResponse(), null, null);
+        assertEquals(2, limiter.availablePermits());
+        // una segunda llamada con el mismo request no suma un permiso de más
+        limiter.afterCompletion(taken, new MockHttpServletResponse(), null, null);
+        assertEquals(2, limiter.availablePermits());
+    }
+
+    @Test
+    void permitsReturnAfterTheHandlerThrows() throws Exception {
+        DbConcurrencyLimitInterceptor limiter = new DbConcurrencyLimitInterceptor(2, TIMEOUT);
+        MockMvc mvc = mvc(limiter);
+
+        for (int i = 0; i < 5; i++) {
+            mvc.perform(get("/boom")).andExpect(status().isInternalServerError());
+        }
+        assertEquals(2, limiter.availablePermits());
+
+        mvc.perform(get("/ok")).andExpect(status().isOk());
+        assertEquals(2, limiter.availablePermits());
+    }
+
+    @Test
+    void maxConcurrentMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new DbConcurrencyLimitInterceptor(0, TIMEOUT));
+    }
+
+    // ---------------------------------------------------------
+
+    private static MockMvc mvc(DbConcurrencyLimitInterceptor limiter) {
+        return standaloneSetup(new TestController())
+                .addInterceptors(limiter)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+    }
+
+    @RestController
+    static class TestController {
+
+        @GetMapping("/ok")
+        String ok() {
+            return "ok";
+        }
+
+        @GetMapping("/boom")
+        String boom() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
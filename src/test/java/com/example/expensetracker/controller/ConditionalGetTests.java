@@ -0,0 +1,126 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.category.CategoryCreateRequest;
+import com.example.expensetracker.dto.category.CategoryUpdateRequest;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.service.CategoryService;
+import com.example.expensetracker.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private Long categoryId;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder()
+                .name("ETag")
+                .email("etag-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        CategoryCreateRequest req = new CategoryCreateRequest();
+        req.setOwnerId(owner.getId());
+        req.setName("Food");
+        categoryId = categoryService.create(req).getId();
+    }
+
+    @Test
+    void answersNotModifiedWithoutQueriesUntilTheOwnerWrites() throws Exception {
+        String url = "/api/categories?ownerId=" + owner.getId();
+
+        String etag = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, stats.getPrepareStatementCount());
+
+        CategoryUpdateRequest update = new CategoryUpdateRequest();
+        update.setName("Groceries");
+        categoryService.update(categoryId, update);
+
+        String newEtag = mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void renamingACategoryInTheTopListServesTheNewNameForTheOldEtag() throws Exception {
+        Account wallet = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("100.00"))
+                .build());
+        transactionService.createExpense(owner.getId(), wallet.getId(), categoryId,
+                new BigDecimal("12.00"), LocalDate.of(2025, 3, 10), "super", List.of(), null);
+        String url = "/api/summary?ownerId=" + owner.getId() + "&from=2025-03-01&to=2025-03-31&top=5";
+
+        // queda en DashboardCaches con el nombre viejo
+        String etag = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topCategories[0].categoryName").value("Food"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        CategoryUpdateRequest update = new CategoryUpdateRequest();
+        update.setName("Groceries");
+        categoryService.update(categoryId, update);
+
+        mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topCategories[0].categoryName").value("Groceries"));
+    }
+}
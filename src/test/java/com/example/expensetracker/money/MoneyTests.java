@@ -0,0 +1,57 @@
+package com.example.expensetracker.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTests {
+
+    @Test
+    void convertsAtTheEdgesWithTheCurrencyScale() {
+        assertEquals(1050, Money.of(new BigDecimal("10.5"), 2).minorUnits());
+        assertEquals(new BigDecimal("10.50"), Money.of(new BigDecimal("10.5"), 2).toBigDecimal());
+        assertEquals(11, Money.of(new BigDecimal("10.5"), 0).minorUnits());    // HALF_UP, como la columna
+        assertEquals(new BigDecimal("0.001"), Money.ofMinor(1, 3).toBigDecimal());
+
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e30"), 2));
+        assertThrows(IllegalArgumentException.class, () -> Money.zero(19));
+    }
+
+    @Test
+    void arithmeticIsOverflowCheckedAndScaleSafe() {
+        Money a = Money.of(new BigDecimal("1.25"), 2);
+        Money b = Money.of(new BigDecimal("0.75"), 2);
+
+        assertEquals(new BigDecimal("2.00"), a.plus(b).toBigDecimal());
+        assertEquals(new BigDecimal("0.50"), a.minus(b).toBigDecimal());
+        assertEquals(-125, a.negate().minorUnits());
+
+        Money max = Money.ofMinor(Long.MAX_VALUE, 2);
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1, 2)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE, 2).negate());
+        assertThrows(IllegalArgumentException.class, () -> a.plus(Money.ofMinor(1, 0)));
+    }
+
+    @Test
+    void sumSpillsToBigDecimalInsteadOfOverflowing() {
+        MoneySum sum = new MoneySum(2);
+        sum.addMinor(Long.MAX_VALUE).addMinor(Long.MAX_VALUE).addMinor(2);
+
+        BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE, 2).multiply(BigDecimal.TWO).add(new BigDecimal("0.02"));
+        assertEquals(expected, sum.total());
+        assertFalse(sum.fitsInLong());
+        assertEquals(3, sum.count());
+        assertThrows(ArithmeticException.class, sum::toMoney);
+
+        MoneySum small = new MoneySum(2).add(new BigDecimal("10.00")).subtract(new BigDecimal("2.5"));
+        assertTrue(small.fitsInLong());
+        assertEquals(Money.ofMinor(750, 2), small.toMoney());
+        assertEquals(new BigDecimal("1e30").add(new BigDecimal("7.50")),
+                small.add(new BigDecimal("1e30")).total());
+    }
+}
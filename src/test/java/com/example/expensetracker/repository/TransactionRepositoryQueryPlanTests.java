@@ -0,0 +1,210 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.dto.transaction.BatchTransactionItem;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Guarda contra regresiones de plan: si una query por cuenta vuelve a un OR (o se pierde un
+// índice del entity), H2 deja de usar los índices por rama y aparece un tableScan; si una
+// query paginada deja de leer su índice en orden, lee todo el rango y ordena (scanCount crece)
+@SpringBootTest
+class TransactionRepositoryQueryPlanTests {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final int ROWS_PER_DAY = 2;
+    private static final int SEEDED_ROWS = 300;
+    private static final int PAGE_SIZE = 20;
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scancount: (\\d+)");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void accountPageBranchesReadTheirOwnIndexesInOrder() {
+        Account wallet = seededAccount();
+
+        // SEEDED_ROWS > ACCOUNT_PAGE_MAX_ROWS: sin el orden del índice la rama lee todo y ordena
+        String plan = explainAnalyze(literal(TransactionRepository.ACCOUNT_PAGE_IDS_SQL, wallet.getId()));
+
+        assertTrue(plan.contains("idx_transactions_source_date_id"), plan);
+        assertTrue(plan.contains("idx_transactions_destination_date_id"), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+        assertEquals(2, occurrences(plan, "index sorted"), plan);
+        // cada rama corta en ACCOUNT_PAGE_MAX_ROWS, más la lectura de la tabla derivada
+        assertTrue(scanCount(plan) <= 2 * (TransactionRepository.ACCOUNT_PAGE_MAX_ROWS + 1), plan);
+    }
+
+    @Test
+    void netFlowBranchesSeekTheirOwnIndexes() {
+        for (String sql : List.of(
+                TransactionRepository.NET_FLOW_BETWEEN_SQL,
+                TransactionRepository.NET_FLOW_BEFORE_SQL,
+                TransactionRepository.DAILY_NET_FLOW_SQL)) {
+            String plan = explain(literal(sql, 1L));
+
+            assertTrue(plan.contains("idx_transactions_source_date_id"), plan);
+            assertTrue(plan.contains("idx_transactions_destination_date_id"), plan);
+            assertFalse(plan.contains("tablescan"), plan);
+        }
+    }
+
+    @Test
+    void ownerFlowsReadOnlyTheOwnersAccounts() {
+        Account wallet = seededAccount();
+
+        String plan = explainAnalyze(literal(TransactionRepository.FLOWS_BY_OWNER_SQL, wallet.getId())
+                .replace(":ownerId", String.valueOf(wallet.getOwner().getId())));
+
+        assertFalse(plan.contains("transactions.tablescan"), plan);
+        // cada rama lee a lo sumo las filas de la cuenta (todas salen de wallet)
+        assertTrue(scanCount(plan) <= 2 * (SEEDED_ROWS + 1) + 10, plan);
+    }
+
+    @Test
+    void ownerPageReadsOnlyThePageAtAnyDepth() {
+        Long ownerId = seededAccount().getOwner().getId();
+        LocalDate to = FIRST_DAY.plusYears(1);
+        LocalDate noCursor = LocalDate.of(9999, 12, 31);
+
+        List<TransactionRepository.TransactionRow> all = transactionRepository.findPageByOwner(
+                ownerId, FIRST_DAY, to, noCursor, Long.MAX_VALUE, PageRequest.of(0, SEEDED_ROWS));
+        // cursor de una página profunda: la primera fila de un día (la otra del día queda antes)
+        TransactionRepository.TransactionRow deep = all.get(SEEDED_ROWS / 2);
+
+        String sql = capturedSql(() -> transactionRepository.findPageByOwner(
+                ownerId, FIRST_DAY, to, noCursor, Long.MAX_VALUE, PageRequest.of(0, PAGE_SIZE + 1)));
+
+        // parámetros en orden: owner, from, upTo, afterDate (x2), afterId, limit
+        String first = explainAnalyze(sql, ownerId, FIRST_DAY, to, noCursor, noCursor, Long.MAX_VALUE, PAGE_SIZE + 1);
+        String deeper = explainAnalyze(sql, ownerId, FIRST_DAY, deep.getOperationDate(), deep.getOperationDate(),
+                deep.getOperationDate(), deep.getId(), PAGE_SIZE + 1);
+
+        for (String plan : List.of(first, deeper)) {
+            assertTrue(plan.contains("idx_transactions_owner_date_id"), plan);
+            assertTrue(plan.contains("index sorted"), plan);
+            assertTrue(scanCount(plan) <= PAGE_SIZE + ROWS_PER_DAY, plan);
+        }
+    }
+
+    // ---------------------------------------------------------
+
+    // owner nuevo con ROWS_PER_DAY gastos por día desde FIRST_DAY, en una cuenta
+    private Account seededAccount() {
+        User owner = userRepository.save(User.builder()
+                .name("Plans")
+                .email("plans-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        Account wallet = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("100000.00"))
+                .build());
+        Category food = categoryRepository.save(Category.builder().owner(owner).name("Food").active(true).build());
+
+        List<BatchTransactionItem> items = new ArrayList<>();
+        for (int i = 0; i < SEEDED_ROWS; i++) {
+            BatchTransactionItem item = new BatchTransactionItem();
+            item.setType(TransactionType.EXPENSE);
+            item.setOwnerId(owner.getId());
+            item.setSourceAccountId(wallet.getId());
+            item.setCategoryId(food.getId());
+            item.setAmount(BigDecimal.ONE);
+            item.setDescription("plan");
+            item.setOperationDate(FIRST_DAY.plusDays(i / ROWS_PER_DAY));
+            items.add(item);
+        }
+        transactionService.createBatch(items);
+        return wallet;
+    }
+
+    // SQL que Hibernate genera para una query JPQL (H2 lo registra mientras QUERY_STATISTICS está activo)
+    private String capturedSql(Runnable query) {
+        jdbc.execute("SET QUERY_STATISTICS TRUE");
+        try {
+            query.run();
+            return jdbc.queryForObject("""
+                    select sql_statement from information_schema.query_statistics
+                    where sql_statement like 'select t1_0.id,%' and sql_statement like '%fetch first%'
+                    """, String.class);
+        } finally {
+            jdbc.execute("SET QUERY_STATISTICS FALSE");
+        }
+    }
+
+    private String explainAnalyze(String sql, Object... params) {
+        return jdbc.queryForObject("EXPLAIN ANALYZE " + sql, String.class, params).toLowerCase(Locale.ROOT);
+    }
+
+    // suma de las tablas/índices leídos (una query con subqueries trae uno por rama)
+    private static long scanCount(String plan) {
+        Matcher m = SCAN_COUNT.matcher(plan);
+        long total = 0;
+        while (m.find()) {
+            total += Long.parseLong(m.group(1));
+        }
+        return total;
+    }
+
+    private String explain(String sql) {
+        return jdbc.queryForObject("EXPLAIN " + sql, String.class).toLowerCase(Locale.ROOT);
+    }
+
+    private static int occurrences(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    // SQL nativo del repositorio con valores literales en lugar de parámetros
+    private static String literal(String sql, Long accountId) {
+        return sql
+                .replace(":accountId", String.valueOf(accountId))
+                .replace(":state", "'CONFIRMED'")
+                .replace(":from", "DATE '2025-01-01'")
+                .replace(":to", "DATE '2025-12-31'")
+                .replace(":before", "DATE '2025-01-01'")
+                .replace(":limit", "20");
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.expensetracker.search;
+
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TagBitmapIndexTests {
+
+    private static final long FRIENDS = 1L;
+    private static final long UTN = 2L;
+    private static final long WORK = 3L;
+
+    private TagBitmapIndex index;
+
+    @BeforeEach
+    void seed() {
+        index = new TagBitmapIndex();
+        expense(10L, LocalDate.of(2024, 12, 31), "10.00", FRIENDS, UTN);
+        expense(11L, LocalDate.of(2025, 1, 15), "20.00", FRIENDS, UTN);
+        expense(12L, LocalDate.of(2025, 3, 1), "30.00", FRIENDS);
+        expense(13L, LocalDate.of(2025, 3, 2), "40.00", UTN, WORK);
+        index.upsert(14L, LocalDate.of(2025, 4, 1), new BigDecimal("100.00"), TransactionType.INCOME,
+                TransactionState.CONFIRMED, List.of(WORK));
+    }
+
+    @Test
+    void combinesTagExpressionsWithPeriod() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+
+        assertEquals(List.of(11L), newest("1 AND 2", from, to));
+        assertEquals(List.of(13L, 12L, 11L), newest("1 OR 2", from, to));
+        assertEquals(List.of(12L), newest("1 and not 2", from, to));
+        assertEquals(List.of(14L, 13L, 12L), newest("NOT (1 AND 2)", from, to));
+        assertEquals(List.of(11L, 10L), newest("1 AND 2", null, null));
+    }
+
+    @Test
+    void sumsByTagAndFollowsUpdatesAndCancels() {
+        List<TagBitmapIndex.TagTotal> totals = index.totalsByTag(index.match(null, null, null), List.of(FRIENDS, WORK));
+        assertEquals(new BigDecimal("60.00"), totals.get(0).expenseTotal());
+        assertEquals(3, totals.get(0).count());
+        assertEquals(new BigDecimal("40.00"), totals.get(1).expenseTotal());
+        assertEquals(new BigDecimal("100.00"), totals.get(1).incomeTotal());
+
+        // update de tags: 12 deja FRIENDS y pasa a WORK; 11 se cancela
+        expense(12L, LocalDate.of(2025, 3, 1), "30.00", WORK);
+        index.upsert(11L, LocalDate.of(2025, 1, 15), new BigDecimal("20.00"), TransactionType.EXPENSE,
+                TransactionState.CANCELED, List.of(FRIENDS, UTN));
+
+        totals = index.totalsByTag(index.match(null, null, null), List.of(FRIENDS, WORK));
+        assertEquals(new BigDecimal("10.00"), totals.get(0).expenseTotal());
+        assertEquals(new BigDecimal("70.00"), totals.get(1).expenseTotal());
+        assertTrue(newest("1 AND 2", LocalDate.of(2025, 1, 1), null).isEmpty());
+    }
+
+    @Test
+    void rejectsMalformedExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> TagExpression.parse("1 AND"));
+        assertThrows(IllegalArgumentException.class, () -> TagExpression.parse("(1 OR 2"));
+        assertThrows(IllegalArgumentException.class, () -> TagExpression.parse("friends"));
+    }
+
+    private void expense(Long id, LocalDate date, String amount, Long... tags) {
+        index.upsert(id, date, new BigDecimal(amount), TransactionType.EXPENSE, TransactionState.CONFIRMED, List.of(tags));
+    }
+
+    private List<Long> newest(String expr, LocalDate from, LocalDate to) {
+        return index.newest(index.match(TagExpression.parse(expr), from, to), 10);
+    }
+}
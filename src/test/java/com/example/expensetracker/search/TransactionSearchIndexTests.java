@@ -0,0 +1,76 @@
+package com.example.expensetracker.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionSearchIndexTests {
+
+    private static final Long OWNER = 1L;
+    private static final Long OTHER_OWNER = 2L;
+
+    @Test
+    void foldsCaseAndAccentsAndMatchesPrefixes() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        index.upsert(doc(10L, OWNER, "Uber al aeropuerto", LocalDate.of(2024, 5, 1), 100L));
+        index.upsert(doc(11L, OWNER, "Café con Martín", LocalDate.of(2024, 5, 2), 100L));
+
+        assertEquals(List.of(10L), ids(index.search(OWNER, "UBER", TransactionSearchIndex.Filter.NONE, 10)));
+        assertEquals(List.of(10L), ids(index.search(OWNER, "ub", TransactionSearchIndex.Filter.NONE, 10)));
+        assertEquals(List.of(11L), ids(index.search(OWNER, "cafe martin", TransactionSearchIndex.Filter.NONE, 10)));
+        // todos los términos tienen que matchear
+        assertTrue(index.search(OWNER, "uber cafe", TransactionSearchIndex.Filter.NONE, 10).isEmpty());
+    }
+
+    @Test
+    void ranksExactAbovePrefixAndRecentFirstOnTies() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        index.upsert(doc(1L, OWNER, "uberization talk", LocalDate.of(2025, 1, 1), 100L));
+        index.upsert(doc(2L, OWNER, "uber", LocalDate.of(2024, 1, 1), 100L));
+        index.upsert(doc(3L, OWNER, "uber", LocalDate.of(2024, 6, 1), 100L));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(index.search(OWNER, "uber", TransactionSearchIndex.Filter.NONE, 10)));
+    }
+
+    @Test
+    void appliesDateAndAccountFiltersAndOwnerIsolation() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        index.upsert(doc(1L, OWNER, "uber", LocalDate.of(2024, 1, 10), 100L));
+        index.upsert(doc(2L, OWNER, "uber", LocalDate.of(2025, 1, 10), 200L));
+        index.upsert(doc(3L, OTHER_OWNER, "uber", LocalDate.of(2025, 1, 10), 300L));
+
+        var in2025 = new TransactionSearchIndex.Filter(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), null);
+        var account100 = new TransactionSearchIndex.Filter(null, null, 100L);
+
+        assertEquals(List.of(2L), ids(index.search(OWNER, "uber", in2025, 10)));
+        assertEquals(List.of(1L), ids(index.search(OWNER, "uber", account100, 10)));
+        assertEquals(List.of(3L), ids(index.search(OTHER_OWNER, "uber", TransactionSearchIndex.Filter.NONE, 10)));
+    }
+
+    @Test
+    void upsertReplacesTermsAndRemoveDropsDocument() {
+        TransactionSearchIndex index = new TransactionSearchIndex();
+        index.upsert(doc(1L, OWNER, "uber", LocalDate.of(2025, 1, 1), 100L));
+        index.upsert(doc(1L, OWNER, "taxi", LocalDate.of(2025, 1, 1), 100L));
+
+        assertTrue(index.search(OWNER, "uber", TransactionSearchIndex.Filter.NONE, 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search(OWNER, "taxi", TransactionSearchIndex.Filter.NONE, 10)));
+
+        index.remove(OWNER, 1L);
+        assertTrue(index.search(OWNER, "taxi", TransactionSearchIndex.Filter.NONE, 10).isEmpty());
+        assertEquals(0, index.documentCount());
+    }
+
+    private static TransactionSearchIndex.Document doc(Long id, Long owner, String description,
+                                                       LocalDate date, Long accountId) {
+        return new TransactionSearchIndex.Document(id, owner, description, date, accountId, null);
+    }
+
+    private static List<Long> ids(List<TransactionSearchIndex.Hit> hits) {
+        return hits.stream().map(TransactionSearchIndex.Hit::transactionId).toList();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.account.BalanceDriftResponse;
+import com.example.expensetracker.dto.account.BalanceVerificationResponse;
+import com.example.expensetracker.dto.transaction.TransactionUpdateRequest;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AccountBalanceLedgerTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountBalanceVerifier verifier;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private Account wallet;
+    private Account bank;
+    private Category food;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder()
+                .name("Ledger")
+                .email("ledger-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        wallet = account("Wallet");
+        bank = account("Bank");
+        food = categoryRepository.save(Category.builder().owner(owner).name("Food").active(true).build());
+    }
+
+    @Test
+    void currentBalanceFollowsEveryWrite() {
+        Long expense = transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal("100.00"), LocalDate.of(2025, 3, 1), "gasto", List.of(), null).getId();
+        assertBalances("900.00", "1000.00");
+
+        transactionService.createIncome(owner.getId(), bank.getId(), food.getId(),
+                new BigDecimal("500.00"), LocalDate.of(2025, 3, 2), "sueldo", List.of(), null);
+        assertBalances("900.00", "1500.00");
+
+        Long transfer = transactionService.createTransfer(owner.getId(), wallet.getId(), bank.getId(),
+                new BigDecimal("200.00"), LocalDate.of(2025, 3, 3), "ahorro", null).getId();
+        assertBalances("700.00", "1700.00");
+
+        // cancel devuelve el monto; repetirlo no lo devuelve dos veces
+        transactionService.cancel(expense);
+        assertBalances("800.00", "1700.00");
+        transactionService.cancel(expense);
+        assertBalances("800.00", "1700.00");
+
+        // una PENDING no cuenta hasta que se confirma (y confirmar dos veces no descuenta dos veces)
+        Long pending = transactionRepository.save(Transaction.builder()
+                .owner(owner)
+                .type(TransactionType.EXPENSE)
+                .state(TransactionState.PENDING)
+                .amount(new BigDecimal("50.00"))
+                .sourceAccount(wallet)
+                .category(food)
+                .operationDate(LocalDate.of(2025, 3, 4))
+                .recordedAt(LocalDateTime.now())
+                .build()).getId();
+        assertBalances("800.00", "1700.00");
+        transactionService.confirm(pending);
+        assertBalances("750.00", "1700.00");
+        transactionService.confirm(pending);
+        assertBalances("750.00", "1700.00");
+
+        // editar descripción y fecha no mueve el saldo actual
+        TransactionUpdateRequest edit = new TransactionUpdateRequest();
+        edit.setDescription("ahorro mensual");
+        edit.setOperationDate(LocalDate.of(2025, 2, 28));
+        transactionService.update(transfer, edit);
+        assertBalances("750.00", "1700.00");
+
+        transactionService.cancel(transfer);
+        assertBalances("950.00", "1500.00");
+
+        assertNoDrift();
+    }
+
+    @Test
+    void verifierReportsAndRepairsDrift() {
+        transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal("30.00"), LocalDate.of(2025, 3, 1), "gasto", List.of(), null);
+        assertNoDrift();
+
+        // saldo corrido sin transacción que lo explique
+        transactionTemplate.executeWithoutResult(status ->
+                accountRepository.applyBalanceDelta(wallet.getId(), new BigDecimal("5.00")));
+
+        BalanceDriftResponse drift = driftsOfOwner(verifier.verify(false)).get(0);
+        assertEquals(wallet.getId(), drift.getAccountId());
+        assertEquals(0, new BigDecimal("975.00").compareTo(drift.getStoredBalance()));
+        assertEquals(0, new BigDecimal("970.00").compareTo(drift.getRecomputedBalance()));
+        assertEquals(0, new BigDecimal("5.00").compareTo(drift.getDifference()));
+
+        verifier.verify(true);
+        assertBalances("970.00", "1000.00");
+        assertNoDrift();
+    }
+
+    // ---------------------------------------------------------
+
+    private void assertBalances(String walletBalance, String bankBalance) {
+        assertBalance(wallet, walletBalance);
+        assertBalance(bank, bankBalance);
+    }
+
+    private void assertBalance(Account account, String expected) {
+        BigDecimal balance = accountRepository.findById(account.getId()).orElseThrow().getCurrentBalance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), account.getName() + ": " + balance);
+    }
+
+    // la BD es compartida entre tests: solo cuentan las cuentas de este owner
+    private void assertNoDrift() {
+        assertTrue(driftsOfOwner(verifier.verify(false)).isEmpty());
+    }
+
+    private List<BalanceDriftResponse> driftsOfOwner(BalanceVerificationResponse report) {
+        return report.getDrifts().stream()
+                .filter(d -> d.getOwnerId().equals(owner.getId()))
+                .toList();
+    }
+
+    private Account account(String name) {
+        return accountRepository.save(Account.builder()
+                .owner(owner)
+                .name(name)
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000.00"))
+                .build());
+    }
+}
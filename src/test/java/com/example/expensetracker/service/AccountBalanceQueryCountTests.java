@@ -0,0 +1,140 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.account.AccountSummaryResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Currency;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.CurrencyRepository;
+import com.example.expensetracker.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Saldos de todas las cuentas del owner: la cantidad de statements no depende de cuántas cuentas tiene.
+// Se mide con la caché de segundo nivel vacía (owner y cuentas leídos de la BD). La mitad de
+// las cuentas no tiene saldo en el ledger (filas anteriores): pasa por el recalculo agrupado.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AccountBalanceQueryCountTests {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void balancesCostFixedStatementCountAsAccountsGrow() {
+        User few = ownerWithAccounts(1);
+        User many = ownerWithAccounts(30);
+
+        long fewCount = statementsToList(few, 1);
+        long manyCount = statementsToList(many, 30);
+
+        assertEquals(fewCount, manyCount);
+    }
+
+    // statements de listByOwnerWithBalance; de paso, cada saldo refleja su gasto confirmado
+    private long statementsToList(User owner, int accounts) {
+        Statistics stats = statistics();
+        entityManagerFactory.getCache().evictAll();
+        stats.clear();
+
+        List<AccountSummaryResponse> balances = accountService.listByOwnerWithBalance(owner.getId(), null);
+        long count = stats.getPrepareStatementCount();
+
+        assertEquals(accounts, balances.size());
+        for (AccountSummaryResponse summary : balances) {
+            assertEquals(0, new BigDecimal("990.00").compareTo(summary.getCurrentBalance()), summary.getName());
+            assertEquals(currencyOf(summary.getName()), summary.getCurrencyCode(), summary.getName());
+        }
+        return count;
+    }
+
+    private User ownerWithAccounts(int accounts) {
+        User owner = userRepository.save(User.builder()
+                .name("Balances")
+                .email("balances-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        Category category = categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name("Food")
+                .active(true)
+                .build());
+        for (int i = 0; i < accounts; i++) {
+            String name = "Account " + i;
+            String code = currencyOf(name);
+            Account account = accountRepository.save(Account.builder()
+                    .owner(owner)
+                    .name(name)
+                    .type(AccountType.CASH)
+                    .currency(code != null ? currency(code) : null)
+                    .initialBalance(new BigDecimal("1000.00"))
+                    .build());
+            transactionService.createExpense(owner.getId(), account.getId(), category.getId(),
+                    new BigDecimal("10.00"), LocalDate.of(2025, 1, 10), "gasto " + i, List.of(), null);
+            if (i % 2 == 0) {
+                jdbc.update("update accounts set current_balance = null where id = ?", account.getId());
+            }
+        }
+        return owner;
+    }
+
+    // monedas por posición: XTS, XXX (códigos ISO de prueba) o sin moneda
+    private static String currencyOf(String accountName) {
+        int i = Integer.parseInt(accountName.substring(accountName.lastIndexOf(' ') + 1));
+        return switch (i % 3) {
+            case 0 -> "XTS";
+            case 1 -> "XXX";
+            default -> null;
+        };
+    }
+
+    private Currency currency(String code) {
+        return currencyRepository.findById(code)
+                .orElseGet(() -> currencyRepository.save(Currency.builder()
+                        .code(code)
+                        .name("Test Currency")
+                        .symbol("T")
+                        .decimalDigits(0)
+                        .exchangeRateToBase(new BigDecimal("150"))
+                        .build()));
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
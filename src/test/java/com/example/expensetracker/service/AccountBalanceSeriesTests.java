@@ -0,0 +1,151 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.account.AccountBalanceSeriesResponse;
+import com.example.expensetracker.dto.account.BalancePointResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class AccountBalanceSeriesTests {
+
+    @Autowired
+    private AccountBalanceHistoryService historyService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User owner;
+    private Account wallet;
+    private Account bank;
+    private Category food;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder()
+                .name("Series")
+                .email("series-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        wallet = account("Wallet");
+        bank = account("Bank");
+        food = categoryRepository.save(Category.builder().owner(owner).name("Food").active(true).build());
+    }
+
+    @Test
+    void seriesCarriesOpeningBalanceThroughGapsAndEdgeDays() {
+        // antes del rango: forma el saldo de apertura
+        expense("100.00", LocalDate.of(2025, 2, 27));
+        income("30.00", LocalDate.of(2025, 2, 28));
+        // primer día del rango, día con entrada y salida (las dos ramas del union), hueco, último día
+        expense("10.00", LocalDate.of(2025, 3, 1));
+        transfer(wallet, bank, "50.00", LocalDate.of(2025, 3, 3));
+        transfer(bank, wallet, "20.00", LocalDate.of(2025, 3, 3));
+        income("5.00", LocalDate.of(2025, 3, 6));
+        // después del rango y en otra cuenta: no cuentan
+        expense("999.00", LocalDate.of(2025, 3, 7));
+        transactionService.createExpense(owner.getId(), bank.getId(), food.getId(),
+                new BigDecimal("77.00"), LocalDate.of(2025, 3, 2), "otra cuenta", List.of(), null);
+
+        AccountBalanceSeriesResponse series = historyService.getBalanceSeries(
+                wallet.getId(), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 6));
+
+        assertAmount("930.00", series.getOpeningBalance());
+        List<BalancePointResponse> points = series.getPoints();
+        assertEquals(6, points.size());
+        assertPoint(points.get(0), LocalDate.of(2025, 3, 1), "920.00");
+        assertPoint(points.get(1), LocalDate.of(2025, 3, 2), "920.00");
+        assertPoint(points.get(2), LocalDate.of(2025, 3, 3), "890.00");
+        assertPoint(points.get(3), LocalDate.of(2025, 3, 4), "890.00");
+        assertPoint(points.get(4), LocalDate.of(2025, 3, 5), "890.00");
+        assertPoint(points.get(5), LocalDate.of(2025, 3, 6), "895.00");
+
+        // cada punto coincide con el saldo puntual (checkpoint + delta)
+        for (BalancePointResponse point : points) {
+            assertAmount(historyService.getBalanceAsOf(wallet.getId(), point.getDate()).getBalance().toPlainString(),
+                    point.getBalance());
+        }
+    }
+
+    @Test
+    void seriesWithoutMovementsIsFlatAtTheOpeningBalance() {
+        expense("40.00", LocalDate.of(2024, 12, 31));
+
+        AccountBalanceSeriesResponse series = historyService.getBalanceSeries(
+                wallet.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1));
+
+        assertAmount("960.00", series.getOpeningBalance());
+        assertEquals(1, series.getPoints().size());
+        assertPoint(series.getPoints().get(0), LocalDate.of(2025, 1, 1), "960.00");
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> historyService.getBalanceSeries(
+                wallet.getId(), LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> historyService.getBalanceSeries(
+                wallet.getId(), LocalDate.of(2014, 1, 1), LocalDate.of(2025, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> historyService.getBalanceSeries(
+                wallet.getId(), null, LocalDate.of(2025, 1, 1)));
+    }
+
+    // ---------------------------------------------------------
+
+    private void expense(String amount, LocalDate date) {
+        transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal(amount), date, "gasto", List.of(), null);
+    }
+
+    private void income(String amount, LocalDate date) {
+        transactionService.createIncome(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal(amount), date, "ingreso", List.of(), null);
+    }
+
+    private void transfer(Account from, Account to, String amount, LocalDate date) {
+        transactionService.createTransfer(owner.getId(), from.getId(), to.getId(),
+                new BigDecimal(amount), date, "transferencia", null);
+    }
+
+    private static void assertPoint(BalancePointResponse point, LocalDate date, String balance) {
+        assertEquals(date, point.getDate());
+        assertAmount(balance, point.getBalance());
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), expected + " vs " + actual);
+    }
+
+    private Account account(String name) {
+        return accountRepository.save(Account.builder()
+                .owner(owner)
+                .name(name)
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000.00"))
+                .build());
+    }
+}
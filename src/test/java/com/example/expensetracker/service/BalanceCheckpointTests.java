@@ -0,0 +1,237 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.TransactionUpdateRequest;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountBalanceCheckpointRepository;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class BalanceCheckpointTests {
+
+    private static final List<LocalDate> PROBES = List.of(
+            LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 14),
+            LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 15),
+            LocalDate.of(2025, 6, 30));
+
+    // gasto en un bucket de rollup que ya existe: insert + saldo + rollup + la fila que relee
+    // el índice de búsqueda después del commit
+    private static final long STATEMENTS_PER_EXPENSE = 4;
+
+    @Autowired
+    private AccountBalanceHistoryService historyService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AccountBalanceCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private Account wallet;
+    private Account bank;
+    private Category food;
+
+    // movimientos vivos de wallet: id -> (fecha, delta); lo esperado sale de acá, no de la BD
+    private final Map<Long, Object[]> flows = new HashMap<>();
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder()
+                .name("Checkpoints")
+                .email("checkpoints-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        wallet = account("Wallet");
+        bank = account("Bank");
+        food = categoryRepository.save(Category.builder().owner(owner).name("Food").active(true).build());
+        flows.clear();
+    }
+
+    @Test
+    void balanceAsOfFollowsEveryKindOfEdit() {
+        for (int m = 1; m <= 4; m++) {
+            expense("10.00", LocalDate.of(2025, m, 5));
+            expense("20.00", LocalDate.of(2025, m, 20));
+        }
+        // materializa checkpoints de varios meses
+        assertBalances("seed");
+
+        // alta con fecha vieja: invalida los checkpoints de feb en adelante
+        expense("7.50", LocalDate.of(2025, 1, 10));
+        assertBalances("backdated expense");
+
+        // cancel de un movimiento en medio
+        Long febExpense = expense("33.00", LocalDate.of(2025, 2, 10));
+        assertBalances("february expense");
+        transactionService.cancel(febExpense);
+        flows.remove(febExpense);
+        assertBalances("cancel");
+
+        // transferencias en los dos sentidos
+        Long out = transactionService.createTransfer(owner.getId(), wallet.getId(), bank.getId(),
+                new BigDecimal("100.00"), LocalDate.of(2025, 3, 1), "out", null).getId();
+        flows.put(out, new Object[] {LocalDate.of(2025, 3, 1), new BigDecimal("-100.00")});
+        Long in = transactionService.createTransfer(owner.getId(), bank.getId(), wallet.getId(),
+                new BigDecimal("40.00"), LocalDate.of(2025, 1, 31), "in", null).getId();
+        flows.put(in, new Object[] {LocalDate.of(2025, 1, 31), new BigDecimal("40.00")});
+        assertBalances("transfers");
+
+        // mover la fecha: para atrás y para adelante (sin cambio de saldo actual)
+        Long moved = expense("15.00", LocalDate.of(2025, 4, 2));
+        assertBalances("before move");
+        move(moved, LocalDate.of(2025, 1, 2));
+        assertBalances("moved back");
+        move(moved, LocalDate.of(2025, 3, 31));
+        assertBalances("moved forward");
+    }
+
+    @Test
+    void writesAfterTheLatestCheckpointSkipLockAndDelete() {
+        expense("10.00", LocalDate.of(2025, 1, 5));
+        expense("10.00", LocalDate.of(2025, 2, 5));
+        historyService.getBalanceAsOf(wallet.getId(), LocalDate.of(2025, 2, 15));
+        assertEquals(LocalDate.of(2025, 2, 1), checkpointRepository.findLatestCheckpointDate(wallet.getId()));
+
+        // posterior al último checkpoint: ni lock de la cuenta ni delete
+        Statistics stats = statistics();
+        stats.clear();
+        expense("5.00", LocalDate.of(2025, 2, 20));
+        assertEquals(STATEMENTS_PER_EXPENSE, stats.getPrepareStatementCount());
+        assertBalances("after latest checkpoint");
+
+        // anterior: solo se suma el delete (el UPDATE del saldo ya tiene el lock de la fila)
+        stats.clear();
+        expense("5.00", LocalDate.of(2025, 1, 20));
+        assertEquals(STATEMENTS_PER_EXPENSE + 1, stats.getPrepareStatementCount());
+        // el de feb era el único (el 31/1 se responde con el checkpoint del día siguiente)
+        assertNull(checkpointRepository.findLatestCheckpointDate(wallet.getId()));
+        assertBalances("before latest checkpoint");
+    }
+
+    @Test
+    void balanceReadWritesNothingAndMaterializesAfterCommit() {
+        expense("10.00", LocalDate.of(2025, 1, 5));
+        expense("10.00", LocalDate.of(2025, 3, 5));
+
+        // dentro de la transacción de la lectura: ni lock ni insert, el saldo sale igual
+        Statistics stats = statistics();
+        stats.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            BigDecimal balance = historyService.getBalanceAsOf(wallet.getId(), LocalDate.of(2025, 3, 10)).getBalance();
+            assertEquals(0, new BigDecimal("980.00").compareTo(balance), balance.toPlainString());
+            assertEquals(0, stats.getEntityInsertCount());
+            assertNull(checkpointRepository.findLatestCheckpointDate(wallet.getId()));
+        });
+
+        // después del commit: checkpoint del mes consultado
+        assertEquals(LocalDate.of(2025, 3, 1), checkpointRepository.findLatestCheckpointDate(wallet.getId()));
+        assertBalances("after materialization");
+    }
+
+    @Test
+    void evictedAccountsAreReloadedFromTheDatabase() {
+        expense("10.00", LocalDate.of(2025, 1, 5));
+        historyService.getBalanceAsOf(wallet.getId(), LocalDate.of(2025, 2, 15));
+        assertEquals(LocalDate.of(2025, 2, 1), checkpointRepository.findLatestCheckpointDate(wallet.getId()));
+
+        // una sola cuenta en memoria: bank desplaza a wallet y wallet se relee al invalidar
+        BalanceCheckpointLedger ledger = new BalanceCheckpointLedger(accountRepository, checkpointRepository, 1);
+        transactionTemplate.executeWithoutResult(status -> {
+            ledger.invalidateFrom(Set.of(wallet.getId()), LocalDate.of(2025, 3, 1));
+            ledger.invalidateFrom(Set.of(bank.getId()), LocalDate.of(2025, 1, 10));
+            assertEquals(1, ledger.trackedAccounts());
+            ledger.invalidateFrom(Set.of(wallet.getId()), LocalDate.of(2025, 1, 10));
+            assertEquals(1, ledger.trackedAccounts());
+        });
+
+        assertNull(checkpointRepository.findLatestCheckpointDate(wallet.getId()));
+    }
+
+    // ---------------------------------------------------------
+
+    private void assertBalances(String step) {
+        BigDecimal initial = wallet.getInitialBalance();
+        for (LocalDate date : PROBES) {
+            BigDecimal expected = flows.values().stream()
+                    .filter(f -> !((LocalDate) f[0]).isAfter(date))
+                    .map(f -> (BigDecimal) f[1])
+                    .reduce(initial, BigDecimal::add);
+            BigDecimal actual = historyService.getBalanceAsOf(wallet.getId(), date).getBalance();
+            assertEquals(0, expected.compareTo(actual), step + " @ " + date + ": " + actual);
+        }
+    }
+
+    private Long expense(String amount, LocalDate date) {
+        Long id = transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal(amount), date, "gasto", List.of(), null).getId();
+        flows.put(id, new Object[] {date, new BigDecimal(amount).negate()});
+        return id;
+    }
+
+    private void move(Long id, LocalDate date) {
+        TransactionUpdateRequest req = new TransactionUpdateRequest();
+        req.setOperationDate(date);
+        transactionService.update(id, req);
+        flows.get(id)[0] = date;
+    }
+
+    private Account account(String name) {
+        return accountRepository.save(Account.builder()
+                .owner(owner)
+                .name(name)
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000.00"))
+                .build());
+    }
+
+    private long executions(Statistics stats, String hqlPrefix) {
+        return Arrays.stream(stats.getQueries())
+                .filter(q -> q.strip().startsWith(hqlPrefix))
+                .mapToLong(q -> stats.getQueryStatistics(q).getExecutionCount())
+                .sum();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.budget.BudgetCreateRequest;
+import com.example.expensetracker.dto.budget.BudgetEvaluationResponse;
+import com.example.expensetracker.dto.budget.BudgetEvaluationResultResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.enums.EvaluationStatus;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// chunks de 2 owners en paralelo; período propio para no mezclarse con otros tests (misma BD)
+@SpringBootTest(properties = {
+        "budgets.evaluation.chunk-size=2",
+        "budgets.evaluation.parallelism=3"
+})
+class BudgetEvaluationJobTests {
+
+    private static final String PERIOD = "2031-07";
+    private static final int OWNERS = 7;
+
+    @Autowired
+    private BudgetEvaluationJob job;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void evaluatesAllOwnersInChunksAndResumesWithoutDuplicates() throws InterruptedException {
+        List<Long> owners = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            // owner i gasta 10 * i contra un límite de 30 => los owners 4, 5 y 6 se pasan
+            owners.add(seedOwner(new BigDecimal("30.00"), new BigDecimal(10 * i)));
+        }
+
+        BudgetEvaluationResponse started = job.start(PERIOD);
+        BudgetEvaluationResponse done = await(started.getId());
+
+        assertEquals(EvaluationStatus.COMPLETED, done.getStatus());
+        assertEquals(4, done.getChunkCount());
+        assertEquals(4, done.getChunksDone());
+        assertEquals(OWNERS, done.getBudgetsEvaluated());
+        assertEquals(3, done.getOverBudget());
+
+        List<BudgetEvaluationResultResponse> over = job.results(done.getId(), owners.get(5), true);
+        assertEquals(1, over.size());
+        assertEquals(new BigDecimal("50.00"), over.get(0).getSpent());
+        assertTrue(job.results(done.getId(), owners.get(1), true).isEmpty());
+
+        // una corrida terminada no reprocesa chunks
+        job.run(done.getId());
+        assertEquals(OWNERS, job.status(done.getId()).getBudgetsEvaluated());
+        assertFalse(job.results(done.getId(), owners.get(2), false).isEmpty());
+    }
+
+    private Long seedOwner(BigDecimal limit, BigDecimal spent) {
+        User owner = userRepository.save(User.builder()
+                .name("Eval")
+                .email("eval-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        Account wallet = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("100000.00"))
+                .build());
+        Category food = categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name("Food")
+                .active(true)
+                .build());
+
+        BudgetCreateRequest req = new BudgetCreateRequest();
+        req.setOwnerId(owner.getId());
+        req.setCategoryId(food.getId());
+        req.setPeriod(PERIOD);
+        req.setLimitAmount(limit);
+        budgetService.create(req);
+
+        if (spent.signum() > 0) {
+            transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                    spent, LocalDate.of(2031, 7, 15), "gasto", List.of(), null);
+        }
+        return owner.getId();
+    }
+
+    private BudgetEvaluationResponse await(Long runId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            BudgetEvaluationResponse status = job.status(runId);
+            if (status.getStatus() != EvaluationStatus.RUNNING) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Budget evaluation did not finish");
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.budget.BudgetCreateRequest;
+import com.example.expensetracker.dto.budget.BudgetResponse;
+import com.example.expensetracker.dto.budget.BudgetUpdateRequest;
+import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.event.BudgetThresholdCrossedEvent;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@RecordApplicationEvents
+class BudgetServiceTests {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private PeriodKeyBackfill periodKeyBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User owner;
+    private Account wallet;
+    private Category food;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder()
+                .name("Budget")
+                .email("budget-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        wallet = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("100000.00"))
+                .build());
+        food = categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name("Food")
+                .active(true)
+                .build());
+    }
+
+    @Test
+    void tracksSpentAndEmitsThresholdCrossings() {
+        BudgetResponse budget = budgetService.create(request("2025-11", "100.00"));
+
+        expense("50.00", LocalDate.of(2025, 11, 3));
+        expense("10.00", LocalDate.of(2025, 10, 31));   // otro mes: no cuenta
+        assertEquals(List.of(), crossings());
+
+        TransactionResponse big = expense("35.00", LocalDate.of(2025, 11, 20));
+        assertEquals(List.of(80), crossings());
+        assertEquals(new BigDecimal("15.00"), budgetService.get(budget.getId()).getRemaining());
+
+        expense("20.00", LocalDate.of(2025, 11, 21));
+        assertEquals(List.of(80, 100), crossings());
+        assertEquals(105, budgetService.get(budget.getId()).getUsedPercent());
+
+        // cancelar baja lo gastado; volver a cruzar avisa otra vez
+        transactionService.cancel(big.getId());
+        assertEquals(new BigDecimal("70.00"), budgetService.get(budget.getId()).getSpent());
+
+        BudgetUpdateRequest lower = new BudgetUpdateRequest();
+        lower.setLimitAmount(new BigDecimal("60.00"));
+        budgetService.update(budget.getId(), lower);
+        assertEquals(List.of(80, 100, 80, 100), crossings());
+    }
+
+    @Test
+    void rejectsDuplicatesAndBadPeriods() {
+        budgetService.create(request("2025-11", "100.00"));
+
+        assertThrows(IllegalArgumentException.class, () -> budgetService.create(request("2025-11", "50.00")));
+        assertThrows(IllegalArgumentException.class, () -> budgetService.create(request("11/2025", "50.00")));
+        assertThrows(IllegalArgumentException.class, () -> budgetService.create(request("2025-12", "0")));
+    }
+
+    @Test
+    void budgetsJoinTheirRollupByPeriodKeyAndOldRowsAreBackfilled() {
+        BudgetResponse budget = budgetService.create(request(" 2025-05", "100.00"));
+        expense("30.00", LocalDate.of(2025, 5, 31));
+        int may2025 = 2025 * 12 + 4;
+
+        assertEquals(may2025, periodKeyOf("category_budgets", budget.getId()));
+        assertEquals(new BigDecimal("30.00"), budgetService.listByOwner(owner.getId(), "2025-05").get(0).getSpent());
+        assertEquals(List.of(), budgetService.listByOwner(owner.getId(), "2025-06"));
+
+        // filas anteriores a la columna: sin key no hay join; el backfill la completa desde period
+        jdbc.update("update category_budgets set period_key = null where id = ?", budget.getId());
+        jdbc.update("update monthly_totals set period_key = null where owner_id = ?", owner.getId());
+        assertEquals(List.of(), budgetService.listByOwner(owner.getId(), "2025-05"));
+
+        periodKeyBackfill.onApplicationReady();
+
+        assertEquals(may2025, periodKeyOf("category_budgets", budget.getId()));
+        assertEquals(new BigDecimal("30.00"), budgetService.get(budget.getId()).getSpent());
+    }
+
+    private int periodKeyOf(String table, Long id) {
+        return jdbc.queryForObject("select period_key from " + table + " where id = ?", Integer.class, id);
+    }
+
+    private BudgetCreateRequest request(String period, String limit) {
+        BudgetCreateRequest req = new BudgetCreateRequest();
+        req.setOwnerId(owner.getId());
+        req.setCategoryId(food.getId());
+        req.setPeriod(period);
+        req.setLimitAmount(new BigDecimal(limit));
+        return req;
+    }
+
+    private TransactionResponse expense(String amount, LocalDate date) {
+        return transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal(amount), date, "gasto", List.of(), null);
+    }
+
+    private List<Integer> crossings() {
+        return events.stream(BudgetThresholdCrossedEvent.class)
+                .filter(e -> e.ownerId().equals(owner.getId()))
+                .map(BudgetThresholdCrossedEvent::thresholdPercent)
+                .toList();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.currency.ExchangeRateImportResponse;
+import com.example.expensetracker.dto.summary.SummaryResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.event.ExchangeRatesImportedEvent;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Currency;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.CurrencyRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@RecordApplicationEvents
+class ExchangeRateHistoryTests {
+
+    // moneda propia del test (misma BD que el resto) con tasa actual distinta a la histórica
+    private static final String XHT = "XHT";
+    // otra moneda para el import en varios chunks
+    private static final String XHD = "XHD";
+
+    @Autowired
+    private ExchangeRateImportService importService;
+
+    @Autowired
+    private ExchangeRateHistory history;
+
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void seriesFindsTheRateValidOnEachDay() {
+        ExchangeRateHistory.Series series = new ExchangeRateHistory.Series(
+                new int[]{10, 20, 30},
+                new BigDecimal[]{BigDecimal.ONE, BigDecimal.TWO, BigDecimal.TEN}
+        );
+
+        assertNull(series.rateOn(9));
+        assertEquals(BigDecimal.ONE, series.rateOn(10));
+        assertEquals(BigDecimal.ONE, series.rateOn(19));
+        assertEquals(BigDecimal.TWO, series.rateOn(20));
+        assertEquals(BigDecimal.TEN, series.rateOn(1000));
+    }
+
+    @Test
+    void summaryConvertsEachDayAtItsOwnRate() throws IOException {
+        Currency xht = currencyRepository.findById(XHT)
+                .orElseGet(() -> currencyRepository.save(Currency.builder()
+                        .code(XHT)
+                        .name("History Test")
+                        .symbol("H")
+                        .decimalDigits(2)
+                        .exchangeRateToBase(new BigDecimal("999"))
+                        .build()));
+
+        ExchangeRateImportResponse imported = importCsv("""
+                currency,date,rate
+                XHT,2030-01-01,100
+                XHT,2030-01-15,120
+                QQQ,2030-01-15,1
+                XHT,not-a-date,1
+                """);
+        assertEquals(4, imported.getTotalRows());
+        assertEquals(2, imported.getImportedRows());
+        assertEquals(2, imported.getFailedRows());
+
+        User owner = userRepository.save(User.builder()
+                .name("Rates")
+                .email("rates-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        Account wallet = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .currency(xht)
+                .initialBalance(new BigDecimal("1000.00"))
+                .build());
+        Category food = categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name("Food")
+                .active(true)
+                .build());
+
+        transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal("10.00"), LocalDate.of(2030, 1, 10), "a", List.of(), null);
+        transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal("10.00"), LocalDate.of(2030, 1, 20), "b", List.of(), null);
+
+        LocalDate from = LocalDate.of(2030, 1, 1);
+        LocalDate to = LocalDate.of(2030, 1, 31);
+
+        // 10 * 100 + 10 * 120
+        SummaryResponse inArs = summaryService.getSummary(owner.getId(), from, to, 5, "ARS");
+        assertEquals(new BigDecimal("2200.00"), inArs.getTotalExpense());
+        assertEquals("ARS", inArs.getCurrencyCode());
+        assertEquals(new BigDecimal("2200.00"), inArs.getTopCategories().get(0).getTotal());
+
+        assertEquals(new BigDecimal("20.00"), summaryService.getSummary(owner.getId(), from, to, 5, XHT).getTotalExpense());
+
+        // re-import de una fecha existente: se actualiza, no se duplica
+        importCsv("""
+                currency,date,rate
+                XHT,2030-01-15,130
+                """);
+        assertEquals(2, history.pointCount(XHT));
+        assertEquals(new BigDecimal("2300.00"),
+                summaryService.getSummary(owner.getId(), from, to, 5, "ARS").getTotalExpense());
+    }
+
+    @Test
+    void duplicatesAreCountedAndTheHistoryReloadsOncePerImport() throws IOException {
+        currencyRepository.findById(XHD)
+                .orElseGet(() -> currencyRepository.save(Currency.builder()
+                        .code(XHD)
+                        .name("Chunked History Test")
+                        .symbol("D")
+                        .decimalDigits(2)
+                        .exchangeRateToBase(BigDecimal.ONE)
+                        .build()));
+
+        // 2500 fechas => 3 chunks (import.chunk-size=1000); la primera fecha repetida en el
+        // mismo chunk (en minúsculas: el código se normaliza)
+        StringBuilder csv = new StringBuilder("currency,date,rate\n");
+        LocalDate first = LocalDate.of(2031, 1, 1);
+        for (int i = 0; i < 2500; i++) {
+            csv.append(XHD).append(',').append(first.plusDays(i)).append(",10\n");
+            if (i == 0) {
+                csv.append("xhd,").append(first).append(",11\n");
+            }
+        }
+
+        ExchangeRateImportResponse imported = importCsv(csv.toString());
+
+        assertEquals(2501, imported.getTotalRows());
+        assertEquals(2500, imported.getImportedRows());
+        assertEquals(1, imported.getOverwrittenRows());
+        assertEquals(0, imported.getFailedRows());
+        assertEquals(imported.getTotalRows(),
+                imported.getImportedRows() + imported.getFailedRows() + imported.getOverwrittenRows());
+
+        List<ExchangeRatesImportedEvent> reloads = events.stream(ExchangeRatesImportedEvent.class).toList();
+        assertEquals(1, reloads.size());
+        assertEquals(Set.of(XHD), reloads.get(0).currencyCodes());
+        assertEquals(2500, history.pointCount(XHD));
+    }
+
+    private ExchangeRateImportResponse importCsv(String csv) throws IOException {
+        return importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
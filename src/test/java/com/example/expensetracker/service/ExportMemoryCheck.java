@@ -0,0 +1,111 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.ExpenseTrackerApplication;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Tag;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.TagRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * Proceso aparte de TransactionExportServiceTests: corre con -Xmx chico, genera un historial
+ * sintético en una H2 en disco (fuera del heap) y lo exporta a un OutputStream que solo cuenta
+ * líneas. Imprime "exported=<n> lines=<n>"; un OutOfMemoryError termina con exit code != 0.
+ *
+ * args: <directorio de la BD> <cantidad de transacciones> <formato>
+ */
+public class ExportMemoryCheck {
+
+    private static final int INSERT_CHUNK = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        String dbDir = args[0];
+        int rows = Integer.parseInt(args[1]);
+        String format = args[2];
+
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+                // servlet: SecurityConfig necesita HttpSecurity; puerto al azar para no chocar
+                .web(WebApplicationType.SERVLET)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:file:" + dbDir + "/export;CACHE_SIZE=8192",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN"
+                )) {
+
+            User owner = ctx.getBean(UserRepository.class).save(User.builder()
+                    .name("Export")
+                    .email("export@test.local")
+                    .passwordHash("x")
+                    .build());
+            Account account = ctx.getBean(AccountRepository.class).save(Account.builder()
+                    .owner(owner)
+                    .name("Wallet")
+                    .type(AccountType.CASH)
+                    .initialBalance(BigDecimal.ZERO)
+                    .build());
+            Category category = ctx.getBean(CategoryRepository.class).save(Category.builder()
+                    .owner(owner)
+                    .name("Synthetic")
+                    .active(true)
+                    .build());
+            Tag tag = ctx.getBean(TagRepository.class).save(Tag.builder()
+                    .owner(owner)
+                    .name("synthetic")
+                    .active(true)
+                    .build());
+
+            // INSERT ... SELECT por tramos: la carga no pasa por JPA ni por el heap
+            JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+            for (int start = 1; start <= rows; start += INSERT_CHUNK) {
+                int end = Math.min(rows, start + INSERT_CHUNK - 1);
+                jdbc.update("""
+                        insert into transactions (id, owner_id, type, state, amount, operation_date, recorded_at,
+                                                  description, source_account_id, category_id)
+                        select x, ?, 'EXPENSE', 'CONFIRMED', 1.00, dateadd('DAY', mod(x, 3650), date '2015-01-01'),
+                               current_timestamp, 'synthetic, row ' || x, ?, ?
+                        from system_range(?, ?)
+                        """, owner.getId(), account.getId(), category.getId(), start, end);
+                // un tag cada 10 transacciones, para que el export tenga que juntar filas
+                jdbc.update("""
+                        insert into transaction_tags (transaction_id, tag_id)
+                        select x, ? from system_range(?, ?) where mod(x, 10) = 0
+                        """, tag.getId(), start, end);
+            }
+
+            LineCounter out = new LineCounter();
+            long exported = ctx.getBean(TransactionExportService.class)
+                    .export(owner.getId(), format, null, null, (contentType, extension) -> out);
+
+            System.out.println("exported=" + exported + " lines=" + out.lines);
+        }
+    }
+
+    private static final class LineCounter extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') lines++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') lines++;
+            }
+        }
+    }
+}
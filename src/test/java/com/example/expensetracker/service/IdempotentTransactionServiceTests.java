@@ -0,0 +1,150 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Sin @Transactional: cada hilo tiene que ver lo que commitean los demás
+@SpringBootTest
+class IdempotentTransactionServiceTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private IdempotentTransactionService idempotentService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void concurrentDuplicateSubmissionsCreateExactlyOneTransaction() throws Exception {
+        User owner = userRepository.save(User.builder()
+                .name("Idempotency")
+                .email("idempotency-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        Account account = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000.00"))
+                .build());
+        Category category = categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name("Food")
+                .active(true)
+                .build());
+
+        String key = UUID.randomUUID().toString();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<TransactionResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return idempotentService.create(owner.getId(), key, () -> transactionService.createExpense(
+                            owner.getId(),
+                            account.getId(),
+                            category.getId(),
+                            new BigDecimal("25.00"),
+                            LocalDate.now(),
+                            "retry",
+                            null,
+                            key
+                    ));
+                }));
+            }
+            start.countDown();
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<TransactionResponse> f : futures) {
+                ids.add(f.get(30, TimeUnit.SECONDS).getId());
+            }
+
+            // todas las respuestas apuntan a la misma fila...
+            assertEquals(1, ids.size());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // ...y en la BD hay exactamente una, con el saldo descontado una sola vez
+        Set<Long> persisted = transactionRepository.findAll().stream()
+                .filter(t -> t.getOwner().getId().equals(owner.getId()))
+                .map(t -> t.getId())
+                .collect(Collectors.toSet());
+        assertEquals(1, persisted.size());
+        assertEquals(0, new BigDecimal("975.00").compareTo(
+                accountRepository.findById(account.getId()).orElseThrow().getCurrentBalance()));
+    }
+
+    @Test
+    void replayReturnsOriginalWithoutRunningCreate() {
+        User owner = userRepository.save(User.builder()
+                .name("Replay")
+                .email("replay-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        Account account = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Bank")
+                .type(AccountType.BANK)
+                .initialBalance(BigDecimal.ZERO)
+                .build());
+        Category category = categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name("Salary")
+                .active(true)
+                .build());
+
+        String key = UUID.randomUUID().toString();
+        TransactionResponse first = idempotentService.create(owner.getId(), key, () -> transactionService.createIncome(
+                owner.getId(), account.getId(), category.getId(),
+                new BigDecimal("100.00"), LocalDate.now(), "salary", null, key));
+
+        // el replay no debe volver a validar ni escribir
+        TransactionResponse replay = idempotentService.create(owner.getId(), key, () -> {
+            throw new AssertionError("create must not run on replay");
+        });
+
+        assertEquals(first.getId(), replay.getId());
+        assertEquals(0, first.getAmount().compareTo(replay.getAmount()));
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.cache.DashboardCaches;
+import com.example.expensetracker.cache.OwnerDataVersions;
+import com.example.expensetracker.dto.summary.CategoryTotalResponse;
+import com.example.expensetracker.dto.summary.RollupMismatchResponse;
+import com.example.expensetracker.dto.summary.RollupVerificationResponse;
+import com.example.expensetracker.dto.summary.SummaryResponse;
+import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.dto.transaction.TransactionUpdateRequest;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.MonthlyRollupsRebuiltEvent;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.MonthlyTotalRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@RecordApplicationEvents
+class MonthlyRollupTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private SummaryService summaryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private MonthlyRollupVerifier rollupVerifier;
+
+    @Autowired
+    private DashboardCaches dashboardCaches;
+
+    @Autowired
+    private OwnerDataVersions dataVersions;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void summaryMatchesRawScanAcrossPartialEdgeMonths() {
+        User owner = owner();
+        Account wallet = account(owner, "Wallet");
+        Category food = category(owner, "Food");
+        Category rent = category(owner, "Rent");
+
+        // primer y último día de cada mes, y uno en el medio: los bordes de los rangos caen justo ahí
+        for (int m = 1; m <= 6; m++) {
+            LocalDate first = LocalDate.of(2025, m, 1);
+            expense(owner, wallet, food, "10.10", first);
+            expense(owner, wallet, rent, "200.00", first.plusDays(14));
+            expense(owner, wallet, food, "3.33", first.withDayOfMonth(first.lengthOfMonth()));
+            transactionService.createIncome(owner.getId(), wallet.getId(), food.getId(),
+                    new BigDecimal("1000.00"), first.plusDays(9), "ingreso", List.of(), null);
+        }
+        // cancelada y editada de mes: las dos tienen que salir igual en rollup y en scan
+        transactionService.cancel(expense(owner, wallet, food, "50.00", LocalDate.of(2025, 3, 20)).getId());
+        TransactionUpdateRequest move = new TransactionUpdateRequest();
+        move.setOperationDate(LocalDate.of(2025, 5, 31));
+        move.setCategoryId(rent.getId());
+        transactionService.update(expense(owner, wallet, food, "7.77", LocalDate.of(2025, 2, 28)).getId(), move);
+
+        List<LocalDate[]> ranges = List.of(
+                range("2025-01-15", "2025-04-10"),
+                range("2025-01-31", "2025-03-01"),
+                range("2025-02-01", "2025-02-28"),
+                range("2025-02-10", "2025-02-20"),
+                range("2025-01-01", "2025-06-30"),
+                range("2025-02-28", "2025-06-01"),
+                range("2024-12-15", "2025-07-15"));
+
+        for (LocalDate[] r : ranges) {
+            SummaryResponse summary = summaryService.getSummary(owner.getId(), r[0], r[1], 50);
+            String label = r[0] + ".." + r[1];
+
+            BigDecimal income = BigDecimal.ZERO;
+            BigDecimal expense = BigDecimal.ZERO;
+            Map<Long, BigDecimal> expenseByCategory = new HashMap<>();
+            for (TransactionRepository.TypeCategoryTotalRow row : transactionRepository.sumByOwnerGroupedByTypeAndCategoryInPeriod(
+                    owner.getId(), List.of(TransactionType.INCOME, TransactionType.EXPENSE),
+                    TransactionState.CONFIRMED, r[0], r[1])) {
+                if (row.getType() == TransactionType.INCOME) {
+                    income = income.add(row.getTotal());
+                } else {
+                    expense = expense.add(row.getTotal());
+                    expenseByCategory.merge(row.getCategoryId(), row.getTotal(), BigDecimal::add);
+                }
+            }
+
+            assertEquals(0, income.compareTo(summary.getTotalIncome()), label + " income");
+            assertEquals(0, expense.compareTo(summary.getTotalExpense()), label + " expense");
+            Map<Long, BigDecimal> summarized = new HashMap<>();
+            for (CategoryTotalResponse c : summary.getTopCategories()) {
+                summarized.put(c.getCategoryId(), c.getTotal());
+            }
+            assertEquals(expenseByCategory.keySet(), summarized.keySet(), label + " categories");
+            expenseByCategory.forEach((id, total) ->
+                    assertEquals(0, total.compareTo(summarized.get(id)), label + " category " + id));
+        }
+    }
+
+    @Test
+    void concurrentFirstWritesToANewBucketAllSucceed() throws Exception {
+        User owner = owner();
+        Category category = category(owner, "Food");
+        // una cuenta por hilo: el saldo no serializa las altas, todas compiten por crear el bucket
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            accounts.add(account(owner, "Wallet " + i));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<TransactionResponse>> futures = new ArrayList<>();
+            for (Account account : accounts) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return expense(owner, account, category, "12.50", LocalDate.of(2025, 8, 10));
+                }));
+            }
+            start.countDown();
+            for (Future<TransactionResponse> f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<MonthlyTotalRepository.BucketRow> buckets = monthlyTotalRepository.findAllBuckets().stream()
+                .filter(b -> b.getOwnerId().equals(owner.getId()))
+                .toList();
+        assertEquals(1, buckets.size());
+        assertEquals(THREADS, buckets.get(0).getTransactionCount());
+        assertEquals(0, new BigDecimal("100.00").compareTo(buckets.get(0).getTotal()));
+    }
+
+    @Test
+    void verifierReportsAndRepairsADriftedBucket() {
+        User owner = owner();
+        Account wallet = account(owner, "Wallet");
+        Category food = category(owner, "Food");
+        expense(owner, wallet, food, "30.00", LocalDate.of(2025, 3, 10));
+        DashboardCaches.SummaryKey march = new DashboardCaches.SummaryKey(
+                owner.getId(), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), 5, null);
+
+        // bucket corrido sin transacción que lo explique; el summary (cacheado) lo refleja
+        jdbc.update("update monthly_totals set total = total + 5, transaction_count = transaction_count + 1"
+                + " where owner_id = ?", owner.getId());
+        assertEquals(0, new BigDecimal("35.00").compareTo(cachedSummary(march).getTotalExpense()));
+        String etag = dataVersions.etag(owner.getId());
+
+        List<RollupMismatchResponse> drift = mismatchesOf(owner, rollupVerifier.verify(false));
+        assertEquals(1, drift.size());
+        assertEquals("2025-03", drift.get(0).getPeriod());
+        assertEquals(food.getId(), drift.get(0).getCategoryId());
+        assertEquals(0, new BigDecimal("35.00").compareTo(drift.get(0).getStoredTotal()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(drift.get(0).getRawTotal()));
+        assertEquals(2L, drift.get(0).getStoredCount());
+        assertEquals(1L, drift.get(0).getRawCount());
+        // solo verificar no toca nada
+        assertTrue(rebuiltOwners().isEmpty());
+        assertEquals(etag, dataVersions.etag(owner.getId()));
+
+        rollupVerifier.verify(true);
+
+        assertTrue(mismatchesOf(owner, rollupVerifier.verify(false)).isEmpty());
+        assertTrue(rebuiltOwners().contains(owner.getId()));
+        assertNotEquals(etag, dataVersions.etag(owner.getId()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(cachedSummary(march).getTotalExpense()));
+    }
+
+    private static LocalDate[] range(String from, String to) {
+        return new LocalDate[] {LocalDate.parse(from), LocalDate.parse(to)};
+    }
+
+    // como SummaryController: el summary pasa por DashboardCaches
+    private SummaryResponse cachedSummary(DashboardCaches.SummaryKey key) {
+        return dashboardCaches.summary(key, () -> summaryService.getSummary(key.ownerId(), key.from(), key.to(), key.top()));
+    }
+
+    // la BD es compartida entre tests: solo cuentan los buckets de este owner
+    private static List<RollupMismatchResponse> mismatchesOf(User owner, RollupVerificationResponse report) {
+        return report.getMismatches().stream()
+                .filter(m -> m.getOwnerId().equals(owner.getId()))
+                .toList();
+    }
+
+    private List<Long> rebuiltOwners() {
+        return events.stream(MonthlyRollupsRebuiltEvent.class)
+                .flatMap(e -> e.ownerIds().stream())
+                .toList();
+    }
+
+    private TransactionResponse expense(User owner, Account account, Category category, String amount, LocalDate date) {
+        return transactionService.createExpense(owner.getId(), account.getId(), category.getId(),
+                new BigDecimal(amount), date, "gasto", List.of(), null);
+    }
+
+    private User owner() {
+        return userRepository.save(User.builder()
+                .name("Rollup")
+                .email("rollup-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+    }
+
+    private Account account(User owner, String name) {
+        return accountRepository.save(Account.builder()
+                .owner(owner)
+                .name(name)
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("100000.00"))
+                .build());
+    }
+
+    private Category category(User owner, String name) {
+        return categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name(name)
+                .active(true)
+                .build());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.account.NetWorthResponse;
+import com.example.expensetracker.dto.currency.CurrencyRateUpdateRequest;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Currency;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CurrencyRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class NetWorthTests {
+
+    // código ISO reservado para pruebas; sin decimales para ver el redondeo
+    private static final String XTS = "XTS";
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void convertsAllBalancesAndFollowsRateUpdates() {
+        Currency xts = currencyRepository.findById(XTS)
+                .orElseGet(() -> currencyRepository.save(Currency.builder()
+                        .code(XTS)
+                        .name("Test Currency")
+                        .symbol("T")
+                        .decimalDigits(0)
+                        .exchangeRateToBase(new BigDecimal("150"))
+                        .build()));
+        rate("150");
+
+        User owner = userRepository.save(User.builder()
+                .name("NetWorth")
+                .email("networth-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Pesos")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000.00"))
+                .active(true)
+                .build());
+        accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Test")
+                .type(AccountType.BANK)
+                .currency(xts)
+                .initialBalance(new BigDecimal("10"))
+                .active(true)
+                .build());
+
+        assertEquals(new BigDecimal("2500.00"), accountService.getNetWorth(owner.getId(), "ARS").getTotal());
+
+        // 1000 / 150 = 6.67 -> 7 (XTS no tiene decimales)
+        NetWorthResponse inXts = accountService.getNetWorth(owner.getId(), XTS);
+        assertEquals(new BigDecimal("17"), inXts.getTotal());
+        assertEquals(2, inXts.getAccounts().size());
+
+        // el cambio de tipo se ve apenas commitea, sin reiniciar nada
+        rate("200");
+        assertEquals(new BigDecimal("3000.00"), accountService.getNetWorth(owner.getId(), null).getTotal());
+        assertEquals(new BigDecimal("15"), accountService.getNetWorth(owner.getId(), XTS).getTotal());
+
+        assertThrows(IllegalArgumentException.class, () -> accountService.getNetWorth(owner.getId(), "ZZZ"));
+    }
+
+    private void rate(String value) {
+        CurrencyRateUpdateRequest req = new CurrencyRateUpdateRequest();
+        req.setExchangeRateToBase(new BigDecimal(value));
+        currencyService.updateExchangeRate(XTS, req);
+    }
+}
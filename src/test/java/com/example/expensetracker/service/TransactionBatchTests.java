@@ -0,0 +1,232 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.BatchItemResult;
+import com.example.expensetracker.dto.transaction.BatchTransactionItem;
+import com.example.expensetracker.dto.transaction.TransactionBatchResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Tag;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.TagRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionBatchTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    private User owner;
+    private Account wallet;
+    private Account bank;
+    private Category food;
+    private Tag trip;
+
+    @BeforeEach
+    void seed() {
+        owner = owner();
+        wallet = account(owner, "Wallet");
+        bank = account(owner, "Bank");
+        food = category(owner);
+        trip = tagRepository.save(Tag.builder().owner(owner).name("trip").active(true).build());
+    }
+
+    @Test
+    void batchIsCappedAt500Items() {
+        List<BatchTransactionItem> items = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            items.add(expense(wallet.getId(), food.getId(), "1.00"));
+        }
+
+        IllegalArgumentException tooMany = assertThrows(IllegalArgumentException.class,
+                () -> transactionService.createBatch(items));
+        assertEquals("A batch can contain at most 500 items", tooMany.getMessage());
+        assertEquals(0, transactionsOf(owner));
+
+        TransactionBatchResponse res = transactionService.createBatch(items.subList(0, 500));
+        assertEquals(500, res.getCreated());
+        assertEquals(0, res.getFailed());
+        assertBalance(wallet, "500.00");
+    }
+
+    @Test
+    void invalidItemsAreReportedAndTheRestIsCreated() {
+        BatchTransactionItem noType = expense(wallet.getId(), food.getId(), "1.00");
+        noType.setType(null);
+        BatchTransactionItem withTag = expense(wallet.getId(), food.getId(), "5.00");
+        withTag.setTagIds(List.of(trip.getId()));
+
+        List<BatchTransactionItem> items = List.of(
+                expense(wallet.getId(), food.getId(), "10.00"),
+                expense(wallet.getId(), food.getId(), "0"),
+                expense(999_999_999L, food.getId(), "10.00"),
+                noType,
+                income(bank.getId(), food.getId(), "300.00"),
+                transfer(wallet.getId(), bank.getId(), "25.00"),
+                withTag);
+
+        TransactionBatchResponse res = transactionService.createBatch(items);
+
+        assertEquals(4, res.getCreated());
+        assertEquals(3, res.getFailed());
+        assertEquals(items.size(), res.getResults().size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(i, res.getResults().get(i).getIndex());
+        }
+        assertCreated(res.getResults().get(0));
+        assertFailed(res.getResults().get(1), "Amount must be positive");
+        assertFailed(res.getResults().get(2), "Account not found: 999999999");
+        assertFailed(res.getResults().get(3), "type is required");
+        assertCreated(res.getResults().get(4));
+        assertCreated(res.getResults().get(5));
+        assertCreated(res.getResults().get(6));
+        assertEquals(List.of(trip.getId()), res.getResults().get(6).getTransaction().getTagIds());
+
+        // solo los ítems válidos mueven saldos
+        assertEquals(4, transactionsOf(owner));
+        assertBalance(wallet, "960.00");
+        assertBalance(bank, "1325.00");
+    }
+
+    @Test
+    void itemsPointingAtAnotherOwnersDataAreRejected() {
+        User other = owner();
+        Account otherAccount = account(other, "Other wallet");
+        Category otherCategory = category(other);
+        Tag otherTag = tagRepository.save(Tag.builder().owner(other).name("other").active(true).build());
+
+        BatchTransactionItem foreignTag = expense(wallet.getId(), food.getId(), "1.00");
+        foreignTag.setTagIds(List.of(trip.getId(), otherTag.getId()));
+
+        List<BatchTransactionItem> items = List.of(
+                expense(otherAccount.getId(), food.getId(), "1.00"),
+                expense(wallet.getId(), otherCategory.getId(), "1.00"),
+                foreignTag,
+                transfer(wallet.getId(), otherAccount.getId(), "1.00"),
+                expense(wallet.getId(), food.getId(), "2.00"));
+
+        TransactionBatchResponse res = transactionService.createBatch(items);
+
+        assertEquals(1, res.getCreated());
+        assertFailed(res.getResults().get(0), "Account does not belong to user");
+        assertFailed(res.getResults().get(1), "Category does not belong to user");
+        assertFailed(res.getResults().get(2), "Tag does not belong to user");
+        assertFailed(res.getResults().get(3), "Account does not belong to user");
+        assertCreated(res.getResults().get(4));
+
+        assertEquals(1, transactionsOf(owner));
+        assertEquals(0, transactionsOf(other));
+        assertBalance(wallet, "998.00");
+        assertBalance(otherAccount, "1000.00");
+    }
+
+    // ---------------------------------------------------------
+
+    private void assertCreated(BatchItemResult result) {
+        assertTrue(result.isCreated(), result.getError());
+        assertNull(result.getError());
+    }
+
+    private void assertFailed(BatchItemResult result, String error) {
+        assertFalse(result.isCreated());
+        assertNull(result.getTransaction());
+        assertEquals(error, result.getError());
+    }
+
+    private void assertBalance(Account account, String expected) {
+        BigDecimal balance = accountRepository.findById(account.getId()).orElseThrow().getCurrentBalance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), account.getName() + ": " + balance);
+    }
+
+    private int transactionsOf(User user) {
+        return transactionService.getTransactionsForUser(user.getId(), 200, null).getItems().size();
+    }
+
+    private BatchTransactionItem expense(Long accountId, Long categoryId, String amount) {
+        BatchTransactionItem item = item(TransactionType.EXPENSE, amount);
+        item.setSourceAccountId(accountId);
+        item.setCategoryId(categoryId);
+        return item;
+    }
+
+    private BatchTransactionItem income(Long accountId, Long categoryId, String amount) {
+        BatchTransactionItem item = item(TransactionType.INCOME, amount);
+        item.setDestinationAccountId(accountId);
+        item.setCategoryId(categoryId);
+        return item;
+    }
+
+    private BatchTransactionItem transfer(Long sourceId, Long destinationId, String amount) {
+        BatchTransactionItem item = item(TransactionType.TRANSFER, amount);
+        item.setSourceAccountId(sourceId);
+        item.setDestinationAccountId(destinationId);
+        return item;
+    }
+
+    private BatchTransactionItem item(TransactionType type, String amount) {
+        BatchTransactionItem item = new BatchTransactionItem();
+        item.setType(type);
+        item.setOwnerId(owner.getId());
+        item.setAmount(new BigDecimal(amount));
+        item.setOperationDate(LocalDate.of(2025, 5, 10));
+        item.setDescription("batch");
+        return item;
+    }
+
+    private User owner() {
+        return userRepository.save(User.builder()
+                .name("Batch")
+                .email("batch-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+    }
+
+    private Account account(User user, String name) {
+        return accountRepository.save(Account.builder()
+                .owner(user)
+                .name(name)
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000.00"))
+                .build());
+    }
+
+    private Category category(User user) {
+        return categoryRepository.save(Category.builder()
+                .owner(user)
+                .name("Food")
+                .active(true)
+                .build());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionExportServiceTests {
+
+    // suficiente para reventar un heap de 128 MB si el export armara la lista completa
+    private static final int LARGE_HISTORY_ROWS = 300_000;
+    private static final String SMALL_HEAP = "-Xmx128m";
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void csvExportQuotesDescriptionsAndKeepsDateOrder() throws Exception {
+        User owner = userRepository.save(User.builder()
+                .name("Csv")
+                .email("csv-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        Account account = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(BigDecimal.ZERO)
+                .build());
+        Category category = categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name("Food")
+                .active(true)
+                .build());
+
+        transactionService.createExpense(owner.getId(), account.getId(), category.getId(),
+                new BigDecimal("10.00"), LocalDate.of(2025, 3, 2), "lunch, \"big\"", null, null);
+        transactionService.createExpense(owner.getId(), account.getId(), category.getId(),
+                new BigDecimal("5.00"), LocalDate.of(2025, 3, 1), "coffee", null, null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.export(owner.getId(), "csv", null, null, (contentType, extension) -> out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, exported);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("id,type,state,operationDate"));
+        assertTrue(lines.get(1).contains(",2025-03-01,") && lines.get(1).contains(",coffee,"));
+        assertTrue(lines.get(2).contains(",\"lunch, \"\"big\"\"\","));
+    }
+
+    @Test
+    void exportsLargeHistoryUnderSmallHeap(@TempDir Path dbDir) throws Exception {
+        // proceso aparte: el -Xmx de este JVM no lo controla el test
+        String javaBin = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+
+        Process process = new ProcessBuilder(
+                javaBin, SMALL_HEAP, "-cp", classpath,
+                ExportMemoryCheck.class.getName(),
+                dbDir.toString(), String.valueOf(LARGE_HISTORY_ROWS), "ndjson")
+                .redirectErrorStream(true)
+                .start();
+
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(process.waitFor(5, TimeUnit.MINUTES), "export check timed out");
+        assertEquals(0, process.exitValue(), output);
+        assertTrue(output.contains("exported=" + LARGE_HISTORY_ROWS + " lines=" + LARGE_HISTORY_ROWS), output);
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.ImportRowError;
+import com.example.expensetracker.dto.transaction.TransactionImportResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// chunks chicos para que unas pocas filas crucen varios commits
+@SpringBootTest(properties = "import.chunk-size=3")
+@RecordApplicationEvents
+class TransactionImportServiceTests {
+
+    private static final String HEADER = "type,operationDate,amount,sourceAccountId,destinationAccountId,categoryId,description,tagIds";
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @SpyBean
+    private AccountBalanceLedger balanceLedger;
+
+    @SpyBean
+    private MonthlyRollupLedger rollupLedger;
+
+    @SpyBean
+    private BalanceCheckpointLedger checkpointLedger;
+
+    private User owner;
+    private Account wallet;
+    private Category food;
+
+    @BeforeEach
+    void seed() {
+        owner = owner();
+        wallet = account(owner, "Wallet");
+        food = category(owner, true);
+        clearInvocations(balanceLedger, rollupLedger, checkpointLedger);
+    }
+
+    @Test
+    void invalidRowsAreReportedAndSkipped() throws IOException {
+        User other = owner();
+        Account foreignAccount = account(other, "Other");
+        Category foreignCategory = category(other, true);
+        Category inactive = category(owner, false);
+        Account closed = account(owner, "Closed");
+        closed.deactivate();
+        accountRepository.save(closed);
+
+        TransactionImportResponse res = importCsv(
+                expenseLine("10.00", wallet.getId(), food.getId(), "ok"),                     // 2
+                "LOAN,2025-04-01,5.00," + wallet.getId() + ",," + food.getId() + ",x,",       // 3: parseo
+                "EXPENSE,2025-04-01,abc," + wallet.getId() + ",," + food.getId() + ",x,",     // 4: parseo
+                expenseLine("-1.00", wallet.getId(), food.getId(), "negativo"),               // 5
+                expenseLine("1.00", foreignAccount.getId(), food.getId(), "cuenta ajena"),    // 6
+                expenseLine("1.00", wallet.getId(), foreignCategory.getId(), "cat ajena"),    // 7
+                expenseLine("1.00", wallet.getId(), inactive.getId(), "cat inactiva"),        // 8
+                expenseLine("1.00", closed.getId(), food.getId(), "cuenta cerrada"),          // 9
+                expenseLine("1.00", Long.MAX_VALUE, food.getId(), "no existe"),               // 10
+                expenseLine("2.50", wallet.getId(), food.getId(), "ok"));                     // 11
+
+        assertEquals(10, res.getTotalRows());
+        assertEquals(2, res.getImportedRows());
+        assertEquals(8, res.getFailedRows());
+        assertErrors(res.getErrors(),
+                3, "Invalid type: LOAN",
+                4, "Invalid amount: abc",
+                5, "Amount must be positive",
+                6, "Account does not belong to user",
+                7, "Category does not belong to user",
+                8, "Category is not active",
+                9, "Account is not active",
+                10, "Account not found: " + Long.MAX_VALUE);
+
+        assertBalance(wallet, "987.50");
+        assertBalance(foreignAccount, "1000.00");
+        assertEquals(0, count("select count(*) from transactions where owner_id = ?", other.getId()));
+    }
+
+    @Test
+    void reportedErrorsAreCappedButAllFailuresAreCounted() throws IOException {
+        String[] lines = new String[1005];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = expenseLine("0", wallet.getId(), food.getId(), "cero");
+        }
+
+        TransactionImportResponse res = importCsv(lines);
+
+        assertEquals(1005, res.getTotalRows());
+        assertEquals(0, res.getImportedRows());
+        assertEquals(1005, res.getFailedRows());
+        assertEquals(1000, res.getErrors().size());
+        assertEquals(1001, res.getErrors().get(999).getRow());
+    }
+
+    @Test
+    void quotedCsvFieldsKeepCommasAndQuotes() throws IOException {
+        TransactionImportResponse res = importCsv(
+                expenseLine("3.00", wallet.getId(), food.getId(), "\"pan, leche y \"\"facturas\"\"\""));
+
+        assertEquals(1, res.getImportedRows());
+        assertEquals("pan, leche y \"facturas\"", jdbc.queryForObject(
+                "select description from transactions where owner_id = ?", String.class, owner.getId()));
+    }
+
+    @Test
+    void jsonRowsGoThroughTheSameValidation() throws IOException {
+        String json = """
+                [
+                  {"type": "INCOME", "operationDate": "2025-04-02", "amount": 40.00,
+                   "destinationAccountId": %d, "categoryId": %d, "description": "sueldo"},
+                  {"type": "EXPENSE", "operationDate": "2025-04-03", "amount": 15.00,
+                   "sourceAccountId": %d, "categoryId": %d, "description": "super"},
+                  {"type": "EXPENSE", "amount": 0, "sourceAccountId": %d}
+                ]
+                """.formatted(wallet.getId(), food.getId(), wallet.getId(), food.getId(), wallet.getId());
+
+        TransactionImportResponse res = importService.importTransactions(owner.getId(), "JSON", stream(json));
+
+        assertEquals(3, res.getTotalRows());
+        assertEquals(2, res.getImportedRows());
+        assertErrors(res.getErrors(), 3, "Amount must be positive");
+        assertBalance(wallet, "1025.00");
+    }
+
+    @Test
+    void ledgersAreUpdatedOncePerChunk() throws IOException {
+        String[] lines = new String[7];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = expenseLine("1.00", wallet.getId(), food.getId(), "fila " + i);
+        }
+
+        TransactionImportResponse res = importCsv(lines);
+
+        // 7 filas con chunks de 3 => 3 chunks
+        assertEquals(7, res.getImportedRows());
+        verify(balanceLedger, times(3)).applyAllConfirmed(anyCollection());
+        verify(rollupLedger, times(3)).addAll(anyCollection());
+        verify(checkpointLedger, times(3)).invalidateFrom(any(), any());
+        assertEquals(3, events.stream(TransactionsImportedEvent.class)
+                .filter(e -> e.ownerId().equals(owner.getId()))
+                .count());
+
+        assertBalance(wallet, "993.00");
+        assertEquals(0, new BigDecimal("7.00").compareTo(jdbc.queryForObject(
+                "select total from monthly_totals where owner_id = ? and category_id = ?",
+                BigDecimal.class, owner.getId(), food.getId())));
+    }
+
+    @Test
+    void aChunkRejectedByTheDatabaseIsRolledBackAlone() throws IOException {
+        // pasa la validación pero no entra en la columna (255)
+        String tooLong = "x".repeat(300);
+
+        TransactionImportResponse res = importCsv(
+                expenseLine("1.00", wallet.getId(), food.getId(), "a"),
+                expenseLine("1.00", wallet.getId(), food.getId(), "b"),
+                expenseLine("1.00", wallet.getId(), food.getId(), "c"),
+                expenseLine("2.00", wallet.getId(), food.getId(), "d"),
+                expenseLine("2.00", wallet.getId(), food.getId(), tooLong),
+                expenseLine("-2.00", wallet.getId(), food.getId(), "inválida"),
+                expenseLine("4.00", wallet.getId(), food.getId(), "g"));
+
+        assertEquals(7, res.getTotalRows());
+        assertEquals(4, res.getImportedRows());
+        assertEquals(3, res.getFailedRows());
+        // la fila inválida se reporta por su validación; las válidas del chunk, por el rechazo
+        List<ImportRowError> errors = res.getErrors();
+        assertEquals(3, errors.size());
+        assertEquals(7, errors.get(0).getRow());
+        assertEquals("Amount must be positive", errors.get(0).getMessage());
+        assertEquals(5, errors.get(1).getRow());
+        assertTrue(errors.get(1).getMessage().startsWith("Rejected by database: "), errors.get(1).getMessage());
+        assertEquals(6, errors.get(2).getRow());
+        assertTrue(errors.get(2).getMessage().startsWith("Rejected by database: "), errors.get(2).getMessage());
+
+        // saldo y rollup sin nada del chunk rechazado
+        assertBalance(wallet, "993.00");
+        assertEquals(4, count("select count(*) from transactions where owner_id = ?", owner.getId()));
+        assertEquals(0, new BigDecimal("7.00").compareTo(jdbc.queryForObject(
+                "select total from monthly_totals where owner_id = ? and category_id = ?",
+                BigDecimal.class, owner.getId(), food.getId())));
+    }
+
+    @Test
+    void unknownFormatsAndOwnersAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importTransactions(owner.getId(), "xml", stream(HEADER)));
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importTransactions(Long.MAX_VALUE, "csv", stream(HEADER)));
+    }
+
+    // ---------------------------------------------------------
+
+    private TransactionImportResponse importCsv(String... lines) throws IOException {
+        return importService.importTransactions(owner.getId(), "CSV",
+                stream(HEADER + "\n" + String.join("\n", lines)));
+    }
+
+    private static String expenseLine(String amount, Long accountId, Long categoryId, String description) {
+        return "EXPENSE,2025-04-01," + amount + "," + accountId + ",," + categoryId + "," + description + ",";
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // pares (fila, mensaje) en el orden en que se reportaron
+    private static void assertErrors(List<ImportRowError> errors, Object... expected) {
+        assertEquals(expected.length / 2, errors.size(), errors.toString());
+        for (int i = 0; i < errors.size(); i++) {
+            assertEquals(((Integer) expected[2 * i]).longValue(), errors.get(i).getRow());
+            assertEquals(expected[2 * i + 1], errors.get(i).getMessage());
+        }
+    }
+
+    private void assertBalance(Account account, String expected) {
+        BigDecimal balance = accountRepository.findById(account.getId()).orElseThrow().getCurrentBalance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), account.getName() + ": " + balance);
+    }
+
+    private int count(String sql, Long id) {
+        return jdbc.queryForObject(sql, Integer.class, id);
+    }
+
+    private User owner() {
+        return userRepository.save(User.builder()
+                .name("Import")
+                .email("import-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+    }
+
+    private Account account(User user, String name) {
+        return accountRepository.save(Account.builder()
+                .owner(user)
+                .name(name)
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("1000.00"))
+                .build());
+    }
+
+    private Category category(User user, boolean active) {
+        return categoryRepository.save(Category.builder()
+                .owner(user)
+                .name("Food")
+                .active(active)
+                .build());
+    }
+}
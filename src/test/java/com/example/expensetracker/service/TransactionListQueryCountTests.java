@@ -0,0 +1,129 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.TransactionPageResponse;
+import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Tag;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.TagRepository;
+import com.example.expensetracker.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Cantidad de statements JDBC por página: no tiene que depender de cuántas filas trae.
+// Se mide con la caché de segundo nivel vacía (owner/cuenta leídos de la BD).
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionListQueryCountTests {
+
+    private static final int ROWS = 200;
+
+    // findById del owner + filas de la página + tags de toda la página
+    private static final long STATEMENTS_PER_PAGE = 3;
+
+    // findById de la cuenta + ids de la página (ramas source/destination) + filas + tags
+    private static final long STATEMENTS_PER_ACCOUNT_PAGE = 4;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private Account account;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder()
+                .name("Queries")
+                .email("queries-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        account = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("100000.00"))
+                .build());
+        Category category = categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name("Food")
+                .active(true)
+                .build());
+        Tag tagA = tagRepository.save(Tag.builder().owner(owner).name("a").active(true).build());
+        Tag tagB = tagRepository.save(Tag.builder().owner(owner).name("b").active(true).build());
+
+        for (int i = 0; i < ROWS; i++) {
+            transactionService.createExpense(owner.getId(), account.getId(), category.getId(),
+                    BigDecimal.ONE, LocalDate.of(2025, 1, 1).plusDays(i % 90), "tx " + i,
+                    List.of(tagA.getId(), tagB.getId()), null);
+        }
+    }
+
+    @Test
+    void ownerPageCostsFixedStatementCount() {
+        Statistics stats = statistics();
+
+        entityManagerFactory.getCache().evictAll();
+        stats.clear();
+        TransactionPageResponse page = transactionService.getTransactionsForUser(owner.getId(), ROWS, null);
+
+        assertEquals(ROWS, page.getItems().size());
+        assertEquals(2, page.getItems().get(0).getTagIds().size());
+        assertEquals(STATEMENTS_PER_PAGE, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void accountPageCostsFixedStatementCount() {
+        Statistics stats = statistics();
+
+        entityManagerFactory.getCache().evictAll();
+        stats.clear();
+        List<TransactionResponse> small = transactionService.listForAccount(owner.getId(), account.getId(), 10, null, null);
+        long smallCount = stats.getPrepareStatementCount();
+
+        entityManagerFactory.getCache().evictAll();
+        stats.clear();
+        List<TransactionResponse> large = transactionService.listForAccount(owner.getId(), account.getId(), ROWS, null, null);
+
+        assertEquals(10, small.size());
+        assertEquals(ROWS, large.size());
+        assertEquals(STATEMENTS_PER_ACCOUNT_PAGE, smallCount);
+        assertEquals(STATEMENTS_PER_ACCOUNT_PAGE, stats.getPrepareStatementCount());
+
+        // el mismo statement re-ejecutado con otro límite respeta el nuevo tamaño de página
+        assertEquals(50, transactionService.listForAccount(owner.getId(), account.getId(), 50, null, null).size());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.TransactionPageResponse;
+import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionPaginationTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User owner;
+    private Account wallet;
+    private Category food;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder()
+                .name("Pages")
+                .email("pages-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        wallet = accountRepository.save(Account.builder()
+                .owner(owner)
+                .name("Wallet")
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("10000.00"))
+                .build());
+        food = categoryRepository.save(Category.builder().owner(owner).name("Food").active(true).build());
+    }
+
+    @Test
+    void rowsOnTheSameDateAreSplitAcrossPagesById() {
+        // 10 filas el mismo día, rodeadas de otras fechas: varias páginas cortan en medio del día
+        List<Long> created = new ArrayList<>();
+        created.add(expense(LocalDate.of(2025, 5, 2)));
+        for (int i = 0; i < 10; i++) {
+            created.add(expense(LocalDate.of(2025, 5, 1)));
+        }
+        created.add(expense(LocalDate.of(2025, 4, 30)));
+
+        List<TransactionResponse> all = new ArrayList<>();
+        TransactionPageResponse page = transactionService.getTransactionsForUser(owner.getId(), 3, null);
+        all.addAll(page.getItems());
+        boolean insertedMidway = false;
+        while (page.getNextCursor() != null) {
+            if (!insertedMidway) {
+                // alta entre páginas, mismo día y id mayor: queda antes del cursor, no duplica nada
+                expense(LocalDate.of(2025, 5, 1));
+                insertedMidway = true;
+            }
+            page = transactionService.getTransactionsForUser(owner.getId(), 3, page.getNextCursor());
+            assertTrue(page.getItems().size() <= 3);
+            all.addAll(page.getItems());
+        }
+
+        List<Long> ids = all.stream().map(TransactionResponse::getId).toList();
+        assertEquals(created.size(), ids.size());
+        assertEquals(created.size(), ids.stream().distinct().count());
+
+        List<TransactionResponse> expected = all.stream()
+                .sorted(Comparator.comparing(TransactionResponse::getOperationDate)
+                        .thenComparing(TransactionResponse::getId)
+                        .reversed())
+                .toList();
+        assertEquals(expected, all);
+        // las 10 del mismo día, por id descendente
+        assertEquals(created.subList(1, 11).reversed(), ids.subList(1, 11));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        for (int i = 0; i < 6; i++) {
+            expense(LocalDate.of(2025, 5, 1).plusDays(i % 2));
+        }
+
+        // 6 filas en páginas de 3: la segunda trae las últimas 3 y ya no devuelve cursor
+        TransactionPageResponse first = transactionService.getTransactionsForUser(owner.getId(), 3, null);
+        assertEquals(3, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        TransactionPageResponse last = transactionService.getTransactionsForUser(owner.getId(), 3, first.getNextCursor());
+        assertEquals(3, last.getItems().size());
+        assertNull(last.getNextCursor());
+
+        // una sola página que alcanza justo, y un período sin filas
+        assertNull(transactionService.getTransactionsForUser(owner.getId(), 6, null).getNextCursor());
+        TransactionPageResponse empty = transactionService.getTransactionsForUserInPeriod(owner.getId(),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 3, null);
+        assertTrue(empty.getItems().isEmpty());
+        assertNull(empty.getNextCursor());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        expense(LocalDate.of(2025, 5, 1));
+
+        List<String> cursors = List.of(
+                "%%%",
+                "not-a-cursor",
+                encode("2025-05-01"),
+                encode("2025-13-01:5"),
+                encode("2025-05-01:abc"),
+                encode(":5"));
+
+        for (String cursor : cursors) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> transactionService.getTransactionsForUser(owner.getId(), 3, cursor), cursor);
+            assertEquals("Invalid cursor", e.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> transactionService.getTransactionsForUserInPeriod(
+                    owner.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), 3, cursor), cursor);
+        }
+    }
+
+    private Long expense(LocalDate date) {
+        return transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                BigDecimal.ONE, date, "page", List.of(), null).getId();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
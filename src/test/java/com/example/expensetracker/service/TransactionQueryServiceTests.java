@@ -0,0 +1,261 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.transaction.TransactionQueryRequest;
+import com.example.expensetracker.dto.transaction.TransactionQueryResponse;
+import com.example.expensetracker.dto.transaction.TransactionResponse;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.enums.TransactionState;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Tag;
+import com.example.expensetracker.model.User;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.repository.TagRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.repository.UserRepository;
+import com.example.expensetracker.search.TransactionSearch;
+import com.example.expensetracker.search.TransactionTagIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransactionQueryServiceTests {
+
+    @Autowired
+    private TransactionQueryService queryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionSearch transactionSearch;
+
+    @Autowired
+    private TransactionTagIndex tagIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private Account wallet;
+    private Account bank;
+    private Category food;
+    private Category transport;
+    private Tag trip;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder()
+                .name("Query")
+                .email("query-" + UUID.randomUUID() + "@test.local")
+                .passwordHash("x")
+                .build());
+        wallet = account("Wallet");
+        bank = account("Bank");
+        food = category("Food");
+        transport = category("Transport");
+        trip = tagRepository.save(Tag.builder().owner(owner).name("trip").active(true).build());
+
+        // 30 gastos de comida en wallet (10 con "uber eats" y tag trip) + 5 de transporte en bank
+        for (int i = 0; i < 30; i++) {
+            boolean uber = i % 3 == 0;
+            transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                    new BigDecimal(10 + i), LocalDate.of(2025, 1, 1).plusDays(i),
+                    uber ? "Uber Eats pedido " + i : "Supermercado " + i,
+                    uber ? List.of(trip.getId()) : List.of(), null);
+        }
+        for (int i = 0; i < 5; i++) {
+            transactionService.createExpense(owner.getId(), bank.getId(), transport.getId(),
+                    new BigDecimal("100.00"), LocalDate.of(2025, 2, 1).plusDays(i), "Uber viaje " + i,
+                    List.of(trip.getId()), null);
+        }
+        transactionService.createIncome(owner.getId(), bank.getId(), food.getId(),
+                new BigDecimal("5000.00"), LocalDate.of(2025, 1, 15), "Sueldo", List.of(), null);
+    }
+
+    @Test
+    void combinesCriteriaAndReturnsTotalsOfWholeResult() {
+        TransactionQueryRequest req = request();
+        req.setTypes(List.of(TransactionType.EXPENSE));
+        req.setAccountIds(List.of(wallet.getId()));
+        req.setTagIds(List.of(trip.getId()));
+        req.setText("uber");
+        req.setMinAmount(new BigDecimal("15"));
+
+        TransactionQueryResponse res = queryService.query(req);
+
+        // i = 6, 9, ..., 27 => montos 16, 19, ..., 37
+        assertEquals(8, res.getTotalCount());
+        assertEquals(new BigDecimal("212"), res.getTotalAmount().stripTrailingZeros());
+        assertEquals(8, res.getItems().size());
+        assertNull(res.getNextCursor());
+        assertTrue(res.getItems().stream().allMatch(t -> t.getTagIds().contains(trip.getId())));
+        assertEquals(LocalDate.of(2025, 1, 28), res.getItems().get(0).getOperationDate());
+    }
+
+    @Test
+    void pagesWithCursorAndKeepsFirstPageTotals() {
+        TransactionQueryRequest req = request();
+        req.setCategoryIds(List.of(food.getId()));
+        req.setLimit(7);
+
+        List<TransactionResponse> all = new ArrayList<>();
+        TransactionQueryResponse first = queryService.query(req);
+        TransactionQueryResponse page = first;
+        all.addAll(page.getItems());
+        while (page.getNextCursor() != null) {
+            req.setCursor(page.getNextCursor());
+            page = queryService.query(req);
+            all.addAll(page.getItems());
+            assertEquals(first.getTotalCount(), page.getTotalCount());
+            assertEquals(first.getTotalAmount(), page.getTotalAmount());
+        }
+
+        assertEquals(31, first.getTotalCount());
+        assertEquals(31, all.size());
+        assertEquals(31, all.stream().map(TransactionResponse::getId).distinct().count());
+    }
+
+    @Test
+    void canceledTransactionsAreFilteredInTheDatabase() {
+        TransactionResponse canceled = transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal("1.00"), LocalDate.of(2025, 3, 1), "Uber cancelado",
+                List.of(trip.getId()), null);
+        transactionService.cancel(canceled.getId());
+
+        TransactionQueryRequest req = request();
+        req.setStates(List.of(TransactionState.CANCELED));
+        req.setText("uber");
+        req.setTagIds(List.of(trip.getId()));
+
+        TransactionQueryResponse res = queryService.query(req);
+
+        assertEquals(1, res.getTotalCount());
+        assertEquals(canceled.getId(), res.getItems().get(0).getId());
+    }
+
+    @Test
+    void indexPlanAndDatabasePlanReturnTheSameRows() {
+        // acentos, separadores que no son espacio y una cancelada: lo que antes dependía del plan
+        transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(), new BigDecimal("3.00"),
+                LocalDate.of(2025, 4, 1), "Café con leche", List.of(trip.getId()), null);
+        transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(), new BigDecimal("4.00"),
+                LocalDate.of(2025, 4, 2), "cafe-bar/Uber", List.of(), null);
+        transactionService.createExpense(owner.getId(), bank.getId(), food.getId(), new BigDecimal("5.00"),
+                LocalDate.of(2025, 4, 3), "CAFÉTERÍA", List.of(trip.getId()), null);
+        TransactionResponse canceled = transactionService.createExpense(owner.getId(), wallet.getId(), food.getId(),
+                new BigDecimal("6.00"), LocalDate.of(2025, 4, 4), "café cancelado", List.of(trip.getId()), null);
+        transactionService.cancel(canceled.getId());
+
+        // sin candidatos desde los índices: siempre filtra en la BD (fuera de Spring, sin proxy
+        // transaccional: corre dentro de un TransactionTemplate)
+        TransactionQueryService databaseOnly = new TransactionQueryService(userRepository, transactionRepository,
+                transactionSearch, tagIndex, entityManager, 0);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<List<TransactionState>> stateFilters = List.of(
+                List.of(TransactionState.PENDING, TransactionState.CONFIRMED),
+                List.of(TransactionState.PENDING, TransactionState.CANCELED),
+                List.of());
+        for (List<TransactionState> states : stateFilters) {
+            for (String text : List.of("cafe", "CAFÉ", "bar", "uber", "cafe uber", "eats 1")) {
+                for (List<Long> tags : List.of(List.<Long>of(), List.of(trip.getId()))) {
+                    TransactionQueryRequest req = request();
+                    req.setStates(states);
+                    req.setText(text);
+                    req.setTagIds(tags);
+                    req.setLimit(200);
+                    String plan = states + " '" + text + "' " + tags;
+                    assertEquals(readOnly.execute(status -> ids(databaseOnly.query(req))), ids(queryService.query(req)), plan);
+                }
+            }
+        }
+
+        TransactionQueryRequest active = request();
+        active.setStates(List.of(TransactionState.PENDING, TransactionState.CONFIRMED));
+        active.setText("cafe");
+        assertEquals(3, queryService.query(active).getTotalCount());
+
+        // sin filtro de estado entra la cancelada, con cualquier plan
+        TransactionQueryRequest all = request();
+        all.setText("cafe");
+        assertEquals(4, queryService.query(all).getTotalCount());
+        assertTrue(ids(queryService.query(all)).contains(canceled.getId()));
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        TransactionQueryRequest req = request();
+        req.setMinAmount(new BigDecimal("10"));
+        req.setMaxAmount(new BigDecimal("5"));
+        assertThrows(IllegalArgumentException.class, () -> queryService.query(req));
+
+        TransactionQueryRequest bad = request();
+        bad.setCursor("not-a-cursor");
+        assertThrows(IllegalArgumentException.class, () -> queryService.query(bad));
+    }
+
+    private List<Long> ids(TransactionQueryResponse res) {
+        return res.getItems().stream().map(TransactionResponse::getId).toList();
+    }
+
+    private TransactionQueryRequest request() {
+        TransactionQueryRequest req = new TransactionQueryRequest();
+        req.setOwnerId(owner.getId());
+        return req;
+    }
+
+    private Account account(String name) {
+        return accountRepository.save(Account.builder()
+                .owner(owner)
+                .name(name)
+                .type(AccountType.CASH)
+                .initialBalance(new BigDecimal("100000.00"))
+                .build());
+    }
+
+    private Category category(String name) {
+        return categoryRepository.save(Category.builder()
+                .owner(owner)
+                .name(name)
+                .active(true)
+                .build());
+    }
+}